@@ -0,0 +1,92 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package Benchmark;
+
+import ADT.ListInterface;
+import ADT.MyArrayList;
+import Entity.Patient;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * MyArrayList operations over generated patients.
+ *
+ * @author yapjinkai
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ArrayListBenchmark {
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private Patient[] patients;
+    private MyArrayList<Patient> list;
+    private Patient extra;
+    private Patient missing;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        patients = new ClinicDataGenerator(42).patients(size + 2);
+        list = new MyArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(patients[i]);
+        }
+        extra = patients[size];
+        missing = patients[size + 1];
+    }
+
+    @Benchmark
+    public MyArrayList<Patient> add() {
+        MyArrayList<Patient> result = new MyArrayList<>();
+        for (int i = 0; i < size; i++) {
+            result.add(patients[i]);
+        }
+        return result;
+    }
+
+    // remove(T) searches from the front, so this measures the worst case
+    @Benchmark
+    public boolean addThenRemoveLast() {
+        list.add(extra);
+        return list.remove(extra);
+    }
+
+    // Sorts a fresh copy each time so the input is never already sorted
+    @Benchmark
+    public MyArrayList<Patient> copyAndSortByName() {
+        MyArrayList<Patient> copy = new MyArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            copy.add(patients[i]);
+        }
+        copy.sort((p1, p2) -> p1.getName().compareTo(p2.getName()));
+        return copy;
+    }
+
+    @Benchmark
+    public ListInterface<Patient> filterByName() {
+        return list.filter(patient -> patient.getName().startsWith("Alex"));
+    }
+
+    @Benchmark
+    public boolean containsMissing() {
+        return list.contains(missing);
+    }
+}
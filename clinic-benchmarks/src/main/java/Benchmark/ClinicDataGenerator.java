@@ -0,0 +1,133 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package Benchmark;
+
+import ADT.MyArrayList;
+import Control.ConsultationManagement;
+import Control.MedicalTreatmentManagement;
+import Control.MedicineMaintenance;
+import Entity.Consultation;
+import Entity.MedicalTreatment;
+import Entity.Medicine;
+import Entity.Patient;
+import Entity.QueueType;
+import Entity.TreatmentStatus;
+import Utility.patientGenerator;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Random;
+
+/**
+ * Seeded test data for the benchmarks, at any size.
+ * Patients come from patientGenerator; consultations, medicines and treatments
+ * are built around them. The same seed always produces the same data.
+ *
+ * @author yapjinkai
+ */
+public class ClinicDataGenerator {
+
+    // Swallows the console output of the control classes
+    public static final PrintStream NULL_OUT = new PrintStream(OutputStream.nullOutputStream());
+
+    private static final String[] SYMPTOMS = {
+        "fever and chills", "dry cough", "headache since morning", "stomach ache",
+        "back pain", "feeling dizzy", "nausea after meals", "fatigue", "sore throat", "rash on arm"
+    };
+
+    private static final String[] DIAGNOSES = {
+        "Fever", "Common Cold", "Headache", "Gastritis", "Pain Management", "Allergy"
+    };
+
+    private static final TreatmentStatus[] TREATMENT_STATUSES = {
+        TreatmentStatus.PLANNED, TreatmentStatus.COMPLETED, TreatmentStatus.CANCELLED, TreatmentStatus.PAID
+    };
+
+    private static final String[] MEDICINE_NAMES = {
+        "Paracetamol", "Ibuprofen", "Loratadine", "Omeprazole", "Amoxicillin", "Cetirizine", "Antacid"
+    };
+
+    private static final String[] CATEGORIES = {"Painkiller", "Antihistamine", "Antacid", "Antibiotic"};
+
+    private static final String[] SCHEDULED_TIMES = {
+        "09:00", "09:30", "10:00", "10:30", "11:00", "11:30", "12:00", "12:30",
+        "13:00", "13:30", "14:00", "14:30", "15:00", "15:30", "16:00", "16:30", "17:00"
+    };
+
+    private final Random random;
+
+    public ClinicDataGenerator(long seed) {
+        patientGenerator.reset(seed);
+        this.random = new Random(seed);
+    }
+
+    public Patient[] patients(int count) {
+        Patient[] patients = new Patient[count];
+        for (int i = 0; i < count; i++) {
+            patients[i] = patientGenerator.generatePatient();
+        }
+        return patients;
+    }
+
+    public MyArrayList<Medicine> medicines(int count) {
+        MyArrayList<Medicine> medicines = new MyArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String name = MEDICINE_NAMES[random.nextInt(MEDICINE_NAMES.length)] + " " + (100 + random.nextInt(900)) + "mg";
+            String expiry = String.format("%d-%02d-28", 2025 + random.nextInt(4), 1 + random.nextInt(12));
+            medicines.add(new Medicine(String.format("M%03d", i + 1), name,
+                    CATEGORIES[random.nextInt(CATEGORIES.length)], 50 + random.nextInt(500), expiry));
+        }
+        return medicines;
+    }
+
+    public MyArrayList<MedicalTreatment> treatments(int count, Patient[] patients) {
+        MyArrayList<MedicalTreatment> treatments = new MyArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Patient patient = patients[random.nextInt(patients.length)];
+            MedicalTreatment treatment = new MedicalTreatment(String.format("T%03d", i + 1),
+                    String.format("C%03d", i + 1), patient.getId(), random.nextBoolean() ? "D001" : "D002",
+                    DIAGNOSES[random.nextInt(DIAGNOSES.length)], "Paracetamol 500mg twice daily",
+                    String.format("2025-%02d-%02d", 1 + random.nextInt(12), 1 + random.nextInt(28)),
+                    2000 + random.nextInt(18000),
+                    TREATMENT_STATUSES[random.nextInt(TREATMENT_STATUSES.length)]);
+            treatments.add(treatment);
+        }
+        return treatments;
+    }
+
+    // Walk-in, emergency and scheduled consultations in a 6:1:3 mix
+    public ConsultationManagement consultationManagement(int count) {
+        ConsultationManagement consultations = new ConsultationManagement();
+        Patient[] patients = patients(count);
+        PrintStream out = System.out;
+        System.setOut(NULL_OUT);
+        try {
+            for (int i = 0; i < count; i++) {
+                int kind = random.nextInt(10);
+                QueueType queueType = kind < 6 ? QueueType.WALK_IN : kind < 7 ? QueueType.EMERGENCY : QueueType.SCHEDULED;
+                String time = queueType == QueueType.SCHEDULED ? SCHEDULED_TIMES[random.nextInt(SCHEDULED_TIMES.length)] : "";
+                String doctorId = consultations.assignDoctor();
+                consultations.addConsultation(new Consultation(consultations.generateConsultationId(),
+                        patients[i].getId(), patients[i].getName(), doctorId, consultations.getDoctorName(doctorId),
+                        time, SYMPTOMS[random.nextInt(SYMPTOMS.length)], queueType));
+            }
+        } finally {
+            System.setOut(out);
+        }
+        return consultations;
+    }
+
+    public MedicineMaintenance medicineMaintenance(int count) {
+        return new MedicineMaintenance(medicines(count));
+    }
+
+    public MedicalTreatmentManagement treatmentManagement(int count) {
+        MedicalTreatmentManagement treatments = new MedicalTreatmentManagement();
+        MyArrayList<MedicalTreatment> generated = treatments(count, patients(Math.max(1, count / 2)));
+        for (int i = 0; i < generated.size(); i++) {
+            treatments.addTreatment(generated.get(i));
+        }
+        return treatments;
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package Benchmark;
+
+import ADT.MyArrayList;
+import Control.MedicineMaintenance;
+import Entity.Medicine;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Dispensing throughput with every thread acting as a counter on one shared pharmacy,
+ * for single medicines and for whole prescriptions.
+ * Runs on all cores by default; compare with -t 1, -t 2, ... to see how it scales.
+ * With a single medicine every counter contends on the same stock.
+ *
+ * @author yapjinkai
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(Threads.MAX)
+@State(Scope.Benchmark)
+public class ConcurrentDispenseBenchmark {
+
+    @Param({"1", "1000"})
+    private int medicineCount;
+
+    private MyArrayList<Medicine> medicines;
+    private MedicineMaintenance pharmacy;
+    private String[] ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        medicines = new ClinicDataGenerator(42).medicines(medicineCount);
+        pharmacy = new MedicineMaintenance(medicines);
+        ids = new String[medicineCount];
+        for (int i = 0; i < medicineCount; i++) {
+            ids[i] = medicines.get(i).getMedicineID();
+        }
+    }
+
+    // Keep dispensing from running out of stock
+    @Setup(Level.Iteration)
+    public void restock() {
+        for (int i = 0; i < medicines.size(); i++) {
+            Medicine med = medicines.get(i);
+            pharmacy.receiveLot(med.getMedicineID(), Integer.MAX_VALUE - med.getStock(), "2099-12-31");
+        }
+    }
+
+    // Each counter walks the medicines from its own starting point
+    @State(Scope.Thread)
+    public static class Counter {
+        private int next;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            next = (int) (Thread.currentThread().threadId() * 7919);
+        }
+    }
+
+    @Benchmark
+    public boolean dispenseMedicine(Counter counter) {
+        return pharmacy.dispenseMedicine(ids[Math.floorMod(counter.next++, ids.length)], 1);
+    }
+
+    // Three lines per prescription, dispensed all-or-nothing
+    @Benchmark
+    public MedicineMaintenance.DispenseResult dispensePrescription(Counter counter) {
+        int first = counter.next++;
+        MyArrayList<MedicineMaintenance.PrescriptionLine> lines = new MyArrayList<>(3);
+        for (int line = 0; line < 3; line++) {
+            lines.add(new MedicineMaintenance.PrescriptionLine(ids[Math.floorMod(first + line, ids.length)], 1));
+        }
+        return pharmacy.dispensePrescription(lines);
+    }
+}
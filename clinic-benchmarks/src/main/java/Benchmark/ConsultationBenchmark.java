@@ -0,0 +1,91 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package Benchmark;
+
+import Control.ConsultationManagement;
+import Entity.Consultation;
+import Entity.ConsultationStatus;
+import Entity.QueueType;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Queue, doctor assignment and time-slot lookups of ConsultationManagement, and the
+ * queue and doctor counts with and without the columnar store.
+ *
+ * @author yapjinkai
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ConsultationBenchmark {
+
+    @Param({"100", "10000"})
+    private int size;
+
+    private ConsultationManagement consultations;
+    private ConsultationManagement columnar;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        consultations = new ClinicDataGenerator(42).consultationManagement(size);
+        columnar = new ClinicDataGenerator(42).consultationManagement(size);
+        columnar.enableColumnarStore();
+    }
+
+    @Benchmark
+    public Consultation getNextPatient() {
+        return consultations.getNextPatient();
+    }
+
+    @Benchmark
+    public String assignDoctor() {
+        return consultations.assignDoctor();
+    }
+
+    @Benchmark
+    public String[] getAvailableTimeSlots() {
+        return consultations.getAvailableTimeSlots();
+    }
+
+    @Benchmark
+    public String getNextAvailableTimeSlot() {
+        return consultations.getNextAvailableTimeSlot();
+    }
+
+    @Benchmark
+    public int countWaitingWalkIns() {
+        return consultations.countConsultationsByQueueType(QueueType.WALK_IN, ConsultationStatus.WAITING);
+    }
+
+    @Benchmark
+    public int countWaitingWalkInsColumnar() {
+        return columnar.countConsultationsByQueueType(QueueType.WALK_IN, ConsultationStatus.WAITING);
+    }
+
+    @Benchmark
+    public int countDoctorWaiting() {
+        return consultations.countConsultationsByDoctor("D001", ConsultationStatus.WAITING);
+    }
+
+    @Benchmark
+    public int countDoctorWaitingColumnar() {
+        return columnar.countConsultationsByDoctor("D001", ConsultationStatus.WAITING);
+    }
+}
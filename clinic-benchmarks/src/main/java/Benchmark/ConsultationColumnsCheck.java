@@ -0,0 +1,129 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package Benchmark;
+
+import Control.ConsultationManagement;
+import Entity.Consultation;
+import Entity.ConsultationStatus;
+import Entity.QueueType;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Checks the columnar store against the list-backed path: two consultation managers, one
+ * with the store enabled, get the same random adds, status updates, queue-type changes and
+ * removals, and after every step the queue, doctor and due-appointment counts of the two
+ * must agree. Removals are frequent enough that the store compacts many times a round.
+ * Exits with status 1 if any count differs.
+ *
+ * @author yapjinkai
+ */
+public class ConsultationColumnsCheck {
+
+    private static final int ROUNDS = 200;
+    private static final int STEPS_PER_ROUND = 500;
+    private static final String[] DOCTORS = {"D001", "D002", "d001", "D999"};
+    private static final String[] TIMES = {"09:00", "10:30", "12:00", "13:30", "15:00", "16:30"};
+
+    public static void main(String[] args) {
+        SplittableRandom random = new SplittableRandom(42);
+        int failures = 0;
+        int checks = 0;
+        PrintStream out = System.out;
+        System.setOut(ClinicDataGenerator.NULL_OUT);
+        try {
+            for (int round = 0; round < ROUNDS && failures == 0; round++) {
+                ConsultationManagement list = new ConsultationManagement();
+                ConsultationManagement columnar = new ConsultationManagement();
+                columnar.enableColumnarStore();
+                List<String> ids = new ArrayList<>();
+                for (int step = 0; step < STEPS_PER_ROUND && failures == 0; step++) {
+                    apply(random, list, columnar, ids);
+                    failures += compare(out, round, step, list, columnar);
+                    checks++;
+                }
+            }
+        } finally {
+            System.setOut(out);
+        }
+        System.out.printf("%d steps checked, %d mismatches%n", checks, failures);
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+
+    // One random operation, applied the same way to both managers
+    private static void apply(SplittableRandom random, ConsultationManagement list,
+            ConsultationManagement columnar, List<String> ids) {
+        int kind = ids.isEmpty() ? 0 : random.nextInt(10);
+        if (kind < 4) {
+            QueueType queueType = QueueType.values()[random.nextInt(QueueType.values().length)];
+            String time = queueType == QueueType.SCHEDULED ? TIMES[random.nextInt(TIMES.length)] : "";
+            String doctorId = list.assignDoctor();
+            String id = list.generateConsultationId();
+            columnar.assignDoctor();
+            columnar.generateConsultationId();
+            for (ConsultationManagement manager : new ConsultationManagement[] {list, columnar}) {
+                manager.addConsultation(new Consultation(id, "P" + random.nextInt(20), "Patient", doctorId,
+                        manager.getDoctorName(doctorId), time, "fever", queueType));
+            }
+            ids.add(id);
+            return;
+        }
+        int index = random.nextInt(ids.size());
+        String id = ids.get(index);
+        if (kind < 7) {
+            ConsultationStatus status = ConsultationStatus.values()[random.nextInt(ConsultationStatus.values().length)];
+            list.updateConsultationStatus(id, status);
+            columnar.updateConsultationStatus(id, status);
+        } else if (kind < 8) {
+            QueueType queueType = QueueType.values()[random.nextInt(QueueType.values().length)];
+            list.changeQueueType(id, queueType);
+            columnar.changeQueueType(id, queueType);
+        } else {
+            list.removeConsultation(id);
+            columnar.removeConsultation(id);
+            ids.remove(index);
+        }
+    }
+
+    private static int compare(PrintStream out, int round, int step,
+            ConsultationManagement list, ConsultationManagement columnar) {
+        int failures = 0;
+        QueueType[] queueTypes = {null, QueueType.EMERGENCY, QueueType.WALK_IN, QueueType.SCHEDULED};
+        ConsultationStatus[] statuses = new ConsultationStatus[ConsultationStatus.count() + 1];
+        System.arraycopy(ConsultationStatus.values(), 0, statuses, 1, ConsultationStatus.count());
+        for (QueueType queueType : queueTypes) {
+            for (ConsultationStatus status : statuses) {
+                failures += expect(out, round, step, "queue " + queueType + "/" + status,
+                        list.countConsultationsByQueueType(queueType, status),
+                        columnar.countConsultationsByQueueType(queueType, status));
+            }
+        }
+        for (String doctorId : DOCTORS) {
+            for (ConsultationStatus status : statuses) {
+                failures += expect(out, round, step, "doctor " + doctorId + "/" + status,
+                        list.countConsultationsByDoctor(doctorId, status),
+                        columnar.countConsultationsByDoctor(doctorId, status));
+            }
+        }
+        // The clinic clock can tick between the two calls, so the list count is taken between two columnar ones
+        int before = columnar.countDueAppointments();
+        int expected = list.countDueAppointments();
+        int after = columnar.countDueAppointments();
+        failures += expect(out, round, step, "due appointments", expected, expected == before ? before : after);
+        return failures;
+    }
+
+    private static int expect(PrintStream out, int round, int step, String what, int expected, int actual) {
+        if (expected != actual) {
+            out.printf("FAILED round %d step %d, %s: expected %d but got %d%n", round, step, what, expected, actual);
+            return 1;
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package Benchmark;
+
+import ADT.ListInterface;
+import ADT.MyArrayList;
+import Control.MedicineMaintenance;
+import Entity.Medicine;
+import Entity.MedicineLot;
+import java.util.SplittableRandom;
+
+/**
+ * Runs several dispensing counters against the same pharmacy until it sells out,
+ * then checks that every unit taken off the shelf was dispensed exactly once.
+ * A quarter of the requests are three-line prescriptions, so stock handed back by a
+ * prescription that could not be filled in full is checked too. Stock arrives in
+ * three lots per medicine, and what is left in the lots must match the stock.
+ * Repeats with 1, 2, 4, ... threads up to the core count (or the first argument)
+ * and prints the throughput of each run. Exits with status 1 if any check fails.
+ *
+ * @author yapjinkai
+ */
+public class DispenseStressTest {
+
+    private static final int MEDICINES = 8;               // Few medicines, so counters fight over the same stock
+    private static final int INITIAL_STOCK = 1_000_000;
+    private static final int ATTEMPTS_PER_THREAD = 2_000_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        int maxThreads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        boolean passed = true;
+        for (int threads = 1; threads < maxThreads; threads *= 2) {
+            passed &= run(threads);
+        }
+        passed &= run(maxThreads);
+        if (!passed) {
+            System.exit(1);
+        }
+    }
+
+    private static boolean run(int threadCount) throws InterruptedException {
+        MyArrayList<Medicine> generated = new ClinicDataGenerator(42).medicines(MEDICINES);
+        MyArrayList<Medicine> medicines = new MyArrayList<>(MEDICINES);
+        String[] ids = new String[MEDICINES];
+        for (int i = 0; i < MEDICINES; i++) {
+            Medicine med = generated.get(i);
+            medicines.add(new Medicine(med.getMedicineID(), med.getName(), med.getCategory(), INITIAL_STOCK / 2, med.getExpiryDate()));
+            ids[i] = med.getMedicineID();
+        }
+        MedicineMaintenance pharmacy = new MedicineMaintenance(medicines);
+        for (String id : ids) {
+            pharmacy.receiveLot(id, INITIAL_STOCK / 4, "2030-01-31");
+            pharmacy.receiveLot(id, INITIAL_STOCK / 4, "2029-06-30");
+        }
+
+        // Units each thread managed to dispense, per medicine
+        long[][] dispensed = new long[threadCount][MEDICINES];
+        long[] successes = new long[threadCount];
+        Thread[] counters = new Thread[threadCount];
+        for (int t = 0; t < threadCount; t++) {
+            int counter = t;
+            counters[t] = new Thread(() -> {
+                SplittableRandom random = new SplittableRandom(counter);
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    int medicine = random.nextInt(MEDICINES);
+                    int quantity = 1 + random.nextInt(3);
+                    if (random.nextInt(4) == 0) {
+                        MyArrayList<MedicineMaintenance.PrescriptionLine> lines = new MyArrayList<>(3);
+                        for (int line = 0; line < 3; line++) {
+                            lines.add(new MedicineMaintenance.PrescriptionLine(ids[(medicine + line) % MEDICINES], quantity));
+                        }
+                        if (pharmacy.dispensePrescription(lines).success) {
+                            for (int line = 0; line < 3; line++) {
+                                dispensed[counter][(medicine + line) % MEDICINES] += quantity;
+                            }
+                            successes[counter]++;
+                        }
+                    } else if (pharmacy.dispenseMedicine(ids[medicine], quantity)) {
+                        dispensed[counter][medicine] += quantity;
+                        successes[counter]++;
+                    }
+                }
+            });
+        }
+
+        long start = System.nanoTime();
+        for (Thread counter : counters) {
+            counter.start();
+        }
+        for (Thread counter : counters) {
+            counter.join();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        boolean passed = true;
+        long totalSuccesses = 0;
+        for (int t = 0; t < threadCount; t++) {
+            totalSuccesses += successes[t];
+        }
+        for (int m = 0; m < MEDICINES; m++) {
+            long units = 0;
+            for (int t = 0; t < threadCount; t++) {
+                units += dispensed[t][m];
+            }
+            int stock = medicines.get(m).getStock();
+            if (stock < 0 || units != INITIAL_STOCK - stock) {
+                System.out.printf("FAILED %s: %d units dispensed but stock fell from %d to %d%n",
+                        ids[m], units, INITIAL_STOCK, stock);
+                passed = false;
+            }
+            long inLots = 0;
+            ListInterface<MedicineLot> lots = pharmacy.getLots(ids[m]);
+            for (int i = 0; i < lots.size(); i++) {
+                inLots += lots.get(i).getQuantity();
+            }
+            if (inLots != stock) {
+                System.out.printf("FAILED %s: stock is %d but its lots hold %d%n", ids[m], stock, inLots);
+                passed = false;
+            }
+        }
+
+        long attempts = (long) threadCount * ATTEMPTS_PER_THREAD;
+        System.out.printf("%2d threads: %,d attempts (%,d dispensed) in %,d ms, %.1f M attempts/s - %s%n",
+                threadCount, attempts, totalSuccesses, elapsed / 1_000_000,
+                attempts * 1000.0 / elapsed, passed ? "no lost updates" : "LOST UPDATES");
+        return passed;
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package Benchmark;
+
+import Utility.Money;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Summing and formatting 1,000 amounts as long cents against the old double with "%.2f".
+ *
+ * @author yapjinkai
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MoneyBenchmark {
+
+    private static final int COUNT = 1000;
+
+    private long[] cents;
+    private double[] amounts;
+    private StringBuilder line;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        cents = new long[COUNT];
+        amounts = new double[COUNT];
+        for (int i = 0; i < COUNT; i++) {
+            cents[i] = 2000 + random.nextInt(18000);
+            amounts[i] = cents[i] / 100.0;
+        }
+        line = new StringBuilder(64);
+    }
+
+    @Benchmark
+    public long sumCents() {
+        long total = 0L;
+        for (int i = 0; i < COUNT; i++) {
+            total = Money.add(total, cents[i]);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public double sumDoubles() {
+        double total = 0.0;
+        for (int i = 0; i < COUNT; i++) {
+            total += amounts[i];
+        }
+        return total;
+    }
+
+    @Benchmark
+    public int formatCents() {
+        int length = 0;
+        for (int i = 0; i < COUNT; i++) {
+            line.setLength(0);
+            length += Money.appendTo(line.append("RM"), cents[i]).length();
+        }
+        return length;
+    }
+
+    @Benchmark
+    public int formatDoubles() {
+        int length = 0;
+        for (int i = 0; i < COUNT; i++) {
+            length += ("RM" + String.format("%.2f", amounts[i])).length();
+        }
+        return length;
+    }
+}
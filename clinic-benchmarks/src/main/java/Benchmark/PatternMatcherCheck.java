@@ -0,0 +1,111 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package Benchmark;
+
+import ADT.ListInterface;
+import ADT.PatternMatcher;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Checks PatternMatcher.findAll against a brute-force matcher: every occurrence of every
+ * pattern found with indexOf, then kept longest first, higher priority first, leftmost
+ * first, unless it overlaps one already kept. Random patterns and texts over a small
+ * alphabet, so overlaps and shared suffixes are common, plus the cases that once went
+ * wrong. Exits with status 1 if any result differs.
+ *
+ * @author yapjinkai
+ */
+public class PatternMatcherCheck {
+
+    private static final int ROUNDS = 20_000;
+
+    public static void main(String[] args) {
+        int failures = 0;
+        failures += check(new String[] {"abcdefghij", "klm", "jklmn"}, "abcdefghijklmn");
+        failures += check(new String[] {"abcdefghij", "ijkl", "kl"}, "abcdefghijkl");
+        failures += check(new String[] {"abcde", "efghij", "ijklmno"}, "abcdefghijklmno");
+        failures += check(new String[] {"pain", "back pain"}, "mild back pain and pain");
+
+        SplittableRandom random = new SplittableRandom(42);
+        for (int round = 0; round < ROUNDS; round++) {
+            String[] patterns = new String[1 + random.nextInt(8)];
+            for (int i = 0; i < patterns.length; i++) {
+                patterns[i] = randomText(random, 1 + random.nextInt(6));
+            }
+            failures += check(patterns, randomText(random, random.nextInt(40)));
+        }
+        System.out.printf("%d rounds, %d mismatches%n", ROUNDS + 4, failures);
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static int check(String[] patterns, String text) {
+        PatternMatcher<String> matcher = new PatternMatcher<>();
+        List<String> unique = new ArrayList<>();
+        for (String pattern : patterns) {
+            if (matcher.add(pattern, pattern)) {
+                unique.add(pattern);
+            }
+        }
+        String expected = bruteForce(unique, text);
+        StringBuilder actual = new StringBuilder();
+        ListInterface<PatternMatcher.Match<String>> matches = matcher.findAll(text);
+        for (int i = 0; i < matches.size(); i++) {
+            PatternMatcher.Match<String> match = matches.get(i);
+            actual.append(match.getStart()).append(':').append(match.getValue()).append(' ');
+        }
+        if (!expected.contentEquals(actual)) {
+            System.out.printf("FAILED patterns %s on \"%s\": expected [%s] but got [%s]%n",
+                    unique, text, expected, actual);
+            return 1;
+        }
+        return 0;
+    }
+
+    // Patterns in priority order; the result lists start:pattern left to right
+    private static String bruteForce(List<String> patterns, String text) {
+        List<int[]> occurrences = new ArrayList<>();   // {start, end, priority}
+        for (int priority = 0; priority < patterns.size(); priority++) {
+            String pattern = patterns.get(priority);
+            for (int start = text.indexOf(pattern); start >= 0; start = text.indexOf(pattern, start + 1)) {
+                occurrences.add(new int[] {start, start + pattern.length(), priority});
+            }
+        }
+        occurrences.sort((a, b) -> a[1] - a[0] != b[1] - b[0] ? (b[1] - b[0]) - (a[1] - a[0])
+                : a[2] != b[2] ? a[2] - b[2] : a[0] - b[0]);
+        String[] keptByStart = new String[text.length()];
+        boolean[] covered = new boolean[text.length()];
+        for (int[] occurrence : occurrences) {
+            boolean free = true;
+            for (int i = occurrence[0]; i < occurrence[1] && free; i++) {
+                free = !covered[i];
+            }
+            if (free) {
+                for (int i = occurrence[0]; i < occurrence[1]; i++) {
+                    covered[i] = true;
+                }
+                keptByStart[occurrence[0]] = patterns.get(occurrence[2]);
+            }
+        }
+        StringBuilder result = new StringBuilder();
+        for (int start = 0; start < keptByStart.length; start++) {
+            if (keptByStart[start] != null) {
+                result.append(start).append(':').append(keptByStart[start]).append(' ');
+            }
+        }
+        return result.toString();
+    }
+
+    private static String randomText(SplittableRandom random, int length) {
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            text.append((char) ('a' + random.nextInt(3)));
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package Benchmark;
+
+import ADT.MyArrayList;
+import Control.MedicineMaintenance;
+import Entity.Medicine;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Medicine lookup and dispensing in MedicineMaintenance.
+ * IDs are visited in a shuffled order so lookups are not always at the front of the list.
+ *
+ * @author yapjinkai
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PharmacyBenchmark {
+
+    @Param({"100", "10000"})
+    private int size;
+
+    private MyArrayList<Medicine> medicines;
+    private MedicineMaintenance pharmacy;
+    private String[] ids;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        medicines = new ClinicDataGenerator(42).medicines(size);
+        pharmacy = new MedicineMaintenance(medicines);
+        ids = new String[size];
+        Random random = new Random(7);
+        for (int i = 0; i < size; i++) {
+            ids[i] = medicines.get(i).getMedicineID();
+        }
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            String id = ids[i];
+            ids[i] = ids[j];
+            ids[j] = id;
+        }
+    }
+
+    // Keep dispensing from running out of stock
+    @Setup(Level.Iteration)
+    public void restock() {
+        for (int i = 0; i < medicines.size(); i++) {
+            Medicine med = medicines.get(i);
+            pharmacy.receiveLot(med.getMedicineID(), Integer.MAX_VALUE - med.getStock(), "2099-12-31");
+        }
+    }
+
+    private String nextId() {
+        String id = ids[next];
+        next = next + 1 == ids.length ? 0 : next + 1;
+        return id;
+    }
+
+    @Benchmark
+    public Medicine findById() {
+        return pharmacy.findById(nextId());
+    }
+
+    @Benchmark
+    public boolean dispenseMedicine() {
+        return pharmacy.dispenseMedicine(nextId(), 1);
+    }
+}
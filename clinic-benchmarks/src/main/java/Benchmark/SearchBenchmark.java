@@ -0,0 +1,106 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package Benchmark;
+
+import ADT.InvertedIndex;
+import ADT.MyArrayList;
+import ADT.PrefixIndex;
+import Entity.Patient;
+import Utility.LinearSearch;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * LinearSearch over generated patients, with the indexed searches for comparison.
+ *
+ * @author yapjinkai
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SearchBenchmark {
+
+    private static final LinearSearch.FieldExtractor<Patient> NAME = new LinearSearch.FieldExtractor<>() {
+        @Override
+        public String extract(Patient patient) {
+            return patient.getName();
+        }
+
+        @Override
+        public String getFieldName() {
+            return "name";
+        }
+    };
+
+    private static final int AUTOCOMPLETE_LIMIT = 10;
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    @Param({"jordan ng", "p10"})
+    private String query;
+
+    private MyArrayList<Patient> patients;
+    private InvertedIndex<Patient> index;
+    private PrefixIndex<Patient> prefixIndex;   // Patient ID and name
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Patient[] generated = new ClinicDataGenerator(42).patients(size);
+        patients = new MyArrayList<>(size);
+        index = new InvertedIndex<>();
+        prefixIndex = new PrefixIndex<>(Patient::getId, Patient::getName);
+        for (Patient patient : generated) {
+            patients.add(patient);
+            index.add(patient);
+            prefixIndex.add(patient);
+        }
+    }
+
+    @Benchmark
+    public MyArrayList<LinearSearch.SearchResult<Patient>> search() {
+        return LinearSearch.search(query, patients);
+    }
+
+    @Benchmark
+    public MyArrayList<LinearSearch.SearchResult<Patient>> searchStartsWith() {
+        return LinearSearch.searchStartsWith(query, patients);
+    }
+
+    @Benchmark
+    public MyArrayList<LinearSearch.SearchResult<Patient>> searchExact() {
+        return LinearSearch.searchExact(query, patients);
+    }
+
+    @Benchmark
+    public MyArrayList<LinearSearch.SearchResult<Patient>> searchByField() {
+        return LinearSearch.searchByField(query, patients, NAME);
+    }
+
+    @Benchmark
+    public MyArrayList<LinearSearch.SearchResult<Patient>> searchIndexed() {
+        return LinearSearch.search(query, index);
+    }
+
+    // First page of autocompletion suggestions
+    @Benchmark
+    public MyArrayList<LinearSearch.SearchResult<Patient>> searchStartsWithIndexed() {
+        return LinearSearch.searchStartsWith(query, prefixIndex, AUTOCOMPLETE_LIMIT);
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package Benchmark;
+
+import ADT.ListInterface;
+import Control.ConsultationManagement;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Symptom classification of a referral note against a growing rule table,
+ * with the old one-contains-per-rule loop for comparison.
+ *
+ * @author yapjinkai
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SymptomBenchmark {
+
+    private static final String[] WORDS = {
+        "patient", "reports", "mild", "fever", "and", "back", "pain", "since", "monday",
+        "with", "nausea", "no", "cough", "sore", "throat", "persistent", "fatigue"
+    };
+
+    @Param({"10", "5000"})
+    private int rules;
+
+    private ConsultationManagement consultations;
+    private String[][] ruleTable;
+    private String note;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        ruleTable = new String[rules][];
+        String[] common = {"fever", "cough", "headache", "stomach", "pain", "dizzy", "nausea", "fatigue",
+            "sore throat", "back pain"};
+        for (int i = 0; i < rules; i++) {
+            ruleTable[i] = i < common.length
+                    ? new String[] {common[i], "Diagnosis " + i}
+                    : new String[] {"symptom" + i, "Diagnosis " + i};
+        }
+        consultations = new ConsultationManagement();
+        consultations.loadSymptomRules(ruleTable);
+
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            text.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+        }
+        note = text.toString();
+    }
+
+    @Benchmark
+    public ListInterface<String> categorizeAllSymptoms() {
+        return consultations.categorizeAllSymptoms(note);
+    }
+
+    @Benchmark
+    public int containsPerRule() {
+        String lowerNote = note.toLowerCase();
+        int found = 0;
+        for (String[] rule : ruleTable) {
+            if (lowerNote.contains(rule[0])) {
+                found++;
+            }
+        }
+        return found;
+    }
+}
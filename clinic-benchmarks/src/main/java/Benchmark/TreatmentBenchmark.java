@@ -0,0 +1,85 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package Benchmark;
+
+import ADT.ListInterface;
+import Control.MedicalTreatmentManagement;
+import Entity.MedicalTreatment;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Treatment report generation (written to a null stream) and per-patient history lookup,
+ * and the same lookups with the paid treatments moved into the off-heap archive.
+ *
+ * @author yapjinkai
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TreatmentBenchmark {
+
+    @Param({"100", "10000"})
+    private int size;
+
+    private MedicalTreatmentManagement treatments;
+    private MedicalTreatmentManagement archived;
+    private PrintStream console;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        treatments = new ClinicDataGenerator(42).treatmentManagement(size);
+        archived = new ClinicDataGenerator(42).treatmentManagement(size);
+        archived.archiveFinalTreatments();
+        console = System.out;
+        System.setOut(ClinicDataGenerator.NULL_OUT);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.setOut(console);
+    }
+
+    @Benchmark
+    public void generateTreatmentReport() {
+        treatments.generateTreatmentReport();
+    }
+
+    @Benchmark
+    public ListInterface<MedicalTreatment> treatmentHistoryByPatient() {
+        return treatments.getTreatmentHistoryByPatient("P001");
+    }
+
+    @Benchmark
+    public ListInterface<MedicalTreatment> archivedTreatmentHistoryByPatient() {
+        return archived.getTreatmentHistoryByPatient("P001");
+    }
+
+    @Benchmark
+    public int treatmentCountByDoctor() {
+        return treatments.getTreatmentCountByDoctor("D001");
+    }
+
+    @Benchmark
+    public int archivedTreatmentCountByDoctor() {
+        return archived.getTreatmentCountByDoctor("D001");
+    }
+}
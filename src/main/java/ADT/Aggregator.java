@@ -0,0 +1,238 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package ADT;
+
+/**
+ * Single-pass group-by aggregation.
+ * Register any number of group-by dimensions, then feed the records through once:
+ * every record updates the grand totals and its group in every dimension, so counts
+ * and totals for all dimensions cost one scan instead of one scan per group.
+ * Records can also be removed again, so the aggregator can be kept alongside a
+ * collection as a running view that is read in O(1). Measures are whole numbers
+ * (e.g. cents), so removing a record restores the totals exactly.
+ *
+ * @author yapjinkai
+ * @param <T>
+ */
+public class Aggregator<T> {
+
+    private final ValueExtractor<T> measure;
+    private final MyArrayList<Dimension<T, ?>> dimensions;
+    private int count;
+    private long total;
+
+    /**
+     * @param measure the value each record adds to the totals
+     */
+    public Aggregator(ValueExtractor<T> measure) {
+        if (measure == null) {
+            throw new IllegalArgumentException("Measure cannot be null");
+        }
+        this.measure = measure;
+        this.dimensions = new MyArrayList<>();
+    }
+
+    /**
+     * Adds a group-by dimension. Must be called before any record is added.
+     *
+     * @param keyExtractor gives the group of a record (records with a null key are not grouped)
+     * @return the dimension, for reading its groups once the records are in
+     */
+    public <K> Dimension<T, K> groupBy(IndexInterface.KeyExtractor<T, K> keyExtractor) {
+        return groupBy(keyExtractor, null);
+    }
+
+    /**
+     * Adds a group-by dimension whose groups total a different measure than the aggregator.
+     *
+     * @param keyExtractor gives the group of a record (records with a null key are not grouped)
+     * @param measure the value each record adds to its group (null to use the aggregator's measure)
+     * @return the dimension, for reading its groups once the records are in
+     */
+    public <K> Dimension<T, K> groupBy(IndexInterface.KeyExtractor<T, K> keyExtractor, ValueExtractor<T> measure) {
+        return groupBy(keyExtractor, measure, null);
+    }
+
+    /**
+     * Adds a group-by dimension whose groups carry a display label, e.g. the original
+     * spelling of a key that is normalised for grouping.
+     *
+     * @param keyExtractor gives the group of a record (records with a null key are not grouped)
+     * @param measure the value each record adds to its group (null to use the aggregator's measure)
+     * @param labelExtractor gives the label of a group from its first record (null to label groups by key)
+     * @return the dimension, for reading its groups once the records are in
+     */
+    public <K> Dimension<T, K> groupBy(IndexInterface.KeyExtractor<T, K> keyExtractor, ValueExtractor<T> measure,
+            IndexInterface.KeyExtractor<T, String> labelExtractor) {
+        if (keyExtractor == null) {
+            throw new IllegalArgumentException("Key extractor cannot be null");
+        }
+        if (count > 0) {
+            throw new IllegalStateException("Dimensions must be added before records");
+        }
+        Dimension<T, K> dimension = new Dimension<>(keyExtractor, measure, labelExtractor);
+        dimensions.add(dimension);
+        return dimension;
+    }
+
+    public void add(T item) {
+        long value = measure.valueOf(item);
+        count++;
+        total += value;
+        for (int i = 0; i < dimensions.size(); i++) {
+            dimensions.get(i).add(item, value);
+        }
+    }
+
+    /**
+     * Takes a record back out of the totals and its groups. The keys and values are read
+     * again from the record, so call this before changing any field they depend on (and
+     * add the record back afterwards).
+     */
+    public void remove(T item) {
+        if (count == 0) {
+            return;
+        }
+        long value = measure.valueOf(item);
+        count--;
+        total -= value;
+        for (int i = 0; i < dimensions.size(); i++) {
+            dimensions.get(i).remove(item, value);
+        }
+    }
+
+    public void addAll(ListInterface<T> items) {
+        MyIterator<T> iterator = items.iterator();
+        while (iterator.hasNext()) {
+            add(iterator.next());
+        }
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * Functional interface for extracting the measured value of a record
+     */
+    public interface ValueExtractor<T> {
+        long valueOf(T item);
+    }
+
+    /**
+     * Groups of one group-by dimension, in the order their first record arrived.
+     * A group whose last record is removed is dropped.
+     */
+    public static class Dimension<T, K> {
+        private final IndexInterface.KeyExtractor<T, K> keyExtractor;
+        private final ValueExtractor<T> measure;   // Null when the aggregator's measure is used
+        private final IndexInterface.KeyExtractor<T, String> labelExtractor;   // Null to label groups by key
+        private final MapInterface<K, Group<T, K>> groups;
+
+        Dimension(IndexInterface.KeyExtractor<T, K> keyExtractor, ValueExtractor<T> measure,
+                IndexInterface.KeyExtractor<T, String> labelExtractor) {
+            this.keyExtractor = keyExtractor;
+            this.measure = measure;
+            this.labelExtractor = labelExtractor;
+            this.groups = new MyHashMap<>();
+        }
+
+        void add(T item, long value) {
+            K key = keyExtractor.keyOf(item);
+            if (key == null) {
+                return;
+            }
+            Group<T, K> group = groups.get(key);
+            if (group == null) {
+                group = new Group<>(key, labelExtractor == null ? String.valueOf(key) : labelExtractor.keyOf(item));
+                groups.put(key, group);
+            }
+            group.count++;
+            group.total += measure == null ? value : measure.valueOf(item);
+        }
+
+        void remove(T item, long value) {
+            K key = keyExtractor.keyOf(item);
+            Group<T, K> group = key == null ? null : groups.get(key);
+            if (group == null) {
+                return;
+            }
+            if (--group.count == 0) {
+                groups.remove(key);
+                return;
+            }
+            group.total -= measure == null ? value : measure.valueOf(item);
+        }
+
+        /**
+         * @param key the group key
+         * @return the group, or null if no record fell into it
+         */
+        public Group<T, K> get(K key) {
+            return groups.get(key);
+        }
+
+        public int count(K key) {
+            Group<T, K> group = groups.get(key);
+            return group == null ? 0 : group.count;
+        }
+
+        public long total(K key) {
+            Group<T, K> group = groups.get(key);
+            return group == null ? 0L : group.total;
+        }
+
+        /**
+         * @return a new list of every group, in order of first appearance
+         */
+        public ListInterface<Group<T, K>> groups() {
+            ListInterface<Group<T, K>> result = new MyArrayList<>(groups.size());
+            MyIterator<Group<T, K>> values = groups.values();
+            while (values.hasNext()) {
+                result.add(values.next());
+            }
+            return result;
+        }
+
+        public int size() {
+            return groups.size();
+        }
+    }
+
+    /**
+     * Count and total of the records sharing one key.
+     */
+    public static class Group<T, K> {
+        private final K key;
+        private final String label;   // Taken from the first record, so the group holds no record
+        private int count;
+        private long total;
+
+        Group(K key, String label) {
+            this.key = key;
+            this.label = label;
+        }
+
+        public K getKey() {
+            return key;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public long getTotal() {
+            return total;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package ADT;
+
+/**
+ * Dictionary encoding: every distinct value gets a dense int code (0, 1, 2, ...) in order
+ * of first appearance, so a column of repeated values can be stored and compared as ints.
+ * Codes are never reused; a value keeps its code for the life of the dictionary.
+ *
+ * @author yapjinkai
+ * @param <T>
+ */
+public class CodeDictionary<T> {
+
+    private final MapInterface<T, Integer> codes;
+    private final MyArrayList<T> values;   // Indexed by code
+
+    public CodeDictionary() {
+        this.codes = new MyHashMap<>();
+        this.values = new MyArrayList<>();
+    }
+
+    /**
+     * @param value the value to encode
+     * @return the code of the value, assigning the next code if it is new
+     * @throws IllegalArgumentException if value is null
+     */
+    public int encode(T value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Cannot encode null value");
+        }
+        Integer code = codes.get(value);
+        if (code == null) {
+            code = values.size();
+            codes.put(value, code);
+            values.add(value);
+        }
+        return code;
+    }
+
+    /**
+     * @param value the value to look up
+     * @return the code of the value, or -1 if it has never been encoded
+     */
+    public int codeOf(T value) {
+        Integer code = value == null ? null : codes.get(value);
+        return code == null ? -1 : code;
+    }
+
+    /**
+     * @param code a code returned by encode
+     * @return the value with that code
+     * @throws IndexOutOfBoundsException if no value has that code
+     */
+    public T decode(int code) {
+        return values.get(code);
+    }
+
+    // Number of distinct values, which is also the next code
+    public int size() {
+        return values.size();
+    }
+
+    public void clear() {
+        codes.clear();
+        values.clear();
+    }
+}
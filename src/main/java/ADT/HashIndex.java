@@ -0,0 +1,89 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package ADT;
+
+/**
+ * Unique hash index: each key maps to at most one record.
+ * Adding a record under a key that is already taken replaces the previous record.
+ *
+ * @author yapjinkai
+ * @param <K>
+ * @param <T>
+ */
+public class HashIndex<K, T> implements IndexInterface<T> {
+
+    private final KeyExtractor<T, K> keyExtractor;
+    private final MapInterface<K, T> itemsByKey;
+    private final MapInterface<T, K> filedKeys;   // Key each record was indexed under
+
+    public HashIndex(KeyExtractor<T, K> keyExtractor) {
+        if (keyExtractor == null) {
+            throw new IllegalArgumentException("Key extractor cannot be null");
+        }
+        this.keyExtractor = keyExtractor;
+        this.itemsByKey = new MyHashMap<>();
+        this.filedKeys = new MyHashMap<>();
+    }
+
+    @Override
+    public void add(T item) {
+        if (item == null) {
+            throw new IllegalArgumentException("Cannot index null item");
+        }
+        remove(item);
+        K key = keyExtractor.keyOf(item);
+        if (key == null) {
+            return;
+        }
+        T previous = itemsByKey.put(key, item);
+        if (previous != null) {
+            filedKeys.remove(previous);
+        }
+        filedKeys.put(item, key);
+    }
+
+    @Override
+    public boolean remove(T item) {
+        K key = item == null ? null : filedKeys.remove(item);
+        if (key == null) {
+            return false;
+        }
+        itemsByKey.remove(key);
+        return true;
+    }
+
+    @Override
+    public boolean update(T item) {
+        if (item == null || !filedKeys.containsKey(item)) {
+            return false;
+        }
+        add(item);
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        itemsByKey.clear();
+        filedKeys.clear();
+    }
+
+    /**
+     * Retrieves the record indexed under the specified key.
+     *
+     * @param key the key to look up
+     * @return the record, or null if no record has that key
+     */
+    public T get(K key) {
+        return itemsByKey.get(key);
+    }
+
+    public boolean containsKey(K key) {
+        return itemsByKey.containsKey(key);
+    }
+
+    public int size() {
+        return itemsByKey.size();
+    }
+}
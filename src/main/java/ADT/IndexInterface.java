@@ -0,0 +1,56 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Interface.java to edit this template
+ */
+package ADT;
+
+/**
+ * A secondary index kept alongside a collection of records.
+ * The owner of the records calls add/remove/update on every mutation so that
+ * lookups through the index never go stale.
+ *
+ * @author yapjinkai
+ * @param <T>
+ */
+public interface IndexInterface<T> {
+
+    /**
+     * Indexes the specified record.
+     *
+     * @param item the record to index
+     * @throws IllegalArgumentException if item is null
+     */
+    void add(T item);
+
+    /**
+     * Removes the specified record from the index.
+     *
+     * @param item the record to remove
+     * @return true if the record was indexed and removed, false otherwise
+     */
+    boolean remove(T item);
+
+    /**
+     * Re-indexes a record after a field the index depends on has changed.
+     *
+     * @param item the record to re-index
+     * @return true if the record is indexed, false otherwise
+     */
+    boolean update(T item);
+
+    /**
+     * Removes every record from the index.
+     */
+    void clear();
+
+    /**
+     * Functional interface for extracting the key a record is indexed under
+     */
+    interface KeyExtractor<T, K> {
+        /**
+         * @param item the record
+         * @return the key of the record (null keys are not indexed)
+         */
+        K keyOf(T item);
+    }
+}
@@ -0,0 +1,481 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package ADT;
+
+/**
+ * Incrementally maintained inverted index for substring search over records.
+ * Each record's lower-cased text (toString() unless a text extractor is given) is split
+ * into letter/digit tokens, and every
+ * token keeps a posting list of the records containing it. A query is narrowed down
+ * through the most selective token it contains and each candidate is then checked
+ * against the cached text, so results are exactly the records whose lower-cased
+ * text contains the query.
+ * Query tokens at either end of the query may be partial; they are resolved through
+ * a trigram index over the vocabulary instead of scanning every record.
+ * Records must be re-indexed with update() whenever their text changes.
+ * Not thread-safe.
+ *
+ * @author yapjinkai
+ * @param <T>
+ */
+public class InvertedIndex<T> implements IndexInterface<T> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int GRAM_LENGTH = 3;
+    private static final int MIN_STALE_TO_REBUILD = 1024;
+
+    // Records, addressed by record id (assigned in indexing order)
+    private T[] records;
+    private final KeyExtractor<T, String> textExtractor;
+    private String[] texts;            // Lower-cased text per record, null once removed
+    private int[][] recordTokens;      // Distinct token ids per record
+    private int recordCount;           // Record ids handed out, including removed ones
+    private int size;
+    private MapInterface<T, Integer> recordIds;
+
+    // Vocabulary
+    private MapInterface<String, Integer> tokenIds;
+    private MapInterface<String, IntList> gramIndex;  // Trigram -> ids of tokens containing it
+    private String[] tokens;
+    private IntList[] postings;        // Token id -> record ids; may hold stale or repeated ids
+    private int[] tokenMarks;          // Scratch marks used while diffing a record's tokens
+    private int tokenCount;
+    private int markEpoch;
+
+    private int livePostings;
+    private int stalePostings;         // Postings left behind by removed or changed records
+    private long[] matchBits;          // Scratch bitmap of matched record ids
+
+    public InvertedIndex() {
+        this(Object::toString);
+    }
+
+    /**
+     * @param textExtractor gives the searchable text of a record
+     */
+    public InvertedIndex(KeyExtractor<T, String> textExtractor) {
+        if (textExtractor == null) {
+            throw new IllegalArgumentException("Text extractor cannot be null");
+        }
+        this.textExtractor = textExtractor;
+        reset(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Indexes the specified record, or re-indexes it if an equal record is already indexed.
+     * @param item the record to index
+     * @throws IllegalArgumentException if item is null
+     */
+    @Override
+    public void add(T item) {
+        if (item == null) {
+            throw new IllegalArgumentException("Cannot index null item");
+        }
+        if (recordIds.containsKey(item)) {
+            update(item);
+            return;
+        }
+        insert(item, textExtractor.keyOf(item).toLowerCase());
+    }
+
+    /**
+     * Re-indexes a record after its fields (and therefore its text) changed.
+     * @param item the record to re-index
+     * @return true if the record is indexed, false otherwise
+     */
+    @Override
+    public boolean update(T item) {
+        Integer recordId = item == null ? null : recordIds.get(item);
+        if (recordId == null) {
+            return false;
+        }
+
+        int id = recordId;
+        records[id] = item;
+        String text = textExtractor.keyOf(item).toLowerCase();
+        if (text.equals(texts[id])) {
+            return true;
+        }
+        texts[id] = text;
+
+        // Old tokens are marked +epoch; tokens of the new text are marked -epoch
+        int epoch = ++markEpoch;
+        int[] oldTokens = recordTokens[id];
+        for (int token : oldTokens) {
+            tokenMarks[token] = epoch;
+        }
+
+        IntList newTokens = new IntList(oldTokens.length);
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            if (!Character.isLetterOrDigit(text.charAt(i))) {
+                i++;
+                continue;
+            }
+            int start = i;
+            while (i < length && Character.isLetterOrDigit(text.charAt(i))) {
+                i++;
+            }
+            int token = internToken(text.substring(start, i));
+            if (tokenMarks[token] == -epoch) {
+                continue;
+            }
+            if (tokenMarks[token] != epoch) {
+                postings[token].add(id);
+                livePostings++;
+            }
+            tokenMarks[token] = -epoch;
+            newTokens.add(token);
+        }
+
+        for (int token : oldTokens) {
+            if (tokenMarks[token] == epoch) {
+                livePostings--;
+                stalePostings++;
+            }
+        }
+        recordTokens[id] = newTokens.toArray();
+        rebuildIfStale();
+        return true;
+    }
+
+    /**
+     * Removes the specified record from the index.
+     * @param item the record to remove
+     * @return true if the record was indexed and removed, false otherwise
+     */
+    @Override
+    public boolean remove(T item) {
+        Integer recordId = item == null ? null : recordIds.remove(item);
+        if (recordId == null) {
+            return false;
+        }
+
+        int id = recordId;
+        livePostings -= recordTokens[id].length;
+        stalePostings += recordTokens[id].length;
+        records[id] = null;
+        texts[id] = null;
+        recordTokens[id] = null;
+        size--;
+        rebuildIfStale();
+        return true;
+    }
+
+    /**
+     * Checks if the specified record is indexed.
+     * @param item the record to check
+     * @return true if the record is indexed, false otherwise
+     */
+    public boolean contains(T item) {
+        return item != null && recordIds.containsKey(item);
+    }
+
+    /**
+     * Finds the records whose lower-cased text contains the query.
+     * @param query lower-cased, non-empty search text
+     * @return ids of the matching records, in indexing order
+     */
+    public int[] search(String query) {
+        if (query == null || query.isEmpty() || size == 0) {
+            return new int[0];
+        }
+
+        // Narrow down through the token whose candidate postings are fewest
+        IntList bestTokens = null;
+        long bestCost = Long.MAX_VALUE;
+        int length = query.length();
+        int i = 0;
+        while (i < length) {
+            if (!Character.isLetterOrDigit(query.charAt(i))) {
+                i++;
+                continue;
+            }
+            int start = i;
+            while (i < length && Character.isLetterOrDigit(query.charAt(i))) {
+                i++;
+            }
+            IntList candidates = matchingTokens(query.substring(start, i), start == 0, i == length);
+            long cost = 0;
+            for (int k = 0; k < candidates.size; k++) {
+                cost += postings[candidates.data[k]].size;
+            }
+            if (cost == 0) {
+                return new int[0];
+            }
+            if (cost < bestCost) {
+                bestCost = cost;
+                bestTokens = candidates;
+            }
+        }
+
+        int matches = 0;
+        if (bestTokens == null) {
+            // No letters or digits to narrow by: verify every record
+            for (int id = 0; id < recordCount; id++) {
+                if (texts[id] != null && texts[id].contains(query)) {
+                    matchBits[id >>> 6] |= 1L << id;
+                    matches++;
+                }
+            }
+        } else {
+            for (int k = 0; k < bestTokens.size; k++) {
+                IntList posting = postings[bestTokens.data[k]];
+                for (int p = 0; p < posting.size; p++) {
+                    int id = posting.data[p];
+                    if ((matchBits[id >>> 6] & (1L << id)) == 0
+                            && texts[id] != null && texts[id].contains(query)) {
+                        matchBits[id >>> 6] |= 1L << id;
+                        matches++;
+                    }
+                }
+            }
+        }
+
+        // Walking the bitmap yields ids in order without duplicates, and clears it for next time
+        int[] result = new int[matches];
+        int count = 0;
+        for (int word = 0; count < matches; word++) {
+            long bits = matchBits[word];
+            if (bits != 0) {
+                matchBits[word] = 0;
+                while (bits != 0) {
+                    result[count++] = (word << 6) + Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Retrieves the record with the specified id.
+     * @param recordId an id returned by search()
+     * @return the record, or null if it has since been removed
+     */
+    public T getRecord(int recordId) {
+        return recordId >= 0 && recordId < recordCount ? records[recordId] : null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public void clear() {
+        reset(DEFAULT_CAPACITY);
+    }
+
+
+    // Tokens that can hold this query token: exact, or partial where it touches the query's ends
+    private IntList matchingTokens(String part, boolean openLeft, boolean openRight) {
+        IntList result = new IntList(4);
+        if (!openLeft && !openRight) {
+            Integer token = tokenIds.get(part);
+            if (token != null) {
+                result.add(token);
+            }
+            return result;
+        }
+
+        IntList candidates = null;
+        for (int k = 0; k + GRAM_LENGTH <= part.length(); k++) {
+            IntList gramTokens = gramIndex.get(part.substring(k, k + GRAM_LENGTH));
+            if (gramTokens == null) {
+                return result;
+            }
+            if (candidates == null || gramTokens.size < candidates.size) {
+                candidates = gramTokens;
+            }
+        }
+
+        int candidateCount = candidates == null ? tokenCount : candidates.size;
+        for (int k = 0; k < candidateCount; k++) {
+            int token = candidates == null ? k : candidates.data[k];
+            String text = tokens[token];
+            boolean matches;
+            if (openLeft && openRight) {
+                matches = text.contains(part);
+            } else if (openLeft) {
+                matches = text.endsWith(part);
+            } else {
+                matches = text.startsWith(part);
+            }
+            if (matches) {
+                result.add(token);
+            }
+        }
+        return result;
+    }
+
+    private void insert(T item, String text) {
+        if (recordCount == records.length) {
+            expandRecords();
+        }
+
+        int id = recordCount++;
+        records[id] = item;
+        texts[id] = text;
+
+        int epoch = ++markEpoch;
+        IntList recordTokenList = new IntList(16);
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            if (!Character.isLetterOrDigit(text.charAt(i))) {
+                i++;
+                continue;
+            }
+            int start = i;
+            while (i < length && Character.isLetterOrDigit(text.charAt(i))) {
+                i++;
+            }
+            int token = internToken(text.substring(start, i));
+            if (tokenMarks[token] != epoch) {
+                tokenMarks[token] = epoch;
+                postings[token].add(id);
+                recordTokenList.add(token);
+            }
+        }
+
+        recordTokens[id] = recordTokenList.toArray();
+        livePostings += recordTokenList.size;
+        recordIds.put(item, id);
+        size++;
+    }
+
+    private int internToken(String token) {
+        Integer existing = tokenIds.get(token);
+        if (existing != null) {
+            return existing;
+        }
+
+        if (tokenCount == tokens.length) {
+            expandTokens();
+        }
+        int id = tokenCount++;
+        tokens[id] = token;
+        postings[id] = new IntList(2);
+        tokenIds.put(token, id);
+
+        for (int k = 0; k + GRAM_LENGTH <= token.length(); k++) {
+            String gram = token.substring(k, k + GRAM_LENGTH);
+            IntList gramTokens = gramIndex.get(gram);
+            if (gramTokens == null) {
+                gramTokens = new IntList(2);
+                gramIndex.put(gram, gramTokens);
+            }
+            // A token repeating a trigram adds itself only once
+            if (gramTokens.size == 0 || gramTokens.data[gramTokens.size - 1] != id) {
+                gramTokens.add(id);
+            }
+        }
+        return id;
+    }
+
+    // Re-indexes live records from scratch once stale postings outnumber live ones
+    private void rebuildIfStale() {
+        if (stalePostings < MIN_STALE_TO_REBUILD || stalePostings < livePostings) {
+            return;
+        }
+
+        T[] oldRecords = records;
+        String[] oldTexts = texts;
+        int oldCount = recordCount;
+        reset(Math.max(DEFAULT_CAPACITY, size));
+        for (int i = 0; i < oldCount; i++) {
+            if (oldRecords[i] != null) {
+                insert(oldRecords[i], oldTexts[i]);
+            }
+        }
+    }
+
+    private void reset(int capacity) {
+        records = (T[]) new Object[capacity];
+        texts = new String[capacity];
+        recordTokens = new int[capacity][];
+        matchBits = new long[(capacity + 63) >>> 6];
+        recordCount = 0;
+        size = 0;
+        recordIds = new MyHashMap<>(capacity);
+
+        tokens = new String[capacity];
+        postings = new IntList[capacity];
+        tokenMarks = new int[capacity];
+        tokenCount = 0;
+        markEpoch = 0;
+        tokenIds = new MyHashMap<>(capacity);
+        gramIndex = new MyHashMap<>(capacity);
+
+        livePostings = 0;
+        stalePostings = 0;
+    }
+
+    private void expandRecords() {
+        int newCapacity = records.length * 2;
+        T[] newRecords = (T[]) new Object[newCapacity];
+        String[] newTexts = new String[newCapacity];
+        int[][] newRecordTokens = new int[newCapacity][];
+        for (int i = 0; i < recordCount; i++) {
+            newRecords[i] = records[i];
+            newTexts[i] = texts[i];
+            newRecordTokens[i] = recordTokens[i];
+        }
+        records = newRecords;
+        texts = newTexts;
+        recordTokens = newRecordTokens;
+        matchBits = new long[(newCapacity + 63) >>> 6];
+    }
+
+    private void expandTokens() {
+        int newCapacity = tokens.length * 2;
+        String[] newTokens = new String[newCapacity];
+        IntList[] newPostings = new IntList[newCapacity];
+        int[] newMarks = new int[newCapacity];
+        for (int i = 0; i < tokenCount; i++) {
+            newTokens[i] = tokens[i];
+            newPostings[i] = postings[i];
+            newMarks[i] = tokenMarks[i];
+        }
+        tokens = newTokens;
+        postings = newPostings;
+        tokenMarks = newMarks;
+    }
+
+
+    // Growable list of primitive ints, avoiding boxed Integers in posting lists
+    private static class IntList {
+        private int[] data;
+        private int size;
+
+        IntList(int capacity) {
+            data = new int[Math.max(1, capacity)];
+        }
+
+        void add(int value) {
+            if (size == data.length) {
+                int[] newData = new int[size * 2];
+                for (int i = 0; i < size; i++) {
+                    newData[i] = data[i];
+                }
+                data = newData;
+            }
+            data[size++] = value;
+        }
+
+        int[] toArray() {
+            int[] result = new int[size];
+            for (int i = 0; i < size; i++) {
+                result[i] = data[i];
+            }
+            return result;
+        }
+    }
+}
@@ -100,12 +100,23 @@ public interface ListInterface <T> {
     
     /**
      * Sorts the list according to the specified comparator.
+     * The sort is stable: items that compare equal keep their relative order.
      * 
      * @param comparator the comparator to use for sorting
      * @throws IllegalArgumentException if comparator is null
      */
     void sort(Comparator<T> comparator);
     
+    /**
+     * Sorts the list according to the specified comparator, splitting the work
+     * across the common fork-join pool when the list is large enough to benefit.
+     * Small lists are sorted sequentially. The result is the same as sort().
+     * 
+     * @param comparator the comparator to use for sorting (must be safe to call from several threads)
+     * @throws IllegalArgumentException if comparator is null
+     */
+    void parallelSort(Comparator<T> comparator);
+    
     /**
      * Reverses the order of all items in the list.
      */
@@ -0,0 +1,120 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Interface.java to edit this template
+ */
+package ADT;
+
+/**
+ * @author yapjinkai
+ * @param <K>
+ * @param <V>
+ */
+public interface MapInterface<K, V> {
+
+    /**
+     * Associates the specified value with the specified key, replacing any previous value.
+     *
+     * @param key the key to store the value under
+     * @param value the value to store
+     * @return the previous value stored under key, or null if there was none
+     * @throws IllegalArgumentException if key is null
+     */
+    V put(K key, V value);
+
+    /**
+     * Retrieves the value stored under the specified key.
+     *
+     * @param key the key to look up
+     * @return the value stored under key, or null if the key is not present
+     */
+    V get(K key);
+
+    /**
+     * Retrieves the value stored under the specified key, or a fallback if it is absent.
+     *
+     * @param key the key to look up
+     * @param defaultValue the value to return when key is not present
+     * @return the value stored under key, or defaultValue if the key is not present
+     */
+    V getOrDefault(K key, V defaultValue);
+
+    /**
+     * Checks if the specified key is present in the map.
+     *
+     * @param key the key to search for
+     * @return true if key is present, false otherwise
+     */
+    boolean containsKey(K key);
+
+    /**
+     * Removes the specified key and its value from the map.
+     *
+     * @param key the key to remove
+     * @return the value that was stored under key, or null if the key was not present
+     */
+    V remove(K key);
+
+    /**
+     * Returns the current number of key-value pairs in the map.
+     *
+     * @return the number of entries in the map (>= 0)
+     */
+    int size();
+
+    /**
+     * Checks if the map contains no entries.
+     *
+     * @return true if map has no entries (size == 0), false otherwise
+     */
+    boolean isEmpty();
+
+    /**
+     * Removes all entries from the map, making it empty.
+     */
+    void clear();
+
+    /**
+     * Returns an iterator over the keys, in the order they were first put.
+     * The iterator reads the map directly; no copy of the keys is made.
+     *
+     * @return an iterator over the keys of the map
+     */
+    MyIterator<K> keys();
+
+    /**
+     * Returns an iterator over the values, in the order their keys were first put.
+     * The iterator reads the map directly; no copy of the values is made.
+     *
+     * @return an iterator over the values of the map
+     */
+    MyIterator<V> values();
+
+    /**
+     * Returns an iterator over the key-value pairs, in the order their keys were first put.
+     * Each entry is a live view: setValue() writes straight through to the map.
+     *
+     * @return an iterator over the entries of the map
+     */
+    MyIterator<Entry<K, V>> entries();
+
+    /**
+     * A single key-value pair of the map
+     */
+    interface Entry<K, V> {
+        /**
+         * @return the key of this entry
+         */
+        K getKey();
+
+        /**
+         * @return the value of this entry
+         */
+        V getValue();
+
+        /**
+         * Replaces the value of this entry in the map
+         * @param value the new value
+         */
+        void setValue(V value);
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package ADT;
+
+/**
+ * Multi-valued hash index: each key maps to the bucket of records sharing it.
+ * Buckets are insertion-ordered hash sets, so a record is added, removed or moved
+ * to another key in O(1), and a bucket is read in O(k) for its k records.
+ *
+ * @author yapjinkai
+ * @param <K>
+ * @param <T>
+ */
+public class MultiMapIndex<K, T> implements IndexInterface<T> {
+
+    private static final MapInterface<Object, Object> EMPTY_BUCKET = new MyHashMap<>(0);
+
+    private final KeyExtractor<T, K> keyExtractor;
+    private final MapInterface<K, MapInterface<T, T>> buckets;
+    private final MapInterface<T, K> filedKeys;   // Key each record was indexed under
+
+    public MultiMapIndex(KeyExtractor<T, K> keyExtractor) {
+        if (keyExtractor == null) {
+            throw new IllegalArgumentException("Key extractor cannot be null");
+        }
+        this.keyExtractor = keyExtractor;
+        this.buckets = new MyHashMap<>();
+        this.filedKeys = new MyHashMap<>();
+    }
+
+    @Override
+    public void add(T item) {
+        if (item == null) {
+            throw new IllegalArgumentException("Cannot index null item");
+        }
+        remove(item);
+        K key = keyExtractor.keyOf(item);
+        if (key == null) {
+            return;
+        }
+        MapInterface<T, T> bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = new MyHashMap<>(4);
+            buckets.put(key, bucket);
+        }
+        bucket.put(item, item);
+        filedKeys.put(item, key);
+    }
+
+    @Override
+    public boolean remove(T item) {
+        K key = item == null ? null : filedKeys.remove(item);
+        if (key == null) {
+            return false;
+        }
+        MapInterface<T, T> bucket = buckets.get(key);
+        bucket.remove(item);
+        if (bucket.isEmpty()) {
+            buckets.remove(key);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean update(T item) {
+        if (item == null || !filedKeys.containsKey(item)) {
+            return false;
+        }
+        // Only move the record if its key actually changed
+        K key = keyExtractor.keyOf(item);
+        if (key == null || !key.equals(filedKeys.get(item))) {
+            add(item);
+        }
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        buckets.clear();
+        filedKeys.clear();
+    }
+
+    /**
+     * Retrieves the records indexed under the specified key.
+     *
+     * @param key the key to look up
+     * @return a new list of the records with that key, in the order they were filed
+     */
+    public ListInterface<T> get(K key) {
+        MapInterface<T, T> bucket = buckets.get(key);
+        ListInterface<T> result = new MyArrayList<>(bucket == null ? 0 : bucket.size());
+        if (bucket != null) {
+            MyIterator<T> items = bucket.keys();
+            while (items.hasNext()) {
+                result.add(items.next());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns an iterator over the records indexed under the specified key, without copying.
+     *
+     * @param key the key to look up
+     * @return an iterator over the records with that key, in the order they were filed
+     */
+    public MyIterator<T> iterator(K key) {
+        MapInterface<T, T> bucket = buckets.get(key);
+        if (bucket == null) {
+            return (MyIterator<T>) EMPTY_BUCKET.keys();
+        }
+        return bucket.keys();
+    }
+
+    /**
+     * Retrieves every key that has at least one record.
+     *
+     * @return a new list of the keys, in the order their buckets were created
+     */
+    public ListInterface<K> keys() {
+        ListInterface<K> result = new MyArrayList<>(buckets.size());
+        MyIterator<K> keys = buckets.keys();
+        while (keys.hasNext()) {
+            result.add(keys.next());
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of records indexed under the specified key.
+     *
+     * @param key the key to look up
+     * @return the number of records with that key (>= 0)
+     */
+    public int count(K key) {
+        MapInterface<T, T> bucket = buckets.get(key);
+        return bucket == null ? 0 : bucket.size();
+    }
+}
@@ -6,6 +6,8 @@ package ADT;
 
 import ADT.MyIterator;
 import ADT.MyListIterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * @author yapjinkai
@@ -17,22 +19,65 @@ public class MyArrayList<T> implements ListInterface<T> {
     private T[] array;
     private int size;
     private static final int DEFAULT_CAPACITY = 10;
+    private static final int MIN_RUN = 32; // Runs shorter than this are padded with insertion sort
+    private static final int PARALLEL_SORT_THRESHOLD = 1 << 13; // Below this, parallelSort sorts sequentially
     
     
+    // Frequency table, only kept by lists created through withStatistics().
+    // Open addressing with linear probing, keyed on hashCode()/equals().
+    // frequencyOrder records when a key first appeared so getMostFrequent() can break
+    // ties in favour of the earliest item, as the old insertion-ordered arrays did.
+    private static final int MIN_FREQUENCY_CAPACITY = 8;
     private T[] frequencyKeys;
     private int[] frequencyValues;
+    private long[] frequencyOrder;
     private int frequencySize;
+    private int frequencyShift;
+    private long frequencyClock;
+    private T mostFrequent;       // Cached answer for getMostFrequent()
+    private int mostFrequentCount;
+    private long mostFrequentOrder;
+    private boolean mostFrequentValid;
+    private final boolean trackStatistics;
     
     public MyArrayList() {
         this(DEFAULT_CAPACITY);
     }
     
     public MyArrayList(int initialCapacity) {
+        this(initialCapacity, false);
+    }
+    
+    private MyArrayList(int initialCapacity, boolean trackStatistics) {
         array = (T[]) new Object[initialCapacity];
         size = 0;
-        frequencyKeys = (T[]) new Object[initialCapacity];
-        frequencyValues = new int[initialCapacity];
-        frequencySize = 0;
+        this.trackStatistics = trackStatistics;
+        if (trackStatistics) {
+            initFrequencyTable(initialCapacity);
+        }
+    }
+    
+    /**
+     * Creates a list that keeps item frequencies up to date on every add and remove,
+     * so getMostFrequent(), getUniqueCount() and hasDuplicates() answer in O(1).
+     * Plain lists skip that bookkeeping and work the statistics out on demand instead.
+     * 
+     * @param <T> the type of items in the list
+     * @return an empty list with statistics tracking enabled
+     */
+    public static <T> MyArrayList<T> withStatistics() {
+        return withStatistics(DEFAULT_CAPACITY);
+    }
+    
+    /**
+     * Creates a list with statistics tracking enabled and the given initial capacity.
+     * 
+     * @param <T> the type of items in the list
+     * @param initialCapacity the initial capacity of the list
+     * @return an empty list with statistics tracking enabled
+     */
+    public static <T> MyArrayList<T> withStatistics(int initialCapacity) {
+        return new MyArrayList<>(initialCapacity, true);
     }
     
     
@@ -47,136 +92,6 @@ public class MyArrayList<T> implements ListInterface<T> {
         updateFrequencyMap(item, 1);
     }
     
-    // === HASHMAP ===
-    // Key-Value pair structure for HashMap-like operations
-    public static class KeyValuePair<K, V> {
-        private K key;
-        private V value;
-        
-        public KeyValuePair(K key, V value) {
-            this.key = key;
-            this.value = value;
-        }
-        
-        public K getKey() { 
-            return key; 
-        }
-
-        public V getValue() { 
-            return value; 
-        }
-        @SuppressWarnings("unchecked")
-
-
-        public void setValue(Object value) { 
-            this.value = (V) value; 
-        }
-        
-        @Override
-        public boolean equals(Object obj) {
-            if (this == obj) return true;
-            if (!(obj instanceof KeyValuePair)) return false;
-            KeyValuePair<?, ?> other = (KeyValuePair<?, ?>) obj;
-            return key.equals(other.key);
-        }
-        
-        @Override
-        public String toString() {
-            return key + " -> " + value;
-        }
-    }
-    
-    // HashMap-like operations using KeyValuePair
-    public <K, V> void put(K key, V value) {
-        KeyValuePair<K, V> pair = new KeyValuePair<>(key, value);
-        
-        // Check if key already exists
-        for (int i = 0; i < size; i++) {
-            if (array[i] instanceof KeyValuePair) {
-                KeyValuePair<?, ?> existingPair = (KeyValuePair<?, ?>) array[i];
-                if (existingPair.getKey().equals(key)) {
-                    // Update existing value
-                    existingPair.setValue((Object) value);
-                    return;
-                }
-            }
-        }
-        
-        // Add new key-value pair
-        add((T) pair);
-    }
-    
-    public <K, V> V get(K key) {
-        for (int i = 0; i < size; i++) {
-            if (array[i] instanceof KeyValuePair) {
-                KeyValuePair<?, ?> pair = (KeyValuePair<?, ?>) array[i];
-                if (pair.getKey().equals(key)) {
-                    return (V) pair.getValue();
-                }
-            }
-        }
-        return null;
-    }
-    
-    public <K> boolean containsKey(K key) {
-        for (int i = 0; i < size; i++) {
-            if (array[i] instanceof KeyValuePair) {
-                KeyValuePair<?, ?> pair = (KeyValuePair<?, ?>) array[i];
-                if (pair.getKey().equals(key)) {
-                    return true;
-                }
-            }
-        }
-        return false;
-    }
-    
-    public <K> boolean removeByKey(K key) {
-        for (int i = 0; i < size; i++) {
-            if (array[i] instanceof KeyValuePair) {
-                KeyValuePair<?, ?> pair = (KeyValuePair<?, ?>) array[i];
-                if (pair.getKey().equals(key)) {
-                    return remove((T) pair);
-                }
-            }
-        }
-        return false;
-    }
-    
-    // Get all keys
-    public <K> MyArrayList<K> keySet() {
-        MyArrayList<K> keys = new MyArrayList<>();
-        for (int i = 0; i < size; i++) {
-            if (array[i] instanceof KeyValuePair) {
-                KeyValuePair<?, ?> pair = (KeyValuePair<?, ?>) array[i];
-                keys.add((K) pair.getKey());
-            }
-        }
-        return keys;
-    }
-    
-    // Get all values
-    public <V> MyArrayList<V> values() {
-        MyArrayList<V> values = new MyArrayList<>();
-        for (int i = 0; i < size; i++) {
-            if (array[i] instanceof KeyValuePair) {
-                KeyValuePair<?, ?> pair = (KeyValuePair<?, ?>) array[i];
-                values.add((V) pair.getValue());
-            }
-        }
-        return values;
-    }
-    
-    // Get all entries (key-value pairs)
-    public <K, V> MyArrayList<KeyValuePair<K, V>> entrySet() {
-        MyArrayList<KeyValuePair<K, V>> entries = new MyArrayList<>();
-        for (int i = 0; i < size; i++) {
-            if (array[i] instanceof KeyValuePair) {
-                entries.add((KeyValuePair<K, V>) array[i]);
-            }
-        }
-        return entries;
-    }
-    
     @Override
     public boolean remove(T item) {
         for (int i = 0; i < size; i++) {
@@ -231,7 +146,9 @@ public class MyArrayList<T> implements ListInterface<T> {
             array[i] = null;
         }
         size = 0;
-        frequencySize = 0;
+        if (trackStatistics) {
+            initFrequencyTable(DEFAULT_CAPACITY);
+        }
     }
     
     
@@ -264,15 +181,27 @@ public class MyArrayList<T> implements ListInterface<T> {
     
     @Override
     public void sort(Comparator<T> comparator) {
-        for (int i = 0; i < size - 1; i++) {
-            for (int j = 0; j < size - i - 1; j++) {
-                if (comparator.compare(array[j], array[j + 1]) > 0) {
-                    T temp = array[j];
-                    array[j] = array[j + 1];
-                    array[j + 1] = temp;
-                }
-            }
+        if (comparator == null) {
+            throw new IllegalArgumentException("Comparator cannot be null");
+        }
+        if (size < 2) {
+            return;
         }
+        T[] buffer = (T[]) new Object[size];
+        mergeSort(array, buffer, 0, size, comparator);
+    }
+    
+    @Override
+    public void parallelSort(Comparator<T> comparator) {
+        if (comparator == null) {
+            throw new IllegalArgumentException("Comparator cannot be null");
+        }
+        if (size < PARALLEL_SORT_THRESHOLD || ForkJoinPool.getCommonPoolParallelism() < 2) {
+            sort(comparator);
+            return;
+        }
+        T[] buffer = (T[]) new Object[size];
+        ForkJoinPool.commonPool().invoke(new ParallelSortTask<>(array, buffer, 0, size, comparator));
     }
     
     @Override
@@ -286,14 +215,22 @@ public class MyArrayList<T> implements ListInterface<T> {
      
     @Override
     public T getMostFrequent() {
-        T mostFrequent = null;
-        int maxFreq = 0;
-        
-        for (int i = 0; i < frequencySize; i++) {
-            if (frequencyValues[i] > maxFreq) {
-                maxFreq = frequencyValues[i];
-                mostFrequent = frequencyKeys[i];
+        if (!trackStatistics) {
+            return statisticsSnapshot().getMostFrequent();
+        }
+        if (!mostFrequentValid) {
+            mostFrequent = null;
+            mostFrequentCount = 0;
+            mostFrequentOrder = Long.MAX_VALUE;
+            for (int i = 0; i < frequencyKeys.length; i++) {
+                if (frequencyKeys[i] != null && (frequencyValues[i] > mostFrequentCount
+                        || (frequencyValues[i] == mostFrequentCount && frequencyOrder[i] < mostFrequentOrder))) {
+                    mostFrequent = frequencyKeys[i];
+                    mostFrequentCount = frequencyValues[i];
+                    mostFrequentOrder = frequencyOrder[i];
+                }
             }
+            mostFrequentValid = true;
         }
         return mostFrequent;
     }
@@ -311,6 +248,9 @@ public class MyArrayList<T> implements ListInterface<T> {
     
     @Override
     public int getUniqueCount() {
+        if (!trackStatistics) {
+            return statisticsSnapshot().getUniqueCount();
+        }
         return frequencySize;
     }
     
@@ -329,61 +269,289 @@ public class MyArrayList<T> implements ListInterface<T> {
     
     @Override
     public boolean hasDuplicates() {
-        for (int i = 0; i < size; i++) {
-            for (int j = i + 1; j < size; j++) {
-                if (array[i].equals(array[j])) {
-                    return true;
-                }
-            }
-        }
-        return false;
+        return getUniqueCount() < size;
     }
     
    
     private void expand() {
         T[] currentArray = array;
-        T[] newArray = (T[]) new Object[array.length * 2];
+        T[] newArray = (T[]) new Object[Math.max(1, array.length * 2)];   // A list created with capacity 0 still grows
         for (int i = 0; i < currentArray.length; i++) {
             newArray[i] = currentArray[i];
         }
         array = newArray;
     }
     
+    private void initFrequencyTable(int expectedItems) {
+        int capacity = MIN_FREQUENCY_CAPACITY;
+        while (capacity * 2 < expectedItems * 3) { // Keep the load factor at or below 2/3
+            capacity <<= 1;
+        }
+        frequencyKeys = (T[]) new Object[capacity];
+        frequencyValues = new int[capacity];
+        frequencyOrder = new long[capacity];
+        frequencyShift = 32 - Integer.numberOfTrailingZeros(capacity);
+        frequencySize = 0;
+        mostFrequent = null;
+        mostFrequentCount = 0;
+        mostFrequentOrder = Long.MAX_VALUE;
+        mostFrequentValid = true;
+    }
+    
+    // Fibonacci hashing spreads clustered hash codes (such as sequential IDs) across the table
+    private int frequencySlot(Object item) {
+        return (item.hashCode() * 0x9E3779B9) >>> frequencyShift;
+    }
+    
+    // Lean lists have no frequency table; build a throwaway one in a single O(n) pass
+    private MyArrayList<T> statisticsSnapshot() {
+        MyArrayList<T> snapshot = withStatistics(size);
+        for (int i = 0; i < size; i++) {
+            snapshot.updateFrequencyMap(array[i], 1);
+        }
+        return snapshot;
+    }
+    
     private void updateFrequencyMap(T item, int change) {
-        // Find existing item in frequency array
-        for (int i = 0; i < frequencySize; i++) {
-            if (frequencyKeys[i].equals(item)) {
-                int newFreq = frequencyValues[i] + change;
+        if (!trackStatistics) {
+            return;
+        }
+        int mask = frequencyKeys.length - 1;
+        int slot = frequencySlot(item);
+        
+        // Find existing item in frequency table
+        while (frequencyKeys[slot] != null) {
+            if (frequencyKeys[slot].equals(item)) {
+                int newFreq = frequencyValues[slot] + change;
                 if (newFreq <= 0) {
-                    // Remove item by shifting remaining elements
-                    for (int j = i; j < frequencySize - 1; j++) {
-                        frequencyKeys[j] = frequencyKeys[j + 1];
-                        frequencyValues[j] = frequencyValues[j + 1];
+                    if (mostFrequentValid && frequencyKeys[slot] == mostFrequent) {
+                        mostFrequentValid = false;
                     }
-                    frequencySize--;
+                    deleteFrequencySlot(slot);
                 } else {
-                    frequencyValues[i] = newFreq;
+                    frequencyValues[slot] = newFreq;
+                    recordFrequency(slot, change);
                 }
                 return;
             }
+            slot = (slot + 1) & mask;
         }
         
         // Item not found, add it if change is positive
         if (change > 0) {
-            if (frequencySize == frequencyKeys.length) {
-                // Expand frequency arrays
-                T[] newKeys = (T[]) new Object[frequencyKeys.length * 2];
-                int[] newValues = new int[frequencyValues.length * 2];
-                for (int i = 0; i < frequencySize; i++) {
-                    newKeys[i] = frequencyKeys[i];
-                    newValues[i] = frequencyValues[i];
+            frequencyKeys[slot] = item;
+            frequencyValues[slot] = change;
+            frequencyOrder[slot] = frequencyClock++;
+            frequencySize++;
+            recordFrequency(slot, change);
+            if (frequencySize * 3 > frequencyKeys.length * 2) {
+                resizeFrequencyTable();
+            }
+        }
+    }
+    
+    // Keeps the cached most frequent item current without rescanning the table
+    private void recordFrequency(int slot, int change) {
+        if (!mostFrequentValid) {
+            return;
+        }
+        if (change < 0) {
+            if (frequencyKeys[slot] == mostFrequent) {
+                mostFrequentValid = false;
+            }
+            return;
+        }
+        int count = frequencyValues[slot];
+        if (frequencyKeys[slot] == mostFrequent) {
+            mostFrequentCount = count;
+        } else if (count > mostFrequentCount
+                || (count == mostFrequentCount && frequencyOrder[slot] < mostFrequentOrder)) {
+            mostFrequent = frequencyKeys[slot];
+            mostFrequentCount = count;
+            mostFrequentOrder = frequencyOrder[slot];
+        }
+    }
+    
+    // Backward-shift deletion: pulls later entries of the probe chain into the gap so
+    // lookups never need tombstones
+    private void deleteFrequencySlot(int slot) {
+        int mask = frequencyKeys.length - 1;
+        int gap = slot;
+        int next = slot;
+        while (true) {
+            next = (next + 1) & mask;
+            T key = frequencyKeys[next];
+            if (key == null) {
+                break;
+            }
+            int home = frequencySlot(key);
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                frequencyKeys[gap] = key;
+                frequencyValues[gap] = frequencyValues[next];
+                frequencyOrder[gap] = frequencyOrder[next];
+                gap = next;
+            }
+        }
+        frequencyKeys[gap] = null;
+        frequencyValues[gap] = 0;
+        frequencySize--;
+    }
+    
+    private void resizeFrequencyTable() {
+        T[] oldKeys = frequencyKeys;
+        int[] oldValues = frequencyValues;
+        long[] oldOrder = frequencyOrder;
+        
+        frequencyKeys = (T[]) new Object[oldKeys.length * 2];
+        frequencyValues = new int[oldKeys.length * 2];
+        frequencyOrder = new long[oldKeys.length * 2];
+        frequencyShift--;
+        
+        int mask = frequencyKeys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                int slot = frequencySlot(oldKeys[i]);
+                while (frequencyKeys[slot] != null) {
+                    slot = (slot + 1) & mask;
                 }
-                frequencyKeys = newKeys;
-                frequencyValues = newValues;
+                frequencyKeys[slot] = oldKeys[i];
+                frequencyValues[slot] = oldValues[i];
+                frequencyOrder[slot] = oldOrder[i];
             }
-            frequencyKeys[frequencySize] = item;
-            frequencyValues[frequencySize] = change;
-            frequencySize++;
+        }
+    }
+    
+    
+    // === SORTING ===
+    // Natural merge sort: picks up the ascending runs already present in the range,
+    // pads short runs to MIN_RUN with binary insertion sort, then merges neighbouring
+    // runs bottom-up until a single run is left. Stable, O(n log n), O(n) on sorted input.
+    private static <T> void mergeSort(T[] a, T[] buffer, int lo, int hi, Comparator<T> comparator) {
+        int[] runEnds = new int[(hi - lo) / MIN_RUN + 2];
+        int runCount = 0;
+        
+        int start = lo;
+        while (start < hi) {
+            int end = countRunAndMakeAscending(a, start, hi, comparator);
+            if (end - start < MIN_RUN) {
+                int forcedEnd = Math.min(hi, start + MIN_RUN);
+                binaryInsertionSort(a, start, end, forcedEnd, comparator);
+                end = forcedEnd;
+            }
+            runEnds[runCount++] = end;
+            start = end;
+        }
+        
+        while (runCount > 1) {
+            int merged = 0;
+            int runStart = lo;
+            for (int i = 0; i < runCount; i += 2) {
+                if (i + 1 < runCount) {
+                    merge(a, buffer, runStart, runEnds[i], runEnds[i + 1], comparator);
+                    runStart = runEnds[i + 1];
+                    runEnds[merged++] = runEnds[i + 1];
+                } else {
+                    runEnds[merged++] = runEnds[i];
+                }
+            }
+            runCount = merged;
+        }
+    }
+    
+    // Returns the end of the run starting at lo; strictly descending runs are reversed
+    // in place (strictness keeps equal items in their original order)
+    private static <T> int countRunAndMakeAscending(T[] a, int lo, int hi, Comparator<T> comparator) {
+        int runHi = lo + 1;
+        if (runHi == hi) {
+            return hi;
+        }
+        
+        if (comparator.compare(a[runHi++], a[lo]) < 0) {
+            while (runHi < hi && comparator.compare(a[runHi], a[runHi - 1]) < 0) {
+                runHi++;
+            }
+            for (int i = lo, j = runHi - 1; i < j; i++, j--) {
+                T temp = a[i];
+                a[i] = a[j];
+                a[j] = temp;
+            }
+        } else {
+            while (runHi < hi && comparator.compare(a[runHi], a[runHi - 1]) >= 0) {
+                runHi++;
+            }
+        }
+        return runHi;
+    }
+    
+    // Sorts a[lo, hi) given that a[lo, start) is already sorted; each new item is placed
+    // after any equal items so the sort stays stable
+    private static <T> void binaryInsertionSort(T[] a, int lo, int start, int hi, Comparator<T> comparator) {
+        for (; start < hi; start++) {
+            T pivot = a[start];
+            int left = lo;
+            int right = start;
+            while (left < right) {
+                int mid = (left + right) >>> 1;
+                if (comparator.compare(pivot, a[mid]) < 0) {
+                    right = mid;
+                } else {
+                    left = mid + 1;
+                }
+            }
+            for (int i = start; i > left; i--) {
+                a[i] = a[i - 1];
+            }
+            a[left] = pivot;
+        }
+    }
+    
+    // Merges the sorted ranges a[lo, mid) and a[mid, hi), using buffer[lo, mid) as scratch space
+    private static <T> void merge(T[] a, T[] buffer, int lo, int mid, int hi, Comparator<T> comparator) {
+        if (comparator.compare(a[mid - 1], a[mid]) <= 0) {
+            return; // Already in order, nothing to merge
+        }
+        
+        System.arraycopy(a, lo, buffer, lo, mid - lo);
+        int i = lo, j = mid, k = lo;
+        while (i < mid && j < hi) {
+            if (comparator.compare(a[j], buffer[i]) < 0) {
+                a[k++] = a[j++];
+            } else {
+                a[k++] = buffer[i++];
+            }
+        }
+        while (i < mid) {
+            a[k++] = buffer[i++];
+        }
+    }
+    
+    // Fork-join task for parallelSort: halves are sorted independently, then merged.
+    // Every task only touches its own [lo, hi) slice of both arrays.
+    private static class ParallelSortTask<T> extends RecursiveAction {
+        private final T[] a;
+        private final T[] buffer;
+        private final int lo;
+        private final int hi;
+        private final Comparator<T> comparator;
+        
+        ParallelSortTask(T[] a, T[] buffer, int lo, int hi, Comparator<T> comparator) {
+            this.a = a;
+            this.buffer = buffer;
+            this.lo = lo;
+            this.hi = hi;
+            this.comparator = comparator;
+        }
+        
+        @Override
+        protected void compute() {
+            if (hi - lo <= PARALLEL_SORT_THRESHOLD) {
+                mergeSort(a, buffer, lo, hi, comparator);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new ParallelSortTask<>(a, buffer, lo, mid, comparator),
+                      new ParallelSortTask<>(a, buffer, mid, hi, comparator));
+            merge(a, buffer, lo, mid, hi, comparator);
         }
     }
     
@@ -470,6 +638,7 @@ public class MyArrayList<T> implements ListInterface<T> {
             }
             
             // Remove the element at lastReturned position
+            updateFrequencyMap(array[lastReturned], -1);
             for (int i = lastReturned; i < size - 1; i++) {
                 array[i] = array[i + 1];
             }
@@ -564,6 +733,7 @@ public class MyArrayList<T> implements ListInterface<T> {
             }
             
             // Remove the element at lastReturned position
+            updateFrequencyMap(array[lastReturned], -1);
             for (int i = lastReturned; i < size - 1; i++) {
                 array[i] = array[i + 1];
             }
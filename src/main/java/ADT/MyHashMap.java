@@ -0,0 +1,348 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package ADT;
+
+/**
+ * Open-addressing hash map.
+ * Entries live in dense arrays in the order their keys were first put; the probe table
+ * (linear probing) only stores positions into those arrays. Iteration is therefore a
+ * straight walk in insertion order, and removal uses backward shifting so the probe
+ * table never fills up with tombstones.
+ *
+ * @author yapjinkai
+ * @param <K>
+ * @param <V>
+ */
+public class MyHashMap<K, V> implements MapInterface<K, V> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final double DEFAULT_LOAD_FACTOR = 0.75;
+    private static final int MIN_TABLE_SIZE = 8;
+
+    private final double loadFactor;
+    private int[] slots;          // Probe table: entry position + 1, or 0 for an empty slot
+    private int shift;            // 32 - log2(slots.length), for Fibonacci hashing
+    private K[] entryKeys;        // Dense entry arrays; a null key marks a removed entry
+    private V[] entryValues;
+    private int[] entryHashes;
+    private int entryCount;       // Entry positions used so far, including removed ones
+    private int size;
+    private int modCount;
+
+    public MyHashMap() {
+        this(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR);
+    }
+
+    public MyHashMap(int initialCapacity) {
+        this(initialCapacity, DEFAULT_LOAD_FACTOR);
+    }
+
+    public MyHashMap(int initialCapacity, double loadFactor) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Initial capacity cannot be negative: " + initialCapacity);
+        }
+        if (!(loadFactor > 0.0 && loadFactor < 1.0)) {
+            throw new IllegalArgumentException("Load factor must be between 0 and 1: " + loadFactor);
+        }
+        this.loadFactor = loadFactor;
+        allocate(tableSizeFor(initialCapacity));
+    }
+
+    @Override
+    public V put(K key, V value) {
+        if (key == null) {
+            throw new IllegalArgumentException("Cannot use null as a map key");
+        }
+
+        int hash = hash(key);
+        int slot = findSlot(key, hash);
+        if (slots[slot] != 0) {
+            int position = slots[slot] - 1;
+            V previous = entryValues[position];
+            entryValues[position] = value;
+            return previous;
+        }
+
+        if (entryCount == entryKeys.length) {
+            // Reclaim removed positions if that frees enough room, otherwise grow
+            rehash(size < entryKeys.length / 2 ? slots.length : slots.length * 2);
+            slot = findSlot(key, hash);
+        }
+
+        entryKeys[entryCount] = key;
+        entryValues[entryCount] = value;
+        entryHashes[entryCount] = hash;
+        slots[slot] = ++entryCount;
+        size++;
+        modCount++;
+        return null;
+    }
+
+    @Override
+    public V get(K key) {
+        return getOrDefault(key, null);
+    }
+
+    @Override
+    public V getOrDefault(K key, V defaultValue) {
+        if (key == null) {
+            return defaultValue;
+        }
+        int slot = findSlot(key, hash(key));
+        return slots[slot] == 0 ? defaultValue : entryValues[slots[slot] - 1];
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return key != null && slots[findSlot(key, hash(key))] != 0;
+    }
+
+    @Override
+    public V remove(K key) {
+        if (key == null) {
+            return null;
+        }
+        int slot = findSlot(key, hash(key));
+        if (slots[slot] == 0) {
+            return null;
+        }
+
+        int position = slots[slot] - 1;
+        V previous = entryValues[position];
+        entryKeys[position] = null;
+        entryValues[position] = null;
+        deleteSlot(slot);
+        size--;
+        modCount++;
+        return previous;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = 0;
+        }
+        for (int i = 0; i < entryCount; i++) {
+            entryKeys[i] = null;
+            entryValues[i] = null;
+        }
+        entryCount = 0;
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public MyIterator<K> keys() {
+        return new EntryCursor<K>() {
+            @Override
+            K element(int position) {
+                return entryKeys[position];
+            }
+        };
+    }
+
+    @Override
+    public MyIterator<V> values() {
+        return new EntryCursor<V>() {
+            @Override
+            V element(int position) {
+                return entryValues[position];
+            }
+        };
+    }
+
+    @Override
+    public MyIterator<Entry<K, V>> entries() {
+        return new EntryCursor<Entry<K, V>>() {
+            @Override
+            Entry<K, V> element(int position) {
+                return new EntryView(position);
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("MyHashMap[Size: ").append(size).append(", Table: ").append(slots.length).append("]\n");
+        for (int i = 0; i < entryCount; i++) {
+            if (entryKeys[i] != null) {
+                sb.append(entryKeys[i]).append(" -> ").append(entryValues[i]).append("\n");
+            }
+        }
+        return sb.toString();
+    }
+
+
+    // Fibonacci hashing spreads clustered hash codes (such as sequential IDs) across the table
+    private static int hash(Object key) {
+        return key.hashCode() * 0x9E3779B9;
+    }
+
+    // Returns the slot holding key, or the empty slot where it would be inserted
+    private int findSlot(Object key, int hash) {
+        int mask = slots.length - 1;
+        int slot = hash >>> shift;
+        while (slots[slot] != 0) {
+            int position = slots[slot] - 1;
+            if (entryHashes[position] == hash && entryKeys[position].equals(key)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    // Backward-shift deletion: pulls later entries of the probe chain into the gap
+    private void deleteSlot(int slot) {
+        int mask = slots.length - 1;
+        int gap = slot;
+        int next = slot;
+        while (true) {
+            next = (next + 1) & mask;
+            if (slots[next] == 0) {
+                break;
+            }
+            int home = entryHashes[slots[next] - 1] >>> shift;
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                slots[gap] = slots[next];
+                gap = next;
+            }
+        }
+        slots[gap] = 0;
+    }
+
+    private int tableSizeFor(int expectedEntries) {
+        int tableSize = MIN_TABLE_SIZE;
+        while (tableSize * loadFactor < expectedEntries) {
+            tableSize <<= 1;
+        }
+        return tableSize;
+    }
+
+    private void allocate(int tableSize) {
+        int entryCapacity = Math.max(1, (int) (tableSize * loadFactor));
+        slots = new int[tableSize];
+        shift = 32 - Integer.numberOfTrailingZeros(tableSize);
+        entryKeys = (K[]) new Object[entryCapacity];
+        entryValues = (V[]) new Object[entryCapacity];
+        entryHashes = new int[entryCapacity];
+        entryCount = 0;
+    }
+
+    // Rebuilds the table at the given size, compacting out removed entries
+    private void rehash(int tableSize) {
+        K[] oldKeys = entryKeys;
+        V[] oldValues = entryValues;
+        int[] oldHashes = entryHashes;
+        int oldCount = entryCount;
+
+        allocate(tableSize);
+        int mask = slots.length - 1;
+        for (int i = 0; i < oldCount; i++) {
+            if (oldKeys[i] != null) {
+                int slot = oldHashes[i] >>> shift;
+                while (slots[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                entryKeys[entryCount] = oldKeys[i];
+                entryValues[entryCount] = oldValues[i];
+                entryHashes[entryCount] = oldHashes[i];
+                slots[slot] = ++entryCount;
+            }
+        }
+        modCount++;
+    }
+
+
+    // Walks the dense entry arrays, skipping removed positions
+    private abstract class EntryCursor<E> implements MyIterator<E> {
+        private int cursor = skipRemoved(0);
+        private int lastReturned = -1;
+        private int expectedModCount = modCount;
+
+        abstract E element(int position);
+
+        @Override
+        public boolean hasNext() {
+            return cursor < entryCount;
+        }
+
+        @Override
+        public E next() {
+            checkForComodification();
+            if (!hasNext()) {
+                throw new IllegalStateException("No more elements");
+            }
+            lastReturned = cursor;
+            cursor = skipRemoved(cursor + 1);
+            return element(lastReturned);
+        }
+
+        @Override
+        public void remove() {
+            checkForComodification();
+            if (lastReturned < 0) {
+                throw new IllegalStateException("No element to remove");
+            }
+            // Removal only clears the position, so the cursor stays valid
+            MyHashMap.this.remove(entryKeys[lastReturned]);
+            lastReturned = -1;
+            expectedModCount = modCount;
+        }
+
+        private int skipRemoved(int position) {
+            while (position < entryCount && entryKeys[position] == null) {
+                position++;
+            }
+            return position;
+        }
+
+        private void checkForComodification() {
+            if (expectedModCount != modCount) {
+                throw new IllegalStateException("Concurrent modification detected");
+            }
+        }
+    }
+
+
+    private class EntryView implements Entry<K, V> {
+        private final int position;
+
+        EntryView(int position) {
+            this.position = position;
+        }
+
+        @Override
+        public K getKey() {
+            return entryKeys[position];
+        }
+
+        @Override
+        public V getValue() {
+            return entryValues[position];
+        }
+
+        @Override
+        public void setValue(V value) {
+            entryValues[position] = value;
+        }
+
+        @Override
+        public String toString() {
+            return getKey() + " -> " + getValue();
+        }
+    }
+}
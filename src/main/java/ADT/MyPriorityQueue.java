@@ -0,0 +1,241 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package ADT;
+
+/**
+ * Indexed binary min-heap.
+ * The heap array holds handles; each handle remembers its heap position, which makes
+ * remove(handle), decreaseKey() and update() O(log n) with no searching.
+ * Items that compare equal are ordered by insertion, so equal priorities are FIFO.
+ *
+ * @author yapjinkai
+ * @param <T>
+ */
+public class MyPriorityQueue<T> implements PriorityQueueInterface<T> {
+
+    private static final int DEFAULT_CAPACITY = 10;
+
+    private final ListInterface.Comparator<T> comparator;
+    private int[] heap;           // Handles in heap order
+    private T[] items;            // Indexed by handle
+    private int[] positions;      // Indexed by handle: heap position, or -1 when the handle is free
+    private long[] stamps;        // Indexed by handle: insertion order, for FIFO tie-breaking
+    private int[] nextFree;       // Indexed by handle: free list of released handles
+    private int freeHead = -1;
+    private int handleCount;      // Handles handed out so far, including released ones
+    private int size;
+    private long nextStamp;
+
+    public MyPriorityQueue(ListInterface.Comparator<T> comparator) {
+        this(comparator, DEFAULT_CAPACITY);
+    }
+
+    public MyPriorityQueue(ListInterface.Comparator<T> comparator, int initialCapacity) {
+        if (comparator == null) {
+            throw new IllegalArgumentException("Comparator cannot be null");
+        }
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Initial capacity cannot be negative: " + initialCapacity);
+        }
+        this.comparator = comparator;
+        int capacity = Math.max(1, initialCapacity);
+        heap = new int[capacity];
+        items = (T[]) new Object[capacity];
+        positions = new int[capacity];
+        stamps = new long[capacity];
+        nextFree = new int[capacity];
+    }
+
+    @Override
+    public int insert(T item) {
+        if (item == null) {
+            throw new IllegalArgumentException("Cannot insert null item");
+        }
+
+        int handle = allocateHandle();
+        items[handle] = item;
+        stamps[handle] = nextStamp++;
+        heap[size] = handle;
+        positions[handle] = size;
+        siftUp(size++);
+        return handle;
+    }
+
+    @Override
+    public T peek() {
+        return size == 0 ? null : items[heap[0]];
+    }
+
+    @Override
+    public T poll() {
+        return size == 0 ? null : remove(heap[0]);
+    }
+
+    @Override
+    public T get(int handle) {
+        checkHandle(handle);
+        return items[handle];
+    }
+
+    @Override
+    public boolean contains(int handle) {
+        return handle >= 0 && handle < handleCount && positions[handle] >= 0;
+    }
+
+    @Override
+    public T remove(int handle) {
+        checkHandle(handle);
+        T item = items[handle];
+        int position = positions[handle];
+
+        int last = heap[--size];
+        if (position < size) {
+            heap[position] = last;
+            positions[last] = position;
+            if (!siftUp(position)) {
+                siftDown(position);
+            }
+        }
+
+        releaseHandle(handle);
+        return item;
+    }
+
+    @Override
+    public void decreaseKey(int handle) {
+        checkHandle(handle);
+        siftUp(positions[handle]);
+    }
+
+    @Override
+    public void update(int handle) {
+        checkHandle(handle);
+        int position = positions[handle];
+        if (!siftUp(position)) {
+            siftDown(position);
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < handleCount; i++) {
+            items[i] = null;
+        }
+        handleCount = 0;
+        freeHead = -1;
+        size = 0;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("MyPriorityQueue[Size: ").append(size).append("]\n");
+        for (int i = 0; i < size; i++) {
+            sb.append(heap[i]).append(": ").append(items[heap[i]]).append("\n");
+        }
+        return sb.toString();
+    }
+
+
+    // Returns true if the item at position moved up
+    private boolean siftUp(int position) {
+        int handle = heap[position];
+        int start = position;
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (!before(handle, heap[parent])) {
+                break;
+            }
+            heap[position] = heap[parent];
+            positions[heap[position]] = position;
+            position = parent;
+        }
+        heap[position] = handle;
+        positions[handle] = position;
+        return position != start;
+    }
+
+    private void siftDown(int position) {
+        int handle = heap[position];
+        int half = size >>> 1;
+        while (position < half) {
+            int child = 2 * position + 1;
+            if (child + 1 < size && before(heap[child + 1], heap[child])) {
+                child++;
+            }
+            if (!before(heap[child], handle)) {
+                break;
+            }
+            heap[position] = heap[child];
+            positions[heap[position]] = position;
+            position = child;
+        }
+        heap[position] = handle;
+        positions[handle] = position;
+    }
+
+    private boolean before(int handle1, int handle2) {
+        int result = comparator.compare(items[handle1], items[handle2]);
+        return result < 0 || (result == 0 && stamps[handle1] < stamps[handle2]);
+    }
+
+    private int allocateHandle() {
+        if (freeHead >= 0) {
+            int handle = freeHead;
+            freeHead = nextFree[handle];
+            return handle;
+        }
+        if (handleCount == items.length) {
+            expand();
+        }
+        return handleCount++;
+    }
+
+    private void releaseHandle(int handle) {
+        items[handle] = null;
+        positions[handle] = -1;
+        nextFree[handle] = freeHead;
+        freeHead = handle;
+    }
+
+    private void checkHandle(int handle) {
+        if (!contains(handle)) {
+            throw new IllegalArgumentException("Handle is not in the queue: " + handle);
+        }
+    }
+
+    private void expand() {
+        int newCapacity = items.length * 2;
+        int[] newHeap = new int[newCapacity];
+        T[] newItems = (T[]) new Object[newCapacity];
+        int[] newPositions = new int[newCapacity];
+        long[] newStamps = new long[newCapacity];
+        int[] newNextFree = new int[newCapacity];
+        for (int i = 0; i < handleCount; i++) {
+            newItems[i] = items[i];
+            newPositions[i] = positions[i];
+            newStamps[i] = stamps[i];
+            newNextFree[i] = nextFree[i];
+        }
+        for (int i = 0; i < size; i++) {
+            newHeap[i] = heap[i];
+        }
+        heap = newHeap;
+        items = newItems;
+        positions = newPositions;
+        stamps = newStamps;
+        nextFree = newNextFree;
+    }
+}
@@ -0,0 +1,603 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package ADT;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * List of fixed-size records kept off the Java heap in memory segments.
+ * A codec lays each item out as one record of primitive fields; text fields hold an
+ * (offset, length) reference into a separate segment of UTF-8 bytes, so records stay
+ * fixed-size whatever the length of their strings. Only get() and the other
+ * ListInterface methods build objects; count, sum and select read the fields in place
+ * through one reused RecordView, so scanning the list allocates nothing per record.
+ * The segments come from automatic arenas and are freed once the list is unreachable.
+ * Text of removed or overwritten records is only reclaimed by clear() or sort().
+ *
+ * @author yapjinkai
+ * @param <T>
+ */
+public class OffHeapRecordList<T> implements ListInterface<T> {
+
+    // Bytes a text field takes in its record: int offset and int length (-1 for null)
+    public static final int TEXT_FIELD_SIZE = 8;
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final long DEFAULT_TEXT_CAPACITY = 1024;
+
+    private final RecordCodec<T> codec;
+    private final long recordSize;
+    private MemorySegment records;
+    private MemorySegment text;
+    private int capacity;
+    private int size;
+    private long textUsed;
+    private final RecordView view;   // Reused by every scan
+
+    public OffHeapRecordList(RecordCodec<T> codec) {
+        if (codec == null) {
+            throw new IllegalArgumentException("Codec cannot be null");
+        }
+        if (codec.recordSize() <= 0) {
+            throw new IllegalArgumentException("Record size must be positive: " + codec.recordSize());
+        }
+        this.codec = codec;
+        this.recordSize = codec.recordSize();
+        this.capacity = DEFAULT_CAPACITY;
+        this.records = allocate(capacity * recordSize);
+        this.text = allocate(DEFAULT_TEXT_CAPACITY);
+        this.view = new RecordView();
+    }
+
+    @Override
+    public void add(T item) {
+        validateItem(item);
+        ensureCapacity(size + 1);
+        write(size++, item);
+    }
+
+    @Override
+    public boolean remove(T item) {
+        for (int i = 0; i < size; i++) {
+            if (read(i).equals(item)) {
+                removeAt(i);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public T get(int index) {
+        return isValidIndex(index) ? read(index) : null;
+    }
+
+    @Override
+    public boolean contains(T item) {
+        for (int i = 0; i < size; i++) {
+            if (read(i).equals(item)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // Grows on demand, so never full
+    @Override
+    public boolean isFull() {
+        return false;
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+        textUsed = 0;
+    }
+
+    @Override
+    public T findFirst(Predicate<T> predicate) {
+        for (int i = 0; i < size; i++) {
+            T item = read(i);
+            if (predicate.test(item)) {
+                return item;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public ListInterface<T> filter(Predicate<T> predicate) {
+        MyArrayList<T> filtered = new MyArrayList<>();
+        for (int i = 0; i < size; i++) {
+            T item = read(i);
+            if (predicate.test(item)) {
+                filtered.add(item);
+            }
+        }
+        return filtered;
+    }
+
+    @Override
+    public ListInterface<T> searchByKeyword(String keyword) {
+        return filter(item -> item.toString().toLowerCase().contains(keyword.toLowerCase()));
+    }
+
+    // Sorts the objects and writes them back, which also drops unreferenced text
+    @Override
+    public void sort(Comparator<T> comparator) {
+        if (comparator == null) {
+            throw new IllegalArgumentException("Comparator cannot be null");
+        }
+        MyArrayList<T> items = toList();
+        items.sort(comparator);
+        rewrite(items);
+    }
+
+    @Override
+    public void parallelSort(Comparator<T> comparator) {
+        if (comparator == null) {
+            throw new IllegalArgumentException("Comparator cannot be null");
+        }
+        MyArrayList<T> items = toList();
+        items.parallelSort(comparator);
+        rewrite(items);
+    }
+
+    // Swaps whole records; their text references stay valid
+    @Override
+    public void reverse() {
+        MemorySegment scratch = allocate(recordSize);
+        for (int i = 0, j = size - 1; i < j; i++, j--) {
+            MemorySegment.copy(records, i * recordSize, scratch, 0, recordSize);
+            MemorySegment.copy(records, j * recordSize, records, i * recordSize, recordSize);
+            MemorySegment.copy(scratch, 0, records, j * recordSize, recordSize);
+        }
+    }
+
+    @Override
+    public T getMostFrequent() {
+        return toStatisticsList().getMostFrequent();
+    }
+
+    @Override
+    public double getAverageLength() {
+        if (isEmpty()) return 0.0;
+
+        long totalLength = 0;
+        for (int i = 0; i < size; i++) {
+            totalLength += read(i).toString().length();
+        }
+        return (double) totalLength / size;
+    }
+
+    @Override
+    public int getUniqueCount() {
+        return toStatisticsList().getUniqueCount();
+    }
+
+    @Override
+    public boolean isValidIndex(int index) {
+        return index >= 0 && index < size;
+    }
+
+    @Override
+    public void validateItem(T item) {
+        if (item == null) {
+            throw new IllegalArgumentException("Cannot add null item to list");
+        }
+    }
+
+    @Override
+    public boolean hasDuplicates() {
+        return getUniqueCount() < size;
+    }
+
+    @Override
+    public MyIterator iterator() {
+        return new RecordIterator(0);
+    }
+
+    @Override
+    public MyListIterator listIterator() {
+        return new RecordIterator(0);
+    }
+
+    @Override
+    public MyListIterator listIterator(int index) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return new RecordIterator(index);
+    }
+
+    /**
+     * Counts the records matching a condition, reading them in place.
+     *
+     * @param filter the condition on a record, or null to count every record
+     * @return the number of matching records (>= 0)
+     */
+    public int count(RecordPredicate filter) {
+        if (filter == null) {
+            return size;
+        }
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (filter.test(view.at(i))) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Adds up a measure over the records matching a condition, reading them in place.
+     *
+     * @param filter the condition on a record, or null for every record
+     * @param measure the value of a record
+     * @return the total of the measure over the matching records
+     * @throws IllegalArgumentException if measure is null
+     */
+    public long sum(RecordPredicate filter, RecordMeasure measure) {
+        if (measure == null) {
+            throw new IllegalArgumentException("Measure cannot be null");
+        }
+        long total = 0;
+        for (int i = 0; i < size; i++) {
+            RecordView record = view.at(i);
+            if (filter == null || filter.test(record)) {
+                total += measure.valueOf(record);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Hands every record to a visitor in list order, reading them in place.
+     *
+     * @param visitor called once per record
+     * @throws IllegalArgumentException if visitor is null
+     */
+    public void forEach(RecordVisitor visitor) {
+        if (visitor == null) {
+            throw new IllegalArgumentException("Visitor cannot be null");
+        }
+        for (int i = 0; i < size; i++) {
+            visitor.visit(view.at(i));
+        }
+    }
+
+    /**
+     * Builds objects for the records matching a condition only.
+     *
+     * @param filter the condition on a record
+     * @return a new list of the matching items, in list order
+     * @throws IllegalArgumentException if filter is null
+     */
+    public ListInterface<T> select(RecordPredicate filter) {
+        if (filter == null) {
+            throw new IllegalArgumentException("Filter cannot be null");
+        }
+        MyArrayList<T> selected = new MyArrayList<>();
+        for (int i = 0; i < size; i++) {
+            if (filter.test(view.at(i))) {
+                selected.add(read(i));
+            }
+        }
+        return selected;
+    }
+
+    // Off-heap bytes in use by records and their text
+    public long byteSize() {
+        return size * recordSize + textUsed;
+    }
+
+    private T read(int index) {
+        return codec.read(new RecordView().at(index));
+    }
+
+    private void write(int index, T item) {
+        RecordView record = new RecordView().at(index);
+        records.asSlice(index * recordSize, recordSize).fill((byte) 0);
+        codec.write(item, record);
+    }
+
+    private void removeAt(int index) {
+        long from = (index + 1) * recordSize;
+        MemorySegment.copy(records, from, records, index * recordSize, (size - index - 1) * recordSize);
+        size--;
+    }
+
+    private void insertAt(int index, T item) {
+        ensureCapacity(size + 1);
+        long at = index * recordSize;
+        MemorySegment.copy(records, at, records, at + recordSize, (size - index) * recordSize);
+        size++;
+        write(index, item);
+    }
+
+    private MyArrayList<T> toList() {
+        MyArrayList<T> items = new MyArrayList<>(Math.max(1, size));
+        for (int i = 0; i < size; i++) {
+            items.add(read(i));
+        }
+        return items;
+    }
+
+    private MyArrayList<T> toStatisticsList() {
+        MyArrayList<T> items = MyArrayList.withStatistics(Math.max(1, size));
+        for (int i = 0; i < size; i++) {
+            items.add(read(i));
+        }
+        return items;
+    }
+
+    private void rewrite(MyArrayList<T> items) {
+        clear();
+        for (int i = 0; i < items.size(); i++) {
+            write(size++, items.get(i));
+        }
+    }
+
+    private void ensureCapacity(int needed) {
+        if (needed <= capacity) {
+            return;
+        }
+        int newCapacity = Math.max(needed, capacity * 2);
+        MemorySegment grown = allocate(newCapacity * recordSize);
+        MemorySegment.copy(records, 0, grown, 0, size * recordSize);
+        records = grown;
+        capacity = newCapacity;
+    }
+
+    // Appends UTF-8 bytes to the text segment and returns their offset
+    private int appendText(byte[] bytes) {
+        if (textUsed + bytes.length > text.byteSize()) {
+            long newCapacity = Math.max(textUsed + bytes.length, text.byteSize() * 2);
+            if (newCapacity > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Text segment full");
+            }
+            MemorySegment grown = allocate(newCapacity);
+            MemorySegment.copy(text, 0, grown, 0, textUsed);
+            text = grown;
+        }
+        int offset = (int) textUsed;
+        MemorySegment.copy(bytes, 0, text, ValueLayout.JAVA_BYTE, offset, bytes.length);
+        textUsed += bytes.length;
+        return offset;
+    }
+
+    private static MemorySegment allocate(long bytes) {
+        return Arena.ofAuto().allocate(bytes, Long.BYTES);
+    }
+
+    /**
+     * Window onto one record: typed reads and writes at byte offsets within the record.
+     * Views handed to a scan are reused for the next record, so keep the values, not the view.
+     */
+    public final class RecordView {
+        private long base;
+
+        private RecordView() {
+        }
+
+        private RecordView at(int index) {
+            base = index * recordSize;
+            return this;
+        }
+
+        public byte getByte(long field) {
+            return records.get(ValueLayout.JAVA_BYTE, base + field);
+        }
+
+        public void putByte(long field, byte value) {
+            records.set(ValueLayout.JAVA_BYTE, base + field, value);
+        }
+
+        public int getInt(long field) {
+            return records.get(ValueLayout.JAVA_INT_UNALIGNED, base + field);
+        }
+
+        public void putInt(long field, int value) {
+            records.set(ValueLayout.JAVA_INT_UNALIGNED, base + field, value);
+        }
+
+        public long getLong(long field) {
+            return records.get(ValueLayout.JAVA_LONG_UNALIGNED, base + field);
+        }
+
+        public void putLong(long field, long value) {
+            records.set(ValueLayout.JAVA_LONG_UNALIGNED, base + field, value);
+        }
+
+        // Text fields take TEXT_FIELD_SIZE bytes of the record
+        public String getText(long field) {
+            int length = getInt(field + Integer.BYTES);
+            if (length < 0) {
+                return null;
+            }
+            byte[] bytes = new byte[length];
+            MemorySegment.copy(text, ValueLayout.JAVA_BYTE, getInt(field), bytes, 0, length);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        public void putText(long field, String value) {
+            if (value == null) {
+                putInt(field, 0);
+                putInt(field + Integer.BYTES, -1);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            putInt(field, appendText(bytes));
+            putInt(field + Integer.BYTES, bytes.length);
+        }
+
+        // Compares in place for ASCII text; other text is decoded first
+        public boolean textEquals(long field, String value) {
+            return compareText(field, value, false);
+        }
+
+        public boolean textEqualsIgnoreCase(long field, String value) {
+            return compareText(field, value, true);
+        }
+
+        private boolean compareText(long field, String value, boolean ignoreCase) {
+            int length = getInt(field + Integer.BYTES);
+            if (length < 0 || value == null) {
+                return length < 0 && value == null;
+            }
+            long offset = getInt(field);
+            boolean ascii = isAscii(value);
+            for (int i = 0; ascii && i < length; i++) {
+                byte b = text.get(ValueLayout.JAVA_BYTE, offset + i);
+                if (b < 0) {
+                    ascii = false;
+                } else if (i >= value.length()) {
+                    return false;
+                } else if (b != value.charAt(i)
+                        && (!ignoreCase || Character.toUpperCase((char) b) != Character.toUpperCase(value.charAt(i)))) {
+                    return false;
+                }
+            }
+            if (ascii) {
+                return length == value.length();
+            }
+            String decoded = getText(field);
+            return ignoreCase ? decoded.equalsIgnoreCase(value) : decoded.equals(value);
+        }
+
+        private boolean isAscii(String value) {
+            for (int i = 0; i < value.length(); i++) {
+                if (value.charAt(i) > 0x7F) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Lays items out as fixed-size records.
+     */
+    public interface RecordCodec<T> {
+        /**
+         * @return bytes per record, text fields counting TEXT_FIELD_SIZE each
+         */
+        long recordSize();
+
+        /**
+         * Writes an item into a zeroed record.
+         */
+        void write(T item, OffHeapRecordList<T>.RecordView record);
+
+        /**
+         * Builds an item from a record.
+         */
+        T read(OffHeapRecordList<T>.RecordView record);
+    }
+
+    @FunctionalInterface
+    public interface RecordPredicate {
+        boolean test(OffHeapRecordList<?>.RecordView record);
+    }
+
+    @FunctionalInterface
+    public interface RecordVisitor {
+        void visit(OffHeapRecordList<?>.RecordView record);
+    }
+
+    @FunctionalInterface
+    public interface RecordMeasure {
+        long valueOf(OffHeapRecordList<?>.RecordView record);
+    }
+
+    private class RecordIterator implements ADT.MyListIterator<T> {
+        private int cursor;
+        private int lastReturned = -1;
+
+        RecordIterator(int index) {
+            this.cursor = index;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return cursor < size;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new IllegalStateException("No more elements");
+            }
+            lastReturned = cursor;
+            return read(cursor++);
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return cursor > 0;
+        }
+
+        @Override
+        public T previous() {
+            if (!hasPrevious()) {
+                throw new IllegalStateException("No more elements");
+            }
+            cursor--;
+            lastReturned = cursor;
+            return read(cursor);
+        }
+
+        @Override
+        public int nextIndex() {
+            return cursor;
+        }
+
+        @Override
+        public int previousIndex() {
+            return cursor - 1;
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned < 0) {
+                throw new IllegalStateException("No element to remove");
+            }
+            removeAt(lastReturned);
+            if (lastReturned < cursor) {
+                cursor--;
+            }
+            lastReturned = -1;
+        }
+
+        @Override
+        public void set(T element) {
+            if (lastReturned < 0) {
+                throw new IllegalStateException("No element to set");
+            }
+            validateItem(element);
+            write(lastReturned, element);
+        }
+
+        @Override
+        public void add(T element) {
+            validateItem(element);
+            insertAt(cursor++, element);
+            lastReturned = -1;
+        }
+    }
+}
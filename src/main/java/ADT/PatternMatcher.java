@@ -0,0 +1,278 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package ADT;
+
+/**
+ * Multi-pattern matcher (Aho-Corasick automaton).
+ * All patterns are matched in one pass over the text, so the cost is O(text length)
+ * however many patterns there are. Where matches overlap the longest one wins, and
+ * between matches of equal length the pattern added first wins, so "back pain" is not
+ * shadowed by "pain". Matching is case-sensitive; lower-case both sides to ignore case.
+ *
+ * @author yapjinkai
+ * @param <V>
+ */
+public class PatternMatcher<V> {
+
+    private static final char[] NO_LABELS = new char[0];
+
+    private final MyArrayList<V> values;
+    private Node root;
+    private boolean built;
+
+    public PatternMatcher() {
+        this.values = new MyArrayList<>();
+        this.root = new Node(0);
+    }
+
+    /**
+     * Adds a pattern. Patterns added earlier have higher priority; adding a pattern that
+     * is already present keeps the earlier value.
+     *
+     * @param pattern the text to look for
+     * @param value the value reported for a match
+     * @return true if the pattern was added, false if it was already present
+     */
+    public boolean add(String pattern, V value) {
+        if (pattern == null || pattern.isEmpty()) {
+            throw new IllegalArgumentException("Pattern cannot be empty");
+        }
+        Node node = root;
+        for (int i = 0; i < pattern.length(); i++) {
+            node = node.childOrCreate(pattern.charAt(i));
+        }
+        if (node.pattern >= 0) {
+            return false;
+        }
+        node.pattern = values.size();
+        values.add(value);
+        built = false;
+        return true;
+    }
+
+    public void clear() {
+        values.clear();
+        root = new Node(0);
+        built = false;
+    }
+
+    public int size() {
+        return values.size();
+    }
+
+    public boolean isEmpty() {
+        return values.isEmpty();
+    }
+
+    /**
+     * Finds the non-overlapping matches in the text. Matches are decided strongest first
+     * (longest, then higher priority, then leftmost), and a match is kept unless it
+     * overlaps a match already kept, so no kept match is ever given up for a weaker one.
+     *
+     * @param text the text to scan
+     * @return a new list of the matches, left to right
+     */
+    public ListInterface<Match<V>> findAll(String text) {
+        ListInterface<Match<V>> result = new MyArrayList<>();
+        if (text == null || text.isEmpty() || values.isEmpty()) {
+            return result;
+        }
+        if (!built) {
+            build();
+        }
+
+        // Every occurrence of every pattern, in one pass over the text
+        MyArrayList<Match<V>> candidates = new MyArrayList<>();
+        Node node = root;
+        for (int end = 1; end <= text.length(); end++) {
+            char c = text.charAt(end - 1);
+            Node next = node.child(c);
+            while (next == null && node != root) {
+                node = node.fail;
+                next = node.child(c);
+            }
+            node = next == null ? root : next;
+
+            // The longest pattern ending here, then the shorter ones that are suffixes of it
+            for (Node terminal = node.pattern >= 0 ? node : node.output; terminal != null; terminal = terminal.output) {
+                candidates.add(new Match<>(end - terminal.depth, end, values.get(terminal.pattern), terminal.pattern));
+            }
+        }
+        if (candidates.isEmpty()) {
+            return result;
+        }
+
+        // Kept matches do not overlap, so each one owns its start position
+        candidates.sort(PatternMatcher::compareStrength);
+        boolean[] covered = new boolean[text.length()];
+        Match<V>[] keptByStart = (Match<V>[]) new Match[text.length()];
+        for (int i = 0; i < candidates.size(); i++) {
+            Match<V> match = candidates.get(i);
+            if (isFree(covered, match)) {
+                for (int position = match.start; position < match.end; position++) {
+                    covered[position] = true;
+                }
+                keptByStart[match.start] = match;
+            }
+        }
+        for (int start = 0; start < keptByStart.length; start++) {
+            if (keptByStart[start] != null) {
+                result.add(keptByStart[start]);
+            }
+        }
+        return result;
+    }
+
+    // Negative if match is the stronger of the two
+    private static int compareStrength(Match<?> match, Match<?> other) {
+        int length = match.end - match.start;
+        int otherLength = other.end - other.start;
+        if (length != otherLength) {
+            return Integer.compare(otherLength, length);
+        }
+        if (match.priority != other.priority) {
+            return Integer.compare(match.priority, other.priority);
+        }
+        return Integer.compare(match.start, other.start);
+    }
+
+    private static boolean isFree(boolean[] covered, Match<?> match) {
+        for (int position = match.start; position < match.end; position++) {
+            if (covered[position]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Failure and output links, breadth first so every shorter node is linked before its children
+    private void build() {
+        MyArrayList<Node> queue = new MyArrayList<>();
+        root.fail = root;
+        for (int i = 0; i < root.childCount; i++) {
+            Node child = root.children[i];
+            child.fail = root;
+            child.output = null;
+            queue.add(child);
+        }
+        for (int head = 0; head < queue.size(); head++) {
+            Node node = queue.get(head);
+            for (int i = 0; i < node.childCount; i++) {
+                char c = node.labels[i];
+                Node child = node.children[i];
+                Node fail = node.fail;
+                Node target = fail.child(c);
+                while (target == null && fail != root) {
+                    fail = fail.fail;
+                    target = fail.child(c);
+                }
+                child.fail = target == null ? root : target;
+                child.output = child.fail.pattern >= 0 ? child.fail : child.fail.output;
+                queue.add(child);
+            }
+        }
+        built = true;
+    }
+
+    /**
+     * A match of one pattern in the scanned text.
+     */
+    public static class Match<V> {
+        private final int start;
+        private final int end;
+        private final V value;
+        private final int priority;   // Position of the pattern in insertion order
+
+        Match(int start, int end, V value, int priority) {
+            this.start = start;
+            this.end = end;
+            this.value = value;
+            this.priority = priority;
+        }
+
+        public int getStart() {
+            return start;
+        }
+
+        // Exclusive
+        public int getEnd() {
+            return end;
+        }
+
+        public V getValue() {
+            return value;
+        }
+
+        public int getPriority() {
+            return priority;
+        }
+    }
+
+    /**
+     * Automaton state; children are kept in parallel arrays sorted by their character.
+     */
+    private static class Node {
+        private final int depth;
+        private char[] labels = NO_LABELS;
+        private Node[] children;
+        private int childCount;
+        private int pattern = -1;   // Pattern ending here, -1 if none
+        private Node fail;          // Longest proper suffix that is also a prefix of a pattern
+        private Node output;        // Nearest pattern-ending node along the failure links
+
+        Node(int depth) {
+            this.depth = depth;
+        }
+
+        Node child(char label) {
+            int low = 0;
+            int high = childCount - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (labels[mid] < label) {
+                    low = mid + 1;
+                } else if (labels[mid] > label) {
+                    high = mid - 1;
+                } else {
+                    return children[mid];
+                }
+            }
+            return null;
+        }
+
+        Node childOrCreate(char label) {
+            int low = 0;
+            int high = childCount - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (labels[mid] < label) {
+                    low = mid + 1;
+                } else if (labels[mid] > label) {
+                    high = mid - 1;
+                } else {
+                    return children[mid];
+                }
+            }
+            if (childCount == labels.length) {
+                int capacity = Math.max(2, labels.length * 2);
+                char[] newLabels = new char[capacity];
+                Node[] newChildren = new Node[capacity];
+                System.arraycopy(labels, 0, newLabels, 0, childCount);
+                if (children != null) {
+                    System.arraycopy(children, 0, newChildren, 0, childCount);
+                }
+                labels = newLabels;
+                children = newChildren;
+            }
+            System.arraycopy(labels, low, labels, low + 1, childCount - low);
+            System.arraycopy(children, low, children, low + 1, childCount - low);
+            Node child = new Node(depth + 1);
+            labels[low] = label;
+            children[low] = child;
+            childCount++;
+            return child;
+        }
+    }
+}
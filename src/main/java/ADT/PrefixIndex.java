@@ -0,0 +1,305 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package ADT;
+
+/**
+ * Prefix index over one or more lower-cased text keys per record (e.g. ID and name), kept as a trie.
+ * Finding the records under a prefix walks one node per character of the prefix and then reads
+ * only the matching branch, stopping as soon as the result limit is reached, so autocompletion
+ * cost does not grow with the number of records. Every node counts the keys below it, and
+ * branches left empty by a removal are pruned.
+ *
+ * @author yapjinkai
+ * @param <T>
+ */
+public class PrefixIndex<T> implements IndexInterface<T> {
+
+    private static final char[] NO_LABELS = new char[0];
+    private static final String[] NO_KEYS = new String[0];
+
+    private final KeyExtractor<T, String>[] keyExtractors;
+    private final MapInterface<T, String[]> filedKeys;   // Keys each record was indexed under
+    private final Node<T> root;
+
+    @SafeVarargs
+    public PrefixIndex(KeyExtractor<T, String>... keyExtractors) {
+        if (keyExtractors == null || keyExtractors.length == 0) {
+            throw new IllegalArgumentException("At least one key extractor is required");
+        }
+        for (KeyExtractor<T, String> keyExtractor : keyExtractors) {
+            if (keyExtractor == null) {
+                throw new IllegalArgumentException("Key extractor cannot be null");
+            }
+        }
+        this.keyExtractors = keyExtractors.clone();
+        this.filedKeys = new MyHashMap<>();
+        this.root = new Node<>();
+    }
+
+    @Override
+    public void add(T item) {
+        if (item == null) {
+            throw new IllegalArgumentException("Cannot index null item");
+        }
+        remove(item);
+        String[] keys = keysOf(item);
+        for (String key : keys) {
+            insert(key, item);
+        }
+        filedKeys.put(item, keys);
+    }
+
+    @Override
+    public boolean remove(T item) {
+        String[] keys = item == null ? null : filedKeys.remove(item);
+        if (keys == null) {
+            return false;
+        }
+        for (String key : keys) {
+            delete(key, item);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean update(T item) {
+        if (item == null || !filedKeys.containsKey(item)) {
+            return false;
+        }
+        // Only move the record if one of its keys actually changed
+        String[] keys = keysOf(item);
+        String[] filed = filedKeys.get(item);
+        boolean changed = keys.length != filed.length;
+        for (int i = 0; !changed && i < keys.length; i++) {
+            changed = !keys[i].equals(filed[i]);
+        }
+        if (changed) {
+            add(item);
+        }
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        root.labels = NO_LABELS;
+        root.children = null;
+        root.childCount = 0;
+        root.records = null;
+        root.keyCount = 0;
+        filedKeys.clear();
+    }
+
+    /**
+     * Retrieves records with a key starting with the specified prefix, in key order
+     * (records with the same key in the order they were indexed).
+     *
+     * @param prefix the prefix to match, ignoring case
+     * @param limit the maximum number of records to return
+     * @return a new list of at most limit matching records, each listed once
+     * @throws IllegalArgumentException if limit is not positive
+     */
+    public ListInterface<T> startsWith(String prefix, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive: " + limit);
+        }
+        ListInterface<T> result = new MyArrayList<>(Math.min(limit, 16));
+        Node<T> node = prefix == null ? null : find(prefix.toLowerCase());
+        if (node != null) {
+            // A record matched through two of its keys is only listed once
+            MapInterface<T, T> seen = keyExtractors.length > 1 ? new MyHashMap<>() : null;
+            collect(node, limit, result, seen);
+        }
+        return result;
+    }
+
+    /**
+     * Counts the keys starting with the specified prefix, e.g. to show "10 of 2,345".
+     * A record matching through more than one of its keys is counted once per key.
+     *
+     * @param prefix the prefix to match, ignoring case
+     * @return the number of matching keys (>= 0)
+     */
+    public int countStartsWith(String prefix) {
+        Node<T> node = prefix == null ? null : find(prefix.toLowerCase());
+        return node == null ? 0 : node.keyCount;
+    }
+
+    public int size() {
+        return filedKeys.size();
+    }
+
+    public boolean isEmpty() {
+        return filedKeys.isEmpty();
+    }
+
+    // Lower-cased, non-empty and distinct keys of a record
+    private String[] keysOf(T item) {
+        String[] keys = NO_KEYS;
+        int count = 0;
+        for (KeyExtractor<T, String> keyExtractor : keyExtractors) {
+            String key = keyExtractor.keyOf(item);
+            if (key == null || key.isEmpty()) {
+                continue;
+            }
+            key = key.toLowerCase();
+            boolean duplicate = false;
+            for (int i = 0; i < count && !duplicate; i++) {
+                duplicate = keys[i].equals(key);
+            }
+            if (!duplicate) {
+                if (count == keys.length) {
+                    String[] grown = new String[keyExtractors.length];
+                    System.arraycopy(keys, 0, grown, 0, count);
+                    keys = grown;
+                }
+                keys[count++] = key;
+            }
+        }
+        if (count < keys.length) {
+            String[] trimmed = new String[count];
+            System.arraycopy(keys, 0, trimmed, 0, count);
+            keys = trimmed;
+        }
+        return keys;
+    }
+
+    private Node<T> find(String key) {
+        Node<T> node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.child(key.charAt(i));
+        }
+        return node;
+    }
+
+    private void insert(String key, T item) {
+        Node<T> node = root;
+        node.keyCount++;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.childOrCreate(key.charAt(i));
+            node.keyCount++;
+        }
+        if (node.records == null) {
+            node.records = new MyHashMap<>(2);
+        }
+        node.records.put(item, item);
+    }
+
+    private void delete(String key, T item) {
+        // Remember the path so the counts can be fixed and empty branches pruned
+        Node<T>[] path = (Node<T>[]) new Node[key.length() + 1];
+        path[0] = root;
+        for (int i = 0; i < key.length(); i++) {
+            path[i + 1] = path[i].child(key.charAt(i));
+            if (path[i + 1] == null) {
+                return;
+            }
+        }
+        Node<T> last = path[key.length()];
+        if (last.records == null || last.records.remove(item) == null) {
+            return;
+        }
+        if (last.records.isEmpty()) {
+            last.records = null;
+        }
+        for (int i = key.length(); i >= 0; i--) {
+            path[i].keyCount--;
+            if (i > 0 && path[i].keyCount == 0) {
+                path[i - 1].removeChild(key.charAt(i - 1));
+            }
+        }
+    }
+
+    // Depth-first in label order; returns false once the limit is reached
+    private boolean collect(Node<T> node, int limit, ListInterface<T> result, MapInterface<T, T> seen) {
+        if (node.records != null) {
+            MyIterator<T> records = node.records.keys();
+            while (records.hasNext()) {
+                T item = records.next();
+                if (seen != null && seen.put(item, item) != null) {
+                    continue;
+                }
+                result.add(item);
+                if (result.size() == limit) {
+                    return false;
+                }
+            }
+        }
+        for (int i = 0; i < node.childCount; i++) {
+            if (!collect(node.children[i], limit, result, seen)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Trie node; children are kept in parallel arrays sorted by their character.
+     */
+    private static class Node<T> {
+        private char[] labels = NO_LABELS;
+        private Node<T>[] children;
+        private int childCount;
+        private MapInterface<T, T> records;   // Records whose key ends here, null if none
+        private int keyCount;                 // Keys ending at or below this node
+
+        Node<T> child(char label) {
+            int position = search(label);
+            return position >= 0 ? children[position] : null;
+        }
+
+        Node<T> childOrCreate(char label) {
+            int position = search(label);
+            if (position >= 0) {
+                return children[position];
+            }
+            position = -position - 1;
+            if (childCount == labels.length) {
+                int capacity = Math.max(2, labels.length * 2);
+                char[] newLabels = new char[capacity];
+                Node<T>[] newChildren = (Node<T>[]) new Node[capacity];
+                System.arraycopy(labels, 0, newLabels, 0, childCount);
+                if (children != null) {
+                    System.arraycopy(children, 0, newChildren, 0, childCount);
+                }
+                labels = newLabels;
+                children = newChildren;
+            }
+            System.arraycopy(labels, position, labels, position + 1, childCount - position);
+            System.arraycopy(children, position, children, position + 1, childCount - position);
+            Node<T> child = new Node<>();
+            labels[position] = label;
+            children[position] = child;
+            childCount++;
+            return child;
+        }
+
+        void removeChild(char label) {
+            int position = search(label);
+            if (position < 0) {
+                return;
+            }
+            System.arraycopy(labels, position + 1, labels, position, childCount - position - 1);
+            System.arraycopy(children, position + 1, children, position, childCount - position - 1);
+            children[--childCount] = null;
+        }
+
+        // Position of the label, or (-(insertion point) - 1) if absent
+        private int search(char label) {
+            int low = 0;
+            int high = childCount - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (labels[mid] < label) {
+                    low = mid + 1;
+                } else if (labels[mid] > label) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -low - 1;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Interface.java to edit this template
+ */
+package ADT;
+
+/**
+ * Priority queue whose items are addressed by handles.
+ * insert() returns a handle that stays valid until the item leaves the queue,
+ * so a queued item can be re-prioritised or removed without searching for it.
+ *
+ * @author yapjinkai
+ * @param <T>
+ */
+public interface PriorityQueueInterface<T> {
+
+    /**
+     * Adds the specified item to the queue.
+     * Items that compare equal leave the queue in the order they were inserted.
+     *
+     * @param item the item to add
+     * @return the handle of the queued item
+     * @throws IllegalArgumentException if item is null
+     */
+    int insert(T item);
+
+    /**
+     * Retrieves, without removing, the item with the highest priority.
+     *
+     * @return the item at the front of the queue, or null if the queue is empty
+     */
+    T peek();
+
+    /**
+     * Removes and returns the item with the highest priority.
+     *
+     * @return the item at the front of the queue, or null if the queue is empty
+     */
+    T poll();
+
+    /**
+     * Retrieves the item queued under the specified handle.
+     *
+     * @param handle the handle returned by insert()
+     * @return the queued item
+     * @throws IllegalArgumentException if handle is not in the queue
+     */
+    T get(int handle);
+
+    /**
+     * Checks if the specified handle refers to an item that is still queued.
+     *
+     * @param handle the handle to check
+     * @return true if the handle is in the queue, false otherwise
+     */
+    boolean contains(int handle);
+
+    /**
+     * Removes the item queued under the specified handle.
+     * The handle becomes invalid and may be reused by a later insert().
+     *
+     * @param handle the handle returned by insert()
+     * @return the removed item
+     * @throws IllegalArgumentException if handle is not in the queue
+     */
+    T remove(int handle);
+
+    /**
+     * Restores queue order after the item's priority has increased
+     * (it now compares before where it was). Cheaper than update().
+     *
+     * @param handle the handle of the item whose priority increased
+     * @throws IllegalArgumentException if handle is not in the queue
+     */
+    void decreaseKey(int handle);
+
+    /**
+     * Restores queue order after the item's priority has changed in either direction.
+     *
+     * @param handle the handle of the item whose priority changed
+     * @throws IllegalArgumentException if handle is not in the queue
+     */
+    void update(int handle);
+
+    /**
+     * Returns the current number of items in the queue.
+     *
+     * @return the number of items in the queue (>= 0)
+     */
+    int size();
+
+    /**
+     * Checks if the queue contains no items.
+     *
+     * @return true if queue has no items (size == 0), false otherwise
+     */
+    boolean isEmpty();
+
+    /**
+     * Removes all items from the queue, invalidating every handle.
+     */
+    void clear();
+}
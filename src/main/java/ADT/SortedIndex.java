@@ -0,0 +1,192 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package ADT;
+
+/**
+ * Ordered index over an int key, kept as a sorted array.
+ * Range queries binary-search the start of the range and then read only the records
+ * inside it, so they cost O(log n + k). Adding or removing a record shifts the array,
+ * which costs O(n). Records with equal keys keep the order they were added in.
+ *
+ * @author yapjinkai
+ * @param <T>
+ */
+public class SortedIndex<T> implements IndexInterface<T> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final KeyExtractor<T, Integer> keyExtractor;
+    private final MapInterface<T, Integer> filedKeys;   // Key each record was indexed under
+    private int[] keys;
+    private T[] items;
+    private int size;
+
+    public SortedIndex(KeyExtractor<T, Integer> keyExtractor) {
+        if (keyExtractor == null) {
+            throw new IllegalArgumentException("Key extractor cannot be null");
+        }
+        this.keyExtractor = keyExtractor;
+        this.filedKeys = new MyHashMap<>();
+        this.keys = new int[DEFAULT_CAPACITY];
+        this.items = (T[]) new Object[DEFAULT_CAPACITY];
+    }
+
+    @Override
+    public void add(T item) {
+        if (item == null) {
+            throw new IllegalArgumentException("Cannot index null item");
+        }
+        remove(item);
+        Integer key = keyExtractor.keyOf(item);
+        if (key == null) {
+            return;
+        }
+        if (size == items.length) {
+            expand();
+        }
+
+        // After any records with the same key
+        int position = upperBound(key);
+        for (int i = size; i > position; i--) {
+            keys[i] = keys[i - 1];
+            items[i] = items[i - 1];
+        }
+        keys[position] = key;
+        items[position] = item;
+        size++;
+        filedKeys.put(item, key);
+    }
+
+    @Override
+    public boolean remove(T item) {
+        Integer key = item == null ? null : filedKeys.remove(item);
+        if (key == null) {
+            return false;
+        }
+        int end = upperBound(key);
+        for (int i = lowerBound(key); i < end; i++) {
+            if (items[i].equals(item)) {
+                for (int j = i; j < size - 1; j++) {
+                    keys[j] = keys[j + 1];
+                    items[j] = items[j + 1];
+                }
+                items[--size] = null;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean update(T item) {
+        if (item == null || !filedKeys.containsKey(item)) {
+            return false;
+        }
+        Integer key = keyExtractor.keyOf(item);
+        if (key == null || !key.equals(filedKeys.get(item))) {
+            add(item);
+        }
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            items[i] = null;
+        }
+        size = 0;
+        filedKeys.clear();
+    }
+
+    /**
+     * Retrieves the records whose key lies in the specified range, in key order.
+     *
+     * @param fromKey the lowest key to include
+     * @param toKey the highest key to include
+     * @return a new list of the matching records (empty if fromKey > toKey)
+     */
+    public ListInterface<T> range(int fromKey, int toKey) {
+        ListInterface<T> result = new MyArrayList<>();
+        if (fromKey > toKey) {
+            return result;
+        }
+        for (int i = lowerBound(fromKey); i < size && keys[i] <= toKey; i++) {
+            result.add(items[i]);
+        }
+        return result;
+    }
+
+    /**
+     * @param key the key to search for
+     * @return the position of the first record with a key >= key (size() if there is none)
+     */
+    public int lowerBound(int key) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @param key the key to search for
+     * @return the position of the first record with a key > key (size() if there is none)
+     */
+    public int upperBound(int key) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid] <= key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    public T get(int position) {
+        checkPosition(position);
+        return items[position];
+    }
+
+    public int keyAt(int position) {
+        checkPosition(position);
+        return keys[position];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private void checkPosition(int position) {
+        if (position < 0 || position >= size) {
+            throw new IndexOutOfBoundsException("Position: " + position + ", Size: " + size);
+        }
+    }
+
+    private void expand() {
+        int newCapacity = items.length * 2;
+        int[] newKeys = new int[newCapacity];
+        T[] newItems = (T[]) new Object[newCapacity];
+        for (int i = 0; i < size; i++) {
+            newKeys[i] = keys[i];
+            newItems[i] = items[i];
+        }
+        keys = newKeys;
+        items = newItems;
+    }
+}
@@ -6,11 +6,15 @@ package Boundary;
 
 import Control.ConsultationManagement;
 import Entity.Consultation;
+import Entity.ConsultationStatus;
+import Entity.QueueType;
 import Entity.Patient;
 import ADT.ListInterface;
 import ADT.MyArrayList;
 import Utility.patientGenerator;
 import Utility.LinearSearch;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.Scanner;
 import java.util.Random;
 
@@ -19,6 +23,7 @@ import java.util.Random;
  * @author yapjinkai
  */
 public class ConsultationUI {
+    private static final int MAX_SUGGESTIONS = 10;   // Autocomplete matches listed for a partial ID or name
     private final Scanner scanner = new Scanner(System.in);
     private final ConsultationManagement consultationControl;
     private final MyArrayList<Patient> patients;
@@ -104,20 +109,19 @@ public class ConsultationUI {
             return;
         }
         
-        // Get next available time slot
-        String[] availableSlots = consultationControl.getAvailableTimeSlots();
+        // Get the doctor's next free time slot today
+        String[] availableSlots = consultationControl.getAvailableTimeSlots(doctorId, LocalDate.now());
         if (availableSlots.length == 0) {
-            System.out.println("No available time slots today!");
+            System.out.println("No available time slots today for " + doctorName + "!");
             System.out.println("All slots are booked.");
             return;
         }
         
         // Auto-assign the first available time slot
         String appointmentTime = availableSlots[0];
-        System.out.println("Auto-assigned Time Slot: " + appointmentTime);
         
         // Auto-assign queue type based on time (morning = walk-in, afternoon = scheduled)
-        String queueType = appointmentTime.compareTo("12:00") < 0 ? "WALK_IN" : "SCHEDULED";
+        QueueType queueType = appointmentTime.compareTo("12:00") < 0 ? QueueType.WALK_IN : QueueType.SCHEDULED;
         System.out.println("Queue Type: " + queueType);
         
         // Extract symptoms from patient dialogue
@@ -136,6 +140,9 @@ public class ConsultationUI {
         // Remove patient from available list (FIFO - first in, first out)
         patients.remove(nextPatient);
         
+        // Walk-ins are placed by the queue, so the slot is read back after adding
+        System.out.println("Auto-assigned Time Slot: " + consultation.getAppointmentTime());
+        
         System.out.println("\nConsultation Started Successfully!");
         System.out.println("   Consultation ID: " + consultationId);
         System.out.println("   Symptoms: " + symptoms);
@@ -192,15 +199,15 @@ public class ConsultationUI {
         System.out.print("Enter choice: ");
         int queueChoice = scanner.nextInt(); scanner.nextLine();
         
-        String queueType = switch (queueChoice) {
-            case 1 -> "EMERGENCY";
-            case 2 -> "WALK_IN";
-            case 3 -> "SCHEDULED";
-            default -> "WALK_IN";
+        QueueType queueType = switch (queueChoice) {
+            case 1 -> QueueType.EMERGENCY;
+            case 2 -> QueueType.WALK_IN;
+            case 3 -> QueueType.SCHEDULED;
+            default -> QueueType.WALK_IN;
         };
         
         // Handle emergency cases immediately
-        if (queueType.equals("EMERGENCY")) {
+        if (queueType == QueueType.EMERGENCY) {
             System.out.println("\n=== EMERGENCY CASE - IMMEDIATE PRIORITY ===");
             System.out.println("================================================================================================================");
             System.out.println("| EMERGENCY PATIENT INFORMATION                                                                               |");
@@ -253,45 +260,33 @@ public class ConsultationUI {
             return;
         }
         
-        // Get available time slots
-        String[] availableSlots = consultationControl.getAvailableTimeSlots();
-        if (availableSlots.length == 0) {
-            System.out.println("No available time slots today!");
-            System.out.println("All slots are booked.");
-            // Return the patient to the list
-            patients.add(selectedPatient);
-            return;
-        }
-        
+        LocalDate appointmentDate = LocalDate.now();
         String appointmentTime;
         
-        // Handle WALK_IN patients - auto-assign next available slot
-        if (queueType.equals("WALK_IN")) {
-            appointmentTime = availableSlots[0]; // Get the first available slot
-            System.out.println("\n=== WALK-IN PATIENT - AUTO TIME SLOT ASSIGNMENT ===");
-            System.out.println("================================================================================================================");
-            System.out.printf("| Auto-assigned Time Slot: %-15s | Queue Type: %-15s |\n", appointmentTime, queueType);
-            System.out.println("|==============================================================================================================|");
-            System.out.printf("| Patient: %-20s | Doctor: %-20s |\n", selectedPatient.getName(), getDoctorName(doctorId));
-            System.out.println("================================================================================================================");
+        // Handle WALK_IN patients - the queue assigns the next available slot today
+        if (queueType == QueueType.WALK_IN) {
+            if (consultationControl.getAvailableTimeSlots().length == 0) {
+                System.out.println("No available time slots today!");
+                System.out.println("All slots are booked.");
+                // Return the patient to the list
+                patients.add(selectedPatient);
+                return;
+            }
+            appointmentTime = "";
         } else {
-            // For SCHEDULED patients, allow time slot selection
-            System.out.println("\nAvailable Time Slots:");
-            for (int i = 0; i < availableSlots.length; i++) {
-                System.out.println((i + 1) + ". " + availableSlots[i]);
+            // For SCHEDULED patients, pick a date and one of the doctor's free slots on it
+            appointmentDate = readAppointmentDate();
+            if (appointmentDate == null) {
+                // Return the patient to the list
+                patients.add(selectedPatient);
+                return;
             }
-            
-            System.out.print("Select time slot (1-" + availableSlots.length + "): ");
-            int slotChoice = scanner.nextInt(); scanner.nextLine();
-            
-            if (slotChoice < 1 || slotChoice > availableSlots.length) {
-                System.out.println("Invalid time slot selection!");
+            appointmentTime = selectDoctorTimeSlot(doctorId, appointmentDate);
+            if (appointmentTime == null) {
                 // Return the patient to the list
                 patients.add(selectedPatient);
                 return;
             }
-            
-            appointmentTime = availableSlots[slotChoice - 1];
         }
         
         // Extract symptoms from patient dialogue
@@ -301,13 +296,23 @@ public class ConsultationUI {
         String consultationId = consultationControl.generateConsultationId();
         String doctorName2 = getDoctorName(doctorId);
         Consultation consultation = new Consultation(consultationId, patientId, selectedPatient.getName(), doctorId, doctorName2,
-                                                   appointmentTime, symptoms, queueType);
+                                                   appointmentDate, appointmentTime, symptoms, queueType);
         consultationControl.addConsultation(consultation);
+        
+        if (queueType == QueueType.WALK_IN) {
+            System.out.println("\n=== WALK-IN PATIENT - AUTO TIME SLOT ASSIGNMENT ===");
+            System.out.println("================================================================================================================");
+            System.out.printf("| Auto-assigned Time Slot: %-15s | Queue Type: %-15s |\n", consultation.getAppointmentTime(), queueType);
+            System.out.println("|==============================================================================================================|");
+            System.out.printf("| Patient: %-20s | Doctor: %-20s |\n", selectedPatient.getName(), doctorName2);
+            System.out.println("================================================================================================================");
+        }
                     System.out.println("Consultation added successfully!");
         System.out.println("   Consultation ID: " + consultationId);
         System.out.println("   Patient: " + selectedPatient.getName());
         System.out.println("   Doctor: " + doctorName2);
-        System.out.println("   Time: " + appointmentTime);
+        System.out.println("   Date: " + consultation.getAppointmentDate());
+        System.out.println("   Time: " + consultation.getAppointmentTime());
         System.out.println("   Type: " + queueType);
         System.out.println("   Symptoms extracted: " + symptoms);
         System.out.println("Auto-diagnosis: " + consultation.getDiagnosis());
@@ -332,7 +337,7 @@ public class ConsultationUI {
             Consultation consultation = consultations.get(i);
             String patientInfo = String.format("%s (%s)", consultation.getPatientId(), consultation.getPatientName());
             String doctorInfo = String.format("%s (%s)", consultation.getDoctorId(), consultation.getDoctorName());
-            String waitInfo = consultation.getStatus().equals("WAITING") ? 
+            String waitInfo = consultation.getStatus() == ConsultationStatus.WAITING ? 
                 String.format(" (%d min)", consultation.getEstimatedWaitingMinutes()) : "";
             
             System.out.printf("| %-15s | %-23s | %-24s | %-5s | %-9s | %-9s | %s\n",
@@ -391,12 +396,11 @@ public class ConsultationUI {
         }
     }
     
-    private String getPriorityLevel(String queueType) {
-        return switch (queueType.toUpperCase()) {
-            case "EMERGENCY" -> "HIGHEST";
-            case "SCHEDULED" -> "HIGH";
-            case "WALK_IN" -> "NORMAL";
-            default -> "UNKNOWN";
+    private String getPriorityLevel(QueueType queueType) {
+        return switch (queueType) {
+            case EMERGENCY -> "HIGHEST";
+            case SCHEDULED -> "HIGH";
+            case WALK_IN -> "NORMAL";
         };
     }
     
@@ -432,16 +436,16 @@ public class ConsultationUI {
         System.out.print("Enter choice: ");
         int choice = scanner.nextInt(); scanner.nextLine();
         
-        String queueType = switch (choice) {
-            case 1 -> "EMERGENCY";
-            case 2 -> "WALK_IN";
-            case 3 -> "SCHEDULED";
-            default -> "WALK_IN";
+        QueueType queueType = switch (choice) {
+            case 1 -> QueueType.EMERGENCY;
+            case 2 -> QueueType.WALK_IN;
+            case 3 -> QueueType.SCHEDULED;
+            default -> QueueType.WALK_IN;
         };
         
         ListInterface<Consultation> queueConsultations = consultationControl.getConsultationsByQueueType(queueType);
         if (queueConsultations.isEmpty()) {
-            System.out.println("No " + queueType.toLowerCase() + " consultations found.");
+            System.out.println("No " + queueType.name().toLowerCase() + " consultations found.");
             return;
         }
         
@@ -454,7 +458,7 @@ public class ConsultationUI {
             Consultation consultation = queueConsultations.get(i);
             String patientInfo = String.format("%s (%s)", consultation.getPatientId(), consultation.getPatientName());
             String doctorInfo = String.format("%s (%s)", consultation.getDoctorId(), consultation.getDoctorName());
-            String waitInfo = consultation.getStatus().equals("WAITING") ? 
+            String waitInfo = consultation.getStatus() == ConsultationStatus.WAITING ? 
                 String.format(" (%d min)", consultation.getEstimatedWaitingMinutes()) : "";
             
             System.out.printf("| %-15s | %-23s | %-24s | %-5s | %-9s | %-9s | %s\n",
@@ -473,10 +477,12 @@ public class ConsultationUI {
         System.out.print("Enter Patient ID or Name: ");
         String searchQuery = scanner.nextLine();
         
-        // Use linear search with custom iterator
-        ListInterface<Consultation> allConsultations = consultationControl.getAllConsultations();
+        // Indexed search over all consultations; a partial ID or name falls back to autocomplete
         MyArrayList<LinearSearch.SearchResult<Consultation>> searchResults = 
-            LinearSearch.search(searchQuery, allConsultations);
+            consultationControl.searchConsultations(searchQuery);
+        if (searchResults.isEmpty()) {
+            searchResults = consultationControl.searchConsultationsStartingWith(searchQuery, MAX_SUGGESTIONS);
+        }
         
         if (searchResults.isEmpty()) {
             System.out.println("No consultations found for this patient.");
@@ -494,7 +500,7 @@ public class ConsultationUI {
             Consultation consultation = result.item;
             String patientInfo = String.format("%s (%s)", consultation.getPatientId(), consultation.getPatientName());
             String doctorInfo = String.format("%s (%s)", consultation.getDoctorId(), consultation.getDoctorName());
-            String waitInfo = consultation.getStatus().equals("WAITING") ? 
+            String waitInfo = consultation.getStatus() == ConsultationStatus.WAITING ? 
                 String.format(" (%d min)", consultation.getEstimatedWaitingMinutes()) : "";
             
             System.out.printf("| %-15s | %-23s | %-24s | %-5s | %-9s | %-9s | %s\n",
@@ -513,10 +519,9 @@ public class ConsultationUI {
         System.out.print("Enter Doctor ID or Name: ");
         String searchQuery = scanner.nextLine();
         
-        // Use linear search with custom iterator
-        ListInterface<Consultation> allConsultations = consultationControl.getAllConsultations();
+        // Indexed search over all consultations
         MyArrayList<LinearSearch.SearchResult<Consultation>> searchResults = 
-            LinearSearch.search(searchQuery, allConsultations);
+            consultationControl.searchConsultations(searchQuery);
         
         if (searchResults.isEmpty()) {
             System.out.println("No consultations found for this doctor.");
@@ -534,7 +539,7 @@ public class ConsultationUI {
             Consultation consultation = result.item;
             String patientInfo = String.format("%s (%s)", consultation.getPatientId(), consultation.getPatientName());
             String doctorInfo = String.format("%s (%s)", consultation.getDoctorId(), consultation.getDoctorName());
-            String waitInfo = consultation.getStatus().equals("WAITING") ? 
+            String waitInfo = consultation.getStatus() == ConsultationStatus.WAITING ? 
                 String.format(" (%d min)", consultation.getEstimatedWaitingMinutes()) : "";
             
             System.out.printf("| %-15s | %-23s | %-24s | %-5s | %-9s | %-9s | %s\n",
@@ -553,10 +558,9 @@ public class ConsultationUI {
         System.out.print("Enter symptom to search for: ");
         String symptom = scanner.nextLine();
         
-        // Use linear search with custom iterator
-        ListInterface<Consultation> allConsultations = consultationControl.getAllConsultations();
+        // Indexed search over all consultations
         MyArrayList<LinearSearch.SearchResult<Consultation>> searchResults = 
-            LinearSearch.search(symptom, allConsultations);
+            consultationControl.searchConsultations(symptom);
         
         if (searchResults.isEmpty()) {
             System.out.println("No consultations found with this symptom.");
@@ -573,7 +577,7 @@ public class ConsultationUI {
             Consultation consultation = result.item;
             String patientInfo = String.format("%s (%s)", consultation.getPatientId(), consultation.getPatientName());
             String doctorInfo = String.format("%s (%s)", consultation.getDoctorId(), consultation.getDoctorName());
-            String waitInfo = consultation.getStatus().equals("WAITING") ? 
+            String waitInfo = consultation.getStatus() == ConsultationStatus.WAITING ? 
                 String.format(" (%d min)", consultation.getEstimatedWaitingMinutes()) : "";
             
             System.out.printf("| %-15s | %-23s | %-24s | %-5s | %-9s | %-9s | %s\n",
@@ -631,6 +635,7 @@ public class ConsultationUI {
         System.out.println("   Doctor: " + selectedConsultation.getDoctorName());
         System.out.println("   Status: " + selectedConsultation.getStatus());
         System.out.println("   Type: " + selectedConsultation.getQueueType());
+        System.out.println("   Date: " + selectedConsultation.getAppointmentDate());
         System.out.println("   Time: " + selectedConsultation.getAppointmentTime());
         
         System.out.print("Confirm removal? (y/n): ");
@@ -693,10 +698,11 @@ public class ConsultationUI {
         System.out.println("   Patient: " + selectedConsultation.getPatientName());
         System.out.println("   Current Status: " + selectedConsultation.getStatus());
         System.out.println("   Current Type: " + selectedConsultation.getQueueType());
+        System.out.println("   Current Date: " + selectedConsultation.getAppointmentDate());
         System.out.println("   Current Time: " + selectedConsultation.getAppointmentTime());
         
         // Special handling for Emergency patients
-        if (selectedConsultation.getQueueType().equals("EMERGENCY")) {
+        if (selectedConsultation.getQueueType() == QueueType.EMERGENCY) {
             System.out.println("\nEMERGENCY PATIENT - Limited Options Available:");
             System.out.println("Emergency patients cannot change queue type.");
             System.out.println("1. Cancel Emergency Consultation");
@@ -708,7 +714,7 @@ public class ConsultationUI {
             switch (emergencyChoice) {
                 case 1 -> {
                     // Cancel Emergency
-                    boolean success = consultationControl.updateConsultationStatus(consultationId, "CANCELLED");
+                    boolean success = consultationControl.updateConsultationStatus(consultationId, ConsultationStatus.CANCELLED);
                     if (success) {
                         System.out.println("Emergency consultation cancelled.");
                         System.out.println("Emergency slot freed up for other patients");
@@ -759,27 +765,24 @@ public class ConsultationUI {
                 System.out.print("Enter choice: ");
                 int typeChoice = scanner.nextInt(); scanner.nextLine();
                 
-                String newType = switch (typeChoice) {
-                    case 1 -> "WALK_IN";
-                    case 2 -> "SCHEDULED";
+                QueueType newType = switch (typeChoice) {
+                    case 1 -> QueueType.WALK_IN;
+                    case 2 -> QueueType.SCHEDULED;
                     default -> selectedConsultation.getQueueType();
                 };
                 
-                if (!newType.equals(selectedConsultation.getQueueType())) {
-                    // Remove from current list and add to appropriate list
-                    consultationControl.removeConsultation(consultationId);
-                    
-                    // Update queue type
-                    selectedConsultation.setQueueType(newType);
-                    
-                    // Add back to appropriate list
-                    consultationControl.addConsultation(selectedConsultation);
-                    
-                    System.out.println("Queue type changed to: " + newType);
-                    
-                    // If changing to WALK_IN, remove time slot reservation
-                    if (newType.equals("WALK_IN")) {
-                        System.out.println("Time slot reservation removed (Walk-in patients don't reserve slots)");
+                if (newType != selectedConsultation.getQueueType()) {
+                    // Move to the appropriate list
+                    boolean success = consultationControl.changeQueueType(consultationId, newType);
+                    if (success) {
+                        System.out.println("Queue type changed to: " + newType);
+                        
+                        // If changing to WALK_IN, remove time slot reservation
+                        if (newType == QueueType.WALK_IN) {
+                            System.out.println("Time slot reservation removed (Walk-in patients don't reserve slots)");
+                        }
+                    } else {
+                        System.out.println("Failed to change queue type");
                     }
                 } else {
                     System.out.println("No change made (same type selected)");
@@ -793,17 +796,17 @@ public class ConsultationUI {
                 System.out.print("Enter choice: ");
                 int statusChoice = scanner.nextInt(); scanner.nextLine();
                 
-                String newStatus = switch (statusChoice) {
-                    case 1 -> "WAITING";
-                    case 2 -> "CANCELLED";
+                ConsultationStatus newStatus = switch (statusChoice) {
+                    case 1 -> ConsultationStatus.WAITING;
+                    case 2 -> ConsultationStatus.CANCELLED;
                     default -> selectedConsultation.getStatus();
                 };
                 
-                if (!newStatus.equals(selectedConsultation.getStatus())) {
+                if (newStatus != selectedConsultation.getStatus()) {
                     boolean success = consultationControl.updateConsultationStatus(consultationId, newStatus);
                     if (success) {
                         System.out.println("Status changed to: " + newStatus);
-                        if (newStatus.equals("CANCELLED")) {
+                        if (newStatus == ConsultationStatus.CANCELLED) {
                             System.out.println("   Time slot reservation released");
                         }
                     } else {
@@ -853,12 +856,64 @@ public class ConsultationUI {
         return "General Symptoms";
     }
 
+    // Appointment date from yyyy-MM-dd input, today on Enter; null if invalid or in the past
+    private LocalDate readAppointmentDate() {
+        System.out.print("Enter appointment date (yyyy-MM-dd, Enter for today): ");
+        String input = scanner.nextLine().trim();
+        if (input.isEmpty()) {
+            return LocalDate.now();
+        }
+        try {
+            LocalDate date = LocalDate.parse(input);
+            if (date.isBefore(LocalDate.now())) {
+                System.out.println("Appointment date cannot be in the past!");
+                return null;
+            }
+            return date;
+        } catch (DateTimeParseException e) {
+            System.out.println("Invalid date format! Use yyyy-MM-dd.");
+            return null;
+        }
+    }
+
+    // Lists the doctor's free slots on the date and reads a slot number or an HH:mm time; null if none is free
+    private String selectDoctorTimeSlot(String doctorId, LocalDate date) {
+        String[] availableSlots = consultationControl.getAvailableTimeSlots(doctorId, date);
+        if (availableSlots.length == 0) {
+            System.out.println("No available time slots for " + getDoctorName(doctorId) + " on " + date + "!");
+            return null;
+        }
+        
+        System.out.println("\nAvailable Time Slots for " + getDoctorName(doctorId) + " on " + date + ":");
+        for (int i = 0; i < availableSlots.length; i++) {
+            System.out.println((i + 1) + ". " + availableSlots[i]);
+        }
+        
+        System.out.print("Select time slot (1-" + availableSlots.length + ") or enter a time (HH:mm): ");
+        String input = scanner.nextLine().trim();
+        String appointmentTime = input;
+        if (!input.contains(":")) {
+            try {
+                int slotChoice = Integer.parseInt(input);
+                if (slotChoice < 1 || slotChoice > availableSlots.length) {
+                    System.out.println("Invalid time slot selection!");
+                    return null;
+                }
+                appointmentTime = availableSlots[slotChoice - 1];
+            } catch (NumberFormatException e) {
+                System.out.println("Invalid time slot selection!");
+                return null;
+            }
+        }
+        if (!consultationControl.isTimeSlotAvailable(doctorId, date, appointmentTime)) {
+            System.out.println(getDoctorName(doctorId) + " is not available at " + appointmentTime + " on " + date + "!");
+            return null;
+        }
+        return appointmentTime;
+    }
+
     private String getDoctorName(String doctorId) {
-        return switch (doctorId) {
-            case "D001" -> "Dr. Smith";
-            case "D002" -> "Dr. Johnson";
-            default -> "Dr. Unknown";
-        };
+        return consultationControl.getDoctorName(doctorId);
     }
 
 
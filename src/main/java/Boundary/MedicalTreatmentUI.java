@@ -9,10 +9,13 @@ import Control.ConsultationManagement;
 import Control.MedicineMaintenance;
 import Entity.MedicalTreatment;
 import Entity.Consultation;
+import Entity.ConsultationStatus;
 import Entity.Medicine;
+import Entity.TreatmentStatus;
 import ADT.ListInterface;
 import ADT.MyArrayList;
 import Utility.LinearSearch;
+import Utility.Money;
 import java.util.Scanner;
 
 /**
@@ -20,6 +23,7 @@ import java.util.Scanner;
  * @author yapjinkai
  */
 public class MedicalTreatmentUI {
+    private static final int MAX_SUGGESTIONS = 10;   // Autocomplete matches listed at an ID prompt
     private final Scanner scanner = new Scanner(System.in);
     private final MedicalTreatmentManagement treatmentControl;
     private final ConsultationManagement consultationControl;
@@ -41,6 +45,8 @@ public class MedicalTreatmentUI {
             System.out.println("4. Search by Diagnosis");
             System.out.println("5. Update Treatment Status");
             System.out.println("6. Generate Reports");
+            System.out.println("7. Archive Paid Treatments");
+            System.out.println("8. Update Treatment Cost");
             System.out.println("0. Exit");
             System.out.print("Enter choice: ");
             choice = scanner.nextInt(); scanner.nextLine();
@@ -52,6 +58,8 @@ public class MedicalTreatmentUI {
                 case 4 -> searchByDiagnosis();
                 case 5 -> updateTreatmentStatus();
                 case 6 -> generateReports();
+                case 7 -> archivePaidTreatments();
+                case 8 -> updateTreatmentCost();
                 case 0 -> System.out.println("Exiting...");
                 default -> System.out.println("Invalid choice.");
             }
@@ -109,22 +117,22 @@ public class MedicalTreatmentUI {
         System.out.println("|==============================================================================================================|");
         
         // COST DETAILS
-        double suggestedCost = calculateSuggestedCost(diagnosis);
+        long suggestedCost = calculateSuggestedCost(diagnosis);
         System.out.println("| COST DETAILS                                                                                                 |");
         System.out.println("|==============================================================================================================|");
-        System.out.printf("| Suggested Cost: RM%-10.2f                                                                                    |\n", suggestedCost);
+        System.out.printf("| Suggested Cost: RM%-10s                                                                                    |\n", Money.format(suggestedCost));
         System.out.println("|==============================================================================================================|");
         
         System.out.print("| Enter Treatment Cost (or press Enter to use suggestion): RM");
         String costInput = scanner.nextLine();
-        double cost;
+        long cost;
         
         if (costInput.trim().isEmpty()) {
             cost = suggestedCost;
-            System.out.println("| Using suggested cost: RM" + String.format("%.2f", cost));
+            System.out.println("| Using suggested cost: RM" + Money.format(cost));
         } else {
             try {
-                cost = Double.parseDouble(costInput);
+                cost = Money.parse(costInput);
             } catch (NumberFormatException e) {
                 System.out.println("| Invalid cost format. Using suggested cost.");
                 cost = suggestedCost;
@@ -147,20 +155,20 @@ public class MedicalTreatmentUI {
         treatmentControl.addTreatment(treatment);
         
         // Automatically change treatment status to COMPLETED for revenue tracking
-        boolean treatmentStatusUpdated = treatmentControl.updateTreatmentStatus(treatmentId, "COMPLETED");
+        boolean treatmentStatusUpdated = treatmentControl.updateTreatmentStatus(treatmentId, TreatmentStatus.COMPLETED);
         
         // Automatically change consultation status to COMPLETED
-        boolean consultationStatusUpdated = consultationControl.updateConsultationStatus(consultationId, "COMPLETED");
+        boolean consultationStatusUpdated = consultationControl.updateConsultationStatus(consultationId, ConsultationStatus.COMPLETED);
         
         // SUCCESS SUMMARY
         System.out.println("| TREATMENT SUCCESS SUMMARY                                                                                   |");
         System.out.println("|==============================================================================================================|");
         System.out.printf("| Treatment ID: %-15s | Status: %-15s |\n", treatmentId, "COMPLETED");
-        System.out.printf("| Cost: RM%-10.2f | Prescription: %-15s |\n", cost, "Ready for dispensing");
+        System.out.printf("| Cost: RM%-10s | Prescription: %-15s |\n", Money.format(cost), "Ready for dispensing");
         System.out.println("|==============================================================================================================|");
         
         if (treatmentStatusUpdated) {
-            System.out.printf("| Treatment cost: RM%-10.2f |\n", cost);
+            System.out.printf("| Treatment cost: RM%-10s |\n", Money.format(cost));
         }
         
         if (consultationStatusUpdated) {
@@ -197,20 +205,20 @@ public class MedicalTreatmentUI {
         System.out.printf("| Treatment ID: %-15s | Diagnosis: %-15s |\n", treatmentId, diagnosis);
         System.out.println("|==============================================================================================================|");
         
-        double totalPrescriptionValue = 0.0;
+        long totalPrescriptionValue = 0L;
         
         for (int i = 0; i < medicines.size(); i++) {
             Medicine medicine = medicines.get(i);
             int quantity = calculateQuantityForMedicine(medicine, diagnosis);
-            double medicineValue = medicineControl.calculateRevenueFromMedicine(medicine.getMedicineID(), quantity);
+            long medicineValue = medicineControl.calculateRevenueFromMedicine(medicine.getMedicineID(), quantity);
             totalPrescriptionValue += medicineValue;
             
-            System.out.printf("| %-20s | %-3d units | Price: RM%-8.2f | Stock: %-3d |\n",
-                medicine.getName(), quantity, medicineValue, medicine.getStock());
+            System.out.printf("| %-20s | %-3d units | Price: RM%-8s | Stock: %-3d |\n",
+                medicine.getName(), quantity, Money.format(medicineValue), medicine.getStock());
         }
         
         System.out.println("|==============================================================================================================|");
-        System.out.printf("| Total prescription value: RM%-10.2f |\n", totalPrescriptionValue);
+        System.out.printf("| Total prescription value: RM%-10s |\n", Money.format(totalPrescriptionValue));
         System.out.println("| Prescription ready for pharmacy processing |");
         System.out.println("| Please proceed to Pharmacy Management for payment |");
         System.out.println("================================================================================================================");
@@ -236,14 +244,7 @@ public class MedicalTreatmentUI {
 
     // Check if treatment already exists for consultation
     private boolean treatmentExistsForConsultation(String consultationId) {
-        ListInterface<MedicalTreatment> allTreatments = treatmentControl.getAllTreatments();
-        for (int i = 0; i < allTreatments.size(); i++) {
-            MedicalTreatment treatment = allTreatments.get(i);
-            if (treatment.getConsultationId().equals(consultationId)) {
-                return true;
-            }
-        }
-        return false;
+        return treatmentControl.hasTreatmentForConsultation(consultationId);
     }
 
     // Suggest prescription based on diagnosis with quantity and revenue
@@ -252,41 +253,31 @@ public class MedicalTreatmentUI {
         return medicineControl.suggestPrescriptionWithQuantity(diagnosis);
     }
 
-    // Calculate suggested cost based on diagnosis 
-    private double calculateSuggestedCost(String diagnosis) {
+    // Calculate suggested cost (in cents) based on diagnosis 
+    private long calculateSuggestedCost(String diagnosis) {
         return switch (diagnosis.toLowerCase()) {
-            case "fever" -> 15.00;
-            case "common cold" -> 18.00;
-            case "headache" -> 12.00;
-            case "gastritis" -> 20.00;
-            case "pain management" -> 25.00;
-            case "dizziness" -> 30.00;
-            case "nausea" -> 15.00;
-            case "fatigue" -> 35.00;
-            case "sore throat" -> 10.00;
-            case "back pain" -> 40.00;
-            default -> 18.00;
+            case "fever" -> 1500;
+            case "common cold" -> 1800;
+            case "headache" -> 1200;
+            case "gastritis" -> 2000;
+            case "pain management" -> 2500;
+            case "dizziness" -> 3000;
+            case "nausea" -> 1500;
+            case "fatigue" -> 3500;
+            case "sore throat" -> 1000;
+            case "back pain" -> 4000;
+            default -> 1800;
         };
     }
 
     private void viewTreatmentHistoryByPatient() {
-        // First, show all treatments to see available patients
-        ListInterface<MedicalTreatment> allTreatments = treatmentControl.getAllTreatments();
-        if (allTreatments.isEmpty()) {
+        // Get unique patients from the patient index and the archive
+        ListInterface<String> uniquePatients = treatmentControl.getPatientsWithTreatments();
+        if (uniquePatients.isEmpty()) {
             System.out.println("No treatments found.");
             return;
         }
         
-        // Get unique patients from treatments
-        MyArrayList<String> uniquePatients = new MyArrayList<>();
-        for (int i = 0; i < allTreatments.size(); i++) {
-            MedicalTreatment treatment = allTreatments.get(i);
-            String patientId = treatment.getPatientId();
-            if (!uniquePatients.contains(patientId)) {
-                uniquePatients.add(patientId);
-            }
-        }
-        
         System.out.println("\n=== All Patients with Treatments (for reference) ===");
         System.out.println("================================================================================================================");
         System.out.println("| #  | Patient ID | Patient Name        | Total Treatments |");
@@ -296,13 +287,7 @@ public class MedicalTreatmentUI {
             String patientId = uniquePatients.get(i);
             String patientName = getPatientNameFromId(patientId);
             
-            // Count treatments for this patient
-            int treatmentCount = 0;
-            for (int j = 0; j < allTreatments.size(); j++) {
-                if (allTreatments.get(j).getPatientId().equals(patientId)) {
-                    treatmentCount++;
-                }
-            }
+            int treatmentCount = treatmentControl.getTreatmentCountByPatient(patientId);
             
             System.out.printf("| %-2d | %-10s | %-18s | %-16d |\n",
                 (i + 1), patientId, patientName, treatmentCount);
@@ -339,7 +324,7 @@ public class MedicalTreatmentUI {
                 treatment.getTreatmentDate(),
                 treatment.getDiagnosis(),
                 treatment.getStatus(),
-                String.format("%.2f", treatment.getCost()),
+                Money.format(treatment.getCostCents()),
                 treatment.getPrescription());
         }
         System.out.println("================================================================================================================");
@@ -353,6 +338,7 @@ public class MedicalTreatmentUI {
         }
         
         System.out.println("\n=== All Treatments ===");
+        printArchivedNote();
         System.out.println("================================================================================================================");
         System.out.println("| #  | Treatment ID | Patient ID (Name)        | Doctor ID (Name)         | Date       | Diagnosis | Status   | Cost    |");
         System.out.println("================================================================================================================");
@@ -371,7 +357,7 @@ public class MedicalTreatmentUI {
                 treatment.getTreatmentDate(),
                 treatment.getDiagnosis(),
                 treatment.getStatus(),
-                String.format("%.2f", treatment.getCost()));
+                Money.format(treatment.getCostCents()));
         }
         System.out.println("================================================================================================================");
     }
@@ -425,9 +411,9 @@ public class MedicalTreatmentUI {
         
         String diagnosis = uniqueDiagnoses.get(choice - 1);
         
-        // Use linear search with custom iterator
+        // Indexed search over all treatments
         MyArrayList<LinearSearch.SearchResult<MedicalTreatment>> searchResults = 
-            LinearSearch.search(diagnosis, allTreatments);
+            treatmentControl.searchTreatments(diagnosis);
         
         if (searchResults.isEmpty()) {
             System.out.println("No treatments found with this diagnosis.");
@@ -436,6 +422,7 @@ public class MedicalTreatmentUI {
         
         System.out.println("\n=== Treatments for diagnosis containing '" + diagnosis + "' (Linear Search) ===");
         System.out.println("(Using Linear Search with Custom Iterator)");
+        printArchivedNote();
         System.out.println("================================================================================================================");
         System.out.println("| Treatment ID | Patient ID (Name)        | Doctor ID (Name)         | Date       | Diagnosis | Status   | Cost    |");
         System.out.println("================================================================================================================");
@@ -454,7 +441,7 @@ public class MedicalTreatmentUI {
                 treatment.getTreatmentDate(),
                 treatment.getDiagnosis(),
                 treatment.getStatus(),
-                String.format("%.2f", treatment.getCost()));
+                Money.format(treatment.getCostCents()));
         }
         System.out.println("================================================================================================================");
     }
@@ -488,7 +475,7 @@ public class MedicalTreatmentUI {
                 treatment.getTreatmentDate(),
                 treatment.getDiagnosis(),
                 treatment.getStatus(),
-                String.format("%.2f", treatment.getCost()));
+                Money.format(treatment.getCostCents()));
         }
         System.out.println("================================================================================================================");
         
@@ -509,7 +496,7 @@ public class MedicalTreatmentUI {
         System.out.println("   Doctor: " + selectedTreatment.getDoctorId() + " (" + getDoctorNameFromId(selectedTreatment.getDoctorId()) + ")");
         System.out.println("   Current Status: " + selectedTreatment.getStatus());
         System.out.println("   Diagnosis: " + selectedTreatment.getDiagnosis());
-        System.out.println("   Cost: RM" + String.format("%.2f", selectedTreatment.getCost()));
+        System.out.println("   Cost: RM" + Money.format(selectedTreatment.getCostCents()));
         
         System.out.println("\nSelect new status:");
         System.out.println("1. PLANNED");
@@ -517,10 +504,10 @@ public class MedicalTreatmentUI {
         System.out.print("Enter choice: ");
         int statusChoice = scanner.nextInt(); scanner.nextLine();
         
-        String newStatus = switch (statusChoice) {
-            case 1 -> "PLANNED";
-            case 2 -> "CANCELLED";
-            default -> "PLANNED";
+        TreatmentStatus newStatus = switch (statusChoice) {
+            case 1 -> TreatmentStatus.PLANNED;
+            case 2 -> TreatmentStatus.CANCELLED;
+            default -> TreatmentStatus.PLANNED;
         };
         
         System.out.println("\nStatus Change Summary:");
@@ -534,22 +521,78 @@ public class MedicalTreatmentUI {
             if (success) {
                 System.out.println("Status updated successfully!");
             } else {
-                System.out.println("Treatment not found.");
+                System.out.println("Treatment not found or status change not allowed.");
             }
         } else {
             System.out.println("Status update cancelled.");
         }
     }
 
+    private void updateTreatmentCost() {
+        System.out.println("\n=== Update Treatment Cost ===");
+        MedicalTreatment treatment = selectTreatment();
+        if (treatment == null) {
+            return;
+        }
+        
+        System.out.println("   Patient: " + treatment.getPatientId() + " (" + getPatientNameFromId(treatment.getPatientId()) + ")");
+        System.out.println("   Diagnosis: " + treatment.getDiagnosis());
+        System.out.println("   Status: " + treatment.getStatus());
+        System.out.println("   Current Cost: RM" + Money.format(treatment.getCostCents()));
+        System.out.print("Enter New Cost: RM");
+        long newCost;
+        try {
+            newCost = Money.parse(scanner.nextLine());
+        } catch (NumberFormatException e) {
+            System.out.println("Invalid cost format. Cost not changed.");
+            return;
+        }
+        
+        if (treatmentControl.updateTreatmentCost(treatment.getTreatmentId(), newCost)) {
+            System.out.println("Cost updated to RM" + Money.format(newCost) + ".");
+        } else {
+            System.out.println("Cost not changed: the treatment has already been paid.");
+        }
+    }
+
+    // Picks a treatment by its full ID, or by the start of its treatment or patient ID
+    private MedicalTreatment selectTreatment() {
+        System.out.print("Enter Treatment ID or the start of a treatment or patient ID: ");
+        String input = scanner.nextLine().trim();
+        MedicalTreatment treatment = treatmentControl.getTreatmentById(input);
+        if (treatment != null) {
+            return treatment;
+        }
+        
+        MyArrayList<LinearSearch.SearchResult<MedicalTreatment>> matches =
+            treatmentControl.searchTreatmentsStartingWith(input, MAX_SUGGESTIONS);
+        if (matches.isEmpty()) {
+            System.out.println("Treatment not found: " + input);
+            return null;
+        }
+        if (matches.size() == 1) {
+            return matches.get(0).item;
+        }
+        for (int i = 0; i < matches.size(); i++) {
+            MedicalTreatment match = matches.get(i).item;
+            System.out.printf("| %-2d | %-12s | %-10s | %-15s | %-9s | RM%-6s |\n", (i + 1), match.getTreatmentId(),
+                match.getPatientId(), match.getDiagnosis(), match.getStatus(), Money.format(match.getCostCents()));
+        }
+        System.out.print("Select treatment (1-" + matches.size() + "): ");
+        int choice = scanner.nextInt(); scanner.nextLine();
+        if (choice < 1 || choice > matches.size()) {
+            System.out.println("Invalid selection!");
+            return null;
+        }
+        return matches.get(choice - 1).item;
+    }
+
     // Helper method to get patient name from ID using consultation data
     private String getPatientNameFromId(String patientId) {
         // Try to get patient name from consultation data first
-        ListInterface<Consultation> allConsultations = consultationControl.getAllConsultations();
-        for (int i = 0; i < allConsultations.size(); i++) {
-            Consultation consultation = allConsultations.get(i);
-            if (consultation.getPatientId().equals(patientId)) {
-                return consultation.getPatientName();
-            }
+        ListInterface<Consultation> patientConsultations = consultationControl.getConsultationsByPatient(patientId);
+        if (!patientConsultations.isEmpty()) {
+            return patientConsultations.get(0).getPatientName();
         }
         
         // If not found in consultations, return a generic name
@@ -558,11 +601,7 @@ public class MedicalTreatmentUI {
 
     // Helper method to get doctor name from ID
     private String getDoctorNameFromId(String doctorId) {
-        return switch (doctorId) {
-            case "D001" -> "Dr. Smith";
-            case "D002" -> "Dr. Johnson";
-            default -> "Dr. Unknown";
-        };
+        return consultationControl.getDoctorName(doctorId);
     }
 
     private void generateReports() {
@@ -570,4 +609,19 @@ public class MedicalTreatmentUI {
         System.out.println("Generating General Treatment Report...");
         treatmentControl.generateTreatmentReport();
     }
+
+    // Lists and searches only cover the treatments still in memory
+    private void printArchivedNote() {
+        int archived = treatmentControl.getArchivedTreatmentCount();
+        if (archived > 0) {
+            System.out.println("(Open treatments only; " + archived + " archived paid treatment(s) appear in patient histories and reports)");
+        }
+    }
+
+    private void archivePaidTreatments() {
+        int archived = treatmentControl.archiveFinalTreatments();
+        System.out.println("\n=== Archive Paid Treatments ===");
+        System.out.println("Archived " + archived + " paid treatment(s); "
+            + treatmentControl.getArchivedTreatmentCount() + " treatment(s) in the archive.");
+    }
 }
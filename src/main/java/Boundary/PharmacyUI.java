@@ -10,9 +10,12 @@ import Control.MedicineMaintenance;
 import Control.MedicalTreatmentManagement;
 import Control.ConsultationManagement;
 import Entity.Medicine;
+import Entity.MedicineLot;
 import Entity.MedicalTreatment;
 import Entity.Consultation;
+import Entity.TreatmentStatus;
 import Utility.LinearSearch;
+import Utility.Money;
 import java.util.Scanner;
 
 /**
@@ -20,6 +23,7 @@ import java.util.Scanner;
  * @author yapjinkai
  */
 public class PharmacyUI {
+    private static final int MAX_SUGGESTIONS = 10;   // Autocomplete matches listed at an ID prompt
     private final Scanner scanner = new Scanner(System.in);
     private final MedicineMaintenance medicineControl;
     private final MedicalTreatmentManagement treatmentControl;
@@ -49,6 +53,8 @@ public class PharmacyUI {
             System.out.println("9. Get Medicines for Diagnosis");
             System.out.println("10. Manage Diagnosis-Medicine Relationships");
             System.out.println("11. Dispensed Medicine Summary Report");
+            System.out.println("12. Receive Medicine Delivery");
+            System.out.println("13. View Medicine Lots");
             System.out.println("0. Exit");
             System.out.print("Enter choice: ");
             choice = scanner.nextInt(); scanner.nextLine();
@@ -65,6 +71,8 @@ public class PharmacyUI {
                 case 9 -> getMedicinesForDiagnosis();
                 case 10 -> manageDiagnosisMedicineRelationships();
                 case 11 -> dispensedMedicineSummaryReport();
+                case 12 -> receiveDelivery();
+                case 13 -> viewLots();
                 case 0 -> System.out.println("Exiting...");
                 default -> System.out.println("Invalid choice.");
             }
@@ -103,7 +111,10 @@ public class PharmacyUI {
         String expiry = scanner.nextLine();
 
         Medicine med = new Medicine(id, name, category, stock, expiry);
-        medicineControl.addMedicine(med);
+        if (!medicineControl.addMedicine(med)) {
+            System.out.println("\nMedicine ID " + id + " is already listed. Medicine not added.");
+            return;
+        }
         
         System.out.println("\nMedicine added successfully!");
         System.out.println("   ID: " + id);
@@ -113,8 +124,8 @@ public class PharmacyUI {
         System.out.println("   Expiry: " + expiry);
         
         // Show potential revenue
-        double basePrice = medicineControl.calculateRevenueFromMedicine(id, 1);
-        System.out.println("   Base Price: RM" + String.format("%.2f", basePrice));
+        long basePrice = medicineControl.calculateRevenueFromMedicine(id, 1);
+        System.out.println("   Base Price: RM" + Money.format(basePrice));
     }
 
     private void viewMedicines() {
@@ -131,16 +142,16 @@ public class PharmacyUI {
         
         for (int i = 0; i < list.size(); i++) {
             Medicine medicine = list.get(i);
-            double basePrice = medicineControl.calculateRevenueFromMedicine(medicine.getMedicineID(), 1);
+            long basePrice = medicineControl.calculateRevenueFromMedicine(medicine.getMedicineID(), 1);
             
-            System.out.printf("| %-2d | %-11s | %-22s | %-15s | %-5d | %-11s | RM%-8.2f |\n",
+            System.out.printf("| %-2d | %-11s | %-22s | %-15s | %-5d | %-11s | RM%-8s |\n",
                 (i + 1),
                 medicine.getMedicineID(),
                 medicine.getName(),
                 medicine.getCategory(),
                 medicine.getStock(),
                 medicine.getExpiryDate(),
-                basePrice);
+                Money.format(basePrice));
         }
         System.out.println("================================================================================================================");
         System.out.printf("Total Medicines: %d\n", list.size());
@@ -150,10 +161,9 @@ public class PharmacyUI {
         System.out.print("Enter medicine name to search: ");
         String searchQuery = scanner.nextLine();
         
-        // Use linear search with custom iterator
-        ListInterface<Medicine> allMedicines = medicineControl.getAllMedicines();
+        // Indexed search over all medicines
         MyArrayList<LinearSearch.SearchResult<Medicine>> searchResults = 
-            LinearSearch.search(searchQuery, allMedicines);
+            medicineControl.searchMedicines(searchQuery);
         
         if (searchResults.isEmpty()) {
             System.out.println("No medicines found matching '" + searchQuery + "'.");
@@ -169,16 +179,16 @@ public class PharmacyUI {
         for (int i = 0; i < searchResults.size(); i++) {
             LinearSearch.SearchResult<Medicine> result = searchResults.get(i);
             Medicine medicine = result.item;
-            double basePrice = medicineControl.calculateRevenueFromMedicine(medicine.getMedicineID(), 1);
+            long basePrice = medicineControl.calculateRevenueFromMedicine(medicine.getMedicineID(), 1);
             
-            System.out.printf("| %-2d | %-11s | %-22s | %-15s | %-5d | %-11s | RM%-8.2f |\n",
+            System.out.printf("| %-2d | %-11s | %-22s | %-15s | %-5d | %-11s | RM%-8s |\n",
                 (i + 1),
                 medicine.getMedicineID(),
                 medicine.getName(),
                 medicine.getCategory(),
                 medicine.getStock(),
                 medicine.getExpiryDate(),
-                basePrice);
+                Money.format(basePrice));
         }
         System.out.println("================================================================================================================");
         System.out.printf("Found %d medicine(s) matching '%s'\n", searchResults.size(), searchQuery);
@@ -198,10 +208,9 @@ public class PharmacyUI {
         System.out.print("Enter Medicine ID or Name to remove: ");
         String searchQuery = scanner.nextLine();
         
-        // Use linear search to find the medicine
-        ListInterface<Medicine> allMedicines = medicineControl.getAllMedicines();
+        // Use the search index to find the medicine
         MyArrayList<LinearSearch.SearchResult<Medicine>> searchResults = 
-            LinearSearch.search(searchQuery, allMedicines);
+            medicineControl.searchMedicines(searchQuery);
         
         if (searchResults.isEmpty()) {
             System.out.println("| No medicines found matching '" + searchQuery + "'                                                      |");
@@ -218,16 +227,16 @@ public class PharmacyUI {
             for (int i = 0; i < searchResults.size(); i++) {
                 LinearSearch.SearchResult<Medicine> result = searchResults.get(i);
                 Medicine medicine = result.item;
-                double basePrice = medicineControl.calculateRevenueFromMedicine(medicine.getMedicineID(), 1);
+                long basePrice = medicineControl.calculateRevenueFromMedicine(medicine.getMedicineID(), 1);
                 
-                System.out.printf("| %-2d | %-11s | %-22s | %-15s | %-5d | %-11s | RM%-8.2f |\n",
+                System.out.printf("| %-2d | %-11s | %-22s | %-15s | %-5d | %-11s | RM%-8s |\n",
                     (i + 1),
                     medicine.getMedicineID(),
                     medicine.getName(),
                     medicine.getCategory(),
                     medicine.getStock(),
                     medicine.getExpiryDate(),
-                    basePrice);
+                    Money.format(basePrice));
             }
             System.out.println("|==============================================================================================================|");
             
@@ -313,62 +322,53 @@ public class PharmacyUI {
         // Total Revenue Calculation from Actual Treatments
         System.out.println("\nTOTAL REVENUE:");
         ListInterface<MedicalTreatment> allTreatments = treatmentControl.getAllTreatments();
-        double totalTreatmentRevenue = 0.0;
-        double totalMedicineRevenue = 0.0;
-        int paidTreatments = 0;
+        long totalTreatmentRevenue = treatmentControl.getTotalCostByStatus(TreatmentStatus.PAID);
+        long totalMedicineRevenue = 0L;
+        int paidTreatments = treatmentControl.getTreatmentCountByStatus(TreatmentStatus.PAID);
         
         for (int i = 0; i < allTreatments.size(); i++) {
             MedicalTreatment treatment = allTreatments.get(i);
-            if ("PAID".equals(treatment.getStatus())) {
-                paidTreatments++;
-                totalTreatmentRevenue += treatment.getCost();
-                
+            if (treatment.getStatus() == TreatmentStatus.PAID) {
                 // Calculate medicine revenue for this treatment
                 String diagnosis = treatment.getDiagnosis();
                 ListInterface<Medicine> treatmentMedicines = medicineControl.getMedicinesForDiagnosis(diagnosis);
                 for (int j = 0; j < treatmentMedicines.size(); j++) {
                     Medicine med = treatmentMedicines.get(j);
                     int quantity = calculateQuantityForMedicine(med, diagnosis);
-                    double medicineRevenue = medicineControl.calculateRevenueFromMedicine(med.getMedicineID(), quantity);
+                    long medicineRevenue = medicineControl.calculateRevenueFromMedicine(med.getMedicineID(), quantity);
                     totalMedicineRevenue += medicineRevenue;
                 }
             }
         }
         
-        double totalRevenue = totalTreatmentRevenue + totalMedicineRevenue;
+        long totalRevenue = totalTreatmentRevenue + totalMedicineRevenue;
         
         System.out.println("   Paid Treatments: " + paidTreatments);
-        System.out.println("   Treatment Revenue: RM" + String.format("%.2f", totalTreatmentRevenue));
-        System.out.println("   Medicine Revenue: RM" + String.format("%.2f", totalMedicineRevenue));
-        System.out.println("   Total Revenue: RM" + String.format("%.2f", totalRevenue));
+        System.out.println("   Treatment Revenue: RM" + Money.format(totalTreatmentRevenue));
+        System.out.println("   Medicine Revenue: RM" + Money.format(totalMedicineRevenue));
+        System.out.println("   Total Revenue: RM" + Money.format(totalRevenue));
         System.out.println("   (From completed and paid treatments)");
         
         // Urgent Alerts - Medicines expiring in 2 months
         System.out.println("\nURGENT ALERTS:");
-        MyArrayList<Medicine> expiringMedicines = new MyArrayList<>();
         
-        // Calculate 2 months from now
+        // Medicines expiring between today and 2 months from now, soonest first
         java.time.LocalDate currentDate = java.time.LocalDate.now();
         java.time.LocalDate twoMonthsFromNow = currentDate.plusMonths(2);
+        ListInterface<Medicine> expiringMedicines = medicineControl.getMedicinesExpiringBefore(currentDate, twoMonthsFromNow);
         
-        for (int i = 0; i < list.size(); i++) {
-            Medicine medicine = list.get(i);
-            try {
-                java.time.LocalDate expiryDate = java.time.LocalDate.parse(medicine.getExpiryDate());
-                if (expiryDate.isBefore(twoMonthsFromNow) && expiryDate.isAfter(currentDate)) {
-                    expiringMedicines.add(medicine);
-                }
-            } catch (Exception e) {
-                // Skip medicines with invalid date format
-            }
-        }
+        // Medicines that entered the same window since the dashboard was last opened
+        int alertDays = (int) java.time.temporal.ChronoUnit.DAYS.between(currentDate, twoMonthsFromNow) - 1;
+        ListInterface<Medicine> newlyExpiring = medicineControl.pollNewlyExpiring(currentDate, alertDays);
         
         if (!expiringMedicines.isEmpty()) {
-            System.out.println(expiringMedicines.size() + " medicines expiring within 2 months!");
+            System.out.println(expiringMedicines.size() + " medicines expiring within 2 months!"
+                    + (newlyExpiring.isEmpty() ? "" : " (" + newlyExpiring.size() + " new since last check)"));
             System.out.println("Expiring medicines:");
             for (int i = 0; i < expiringMedicines.size(); i++) {
                 Medicine med = expiringMedicines.get(i);
-                System.out.println("   • " + med.getName() + " - Expires: " + med.getExpiryDate() + " (Stock: " + med.getStock() + ")");
+                System.out.println("   • " + med.getName() + " - Expires: " + medicineControl.getNextExpiryDate(med.getMedicineID()) + " (Stock: " + med.getStock() + ")"
+                        + (newlyExpiring.contains(med) ? " [NEW]" : ""));
             }
         } else {
             System.out.println("No medicines expiring within 2 months");
@@ -377,6 +377,85 @@ public class PharmacyUI {
         System.out.println("\n" + "=".repeat(50));
     }
     
+    private void receiveDelivery() {
+        System.out.println("\n=== Receive Medicine Delivery ===");
+        System.out.println("================================================================================================================");
+        
+        Medicine medicine = selectMedicine();
+        if (medicine == null) {
+            System.out.println("================================================================================================================");
+            return;
+        }
+        
+        System.out.print("Enter Quantity Received: ");
+        int quantity = scanner.nextInt(); scanner.nextLine();
+        System.out.print("Enter Expiry Date of this delivery (YYYY-MM-DD): ");
+        String expiry = scanner.nextLine();
+        
+        if (medicineControl.receiveLot(medicine.getMedicineID(), quantity, expiry)) {
+            System.out.println("| Delivery received: " + quantity + " units of " + medicine.getName() + ", expiring " + expiry);
+            System.out.println("| Stock is now " + medicine.getStock() + " units; next to dispense expires " + medicineControl.getNextExpiryDate(medicine.getMedicineID()));
+        } else {
+            System.out.println("| Delivery not recorded: the quantity must be positive.                                                    |");
+        }
+        System.out.println("================================================================================================================");
+    }
+    
+    private void viewLots() {
+        System.out.println("\n=== Medicine Lots ===");
+        System.out.println("================================================================================================================");
+        
+        Medicine medicine = selectMedicine();
+        if (medicine == null) {
+            System.out.println("================================================================================================================");
+            return;
+        }
+        
+        // Listed in the order they will be dispensed: first-expiring first
+        ListInterface<MedicineLot> lots = medicineControl.getLots(medicine.getMedicineID());
+        System.out.println("| Lots of " + medicine.getName() + " (" + medicine.getMedicineID() + "), first to be dispensed on top");
+        System.out.println("|==============================================================================================================|");
+        System.out.println("| #  | Lot ID          | Quantity | Expiry Date |");
+        System.out.println("|==============================================================================================================|");
+        for (int i = 0; i < lots.size(); i++) {
+            MedicineLot lot = lots.get(i);
+            System.out.printf("| %-2d | %-15s | %-8d | %-11s |\n", (i + 1), lot.getLotId(), lot.getQuantity(), lot.getExpiryDate());
+        }
+        System.out.println("================================================================================================================");
+        System.out.printf("Total: %d lot(s), %d units in stock\n", lots.size(), medicine.getStock());
+    }
+    
+    // Picks a medicine by its full ID, or by the start of its ID or name
+    private Medicine selectMedicine() {
+        System.out.print("Enter Medicine ID or the start of its ID or name: ");
+        String input = scanner.nextLine().trim();
+        Medicine medicine = medicineControl.findById(input);
+        if (medicine != null) {
+            return medicine;
+        }
+        
+        MyArrayList<LinearSearch.SearchResult<Medicine>> matches =
+            medicineControl.searchMedicinesStartingWith(input, MAX_SUGGESTIONS);
+        if (matches.isEmpty()) {
+            System.out.println("| Medicine not found: " + input + "                                                                       |");
+            return null;
+        }
+        if (matches.size() == 1) {
+            return matches.get(0).item;
+        }
+        for (int i = 0; i < matches.size(); i++) {
+            Medicine match = matches.get(i).item;
+            System.out.printf("| %-2d | %-11s | %-22s | Stock: %-5d |\n", (i + 1), match.getMedicineID(), match.getName(), match.getStock());
+        }
+        System.out.print("Select medicine (1-" + matches.size() + "): ");
+        int choice = scanner.nextInt(); scanner.nextLine();
+        if (choice < 1 || choice > matches.size()) {
+            System.out.println("Invalid selection!");
+            return null;
+        }
+        return matches.get(choice - 1).item;
+    }
+    
     private void viewDiagnosisMedicineRelationships() {
         System.out.println("\n=== Diagnosis-Medicine Relationships ===");
         System.out.println("================================================================================================================");
@@ -424,16 +503,16 @@ public class PharmacyUI {
             
             for (int i = 0; i < medicines.size(); i++) {
                 Medicine med = medicines.get(i);
-                double basePrice = medicineControl.calculateRevenueFromMedicine(med.getMedicineID(), 1);
+                long basePrice = medicineControl.calculateRevenueFromMedicine(med.getMedicineID(), 1);
                 
-                System.out.printf("| %-2d | %-11s | %-22s | %-15s | %-5d | %-11s | RM%-8.2f |\n",
+                System.out.printf("| %-2d | %-11s | %-22s | %-15s | %-5d | %-11s | RM%-8s |\n",
                     (i + 1),
                     med.getMedicineID(),
                     med.getName(),
                     med.getCategory(),
                     med.getStock(),
                     med.getExpiryDate(),
-                    basePrice);
+                    Money.format(basePrice));
             }
             System.out.println("================================================================================================================");
             System.out.printf("Total medicines for %s: %d\n", diagnosis, medicines.size());
@@ -471,25 +550,25 @@ public class PharmacyUI {
                 
                 for (int i = 0; i < allMedicines.size(); i++) {
                     Medicine medicine = allMedicines.get(i);
-                    double basePrice = medicineControl.calculateRevenueFromMedicine(medicine.getMedicineID(), 1);
+                    long basePrice = medicineControl.calculateRevenueFromMedicine(medicine.getMedicineID(), 1);
                     
-                    System.out.printf("| %-2d | %-11s | %-22s | %-15s | %-5d | %-11s | RM%-8.2f |\n",
+                    System.out.printf("| %-2d | %-11s | %-22s | %-15s | %-5d | %-11s | RM%-8s |\n",
                         (i + 1),
                         medicine.getMedicineID(),
                         medicine.getName(),
                         medicine.getCategory(),
                         medicine.getStock(),
                         medicine.getExpiryDate(),
-                        basePrice);
+                        Money.format(basePrice));
                 }
                 System.out.println("|==============================================================================================================|");
                 
                 System.out.print("Enter Medicine ID or Name: ");
                 String medicineQuery = scanner.nextLine();
                 
-                // Use linear search to find the medicine
+                // Use the search index to find the medicine
                 MyArrayList<LinearSearch.SearchResult<Medicine>> searchResults = 
-                    LinearSearch.search(medicineQuery, allMedicines);
+                    medicineControl.searchMedicines(medicineQuery);
                 
                 if (searchResults.isEmpty()) {
                     System.out.println("| Medicine not found: " + medicineQuery + "                                                           |");
@@ -552,16 +631,16 @@ public class PharmacyUI {
                 
                 for (int i = 0; i < diagnosisMedicines.size(); i++) {
                     Medicine medicine = diagnosisMedicines.get(i);
-                    double basePrice = medicineControl.calculateRevenueFromMedicine(medicine.getMedicineID(), 1);
+                    long basePrice = medicineControl.calculateRevenueFromMedicine(medicine.getMedicineID(), 1);
                     
-                    System.out.printf("| %-2d | %-11s | %-22s | %-15s | %-5d | %-11s | RM%-8.2f |\n",
+                    System.out.printf("| %-2d | %-11s | %-22s | %-15s | %-5d | %-11s | RM%-8s |\n",
                         (i + 1),
                         medicine.getMedicineID(),
                         medicine.getName(),
                         medicine.getCategory(),
                         medicine.getStock(),
                         medicine.getExpiryDate(),
-                        basePrice);
+                        Money.format(basePrice));
                 }
                 System.out.println("|==============================================================================================================|");
                 
@@ -605,7 +684,7 @@ public class PharmacyUI {
         }
         
         // Calculate total inventory value
-        double totalInventoryValue = 0.0;
+        long totalInventoryValue = 0L;
         int totalStock = 0;
         
         System.out.println("MEDICINE INVENTORY STATUS:");
@@ -613,14 +692,14 @@ public class PharmacyUI {
         
         for (int i = 0; i < medicines.size(); i++) {
             Medicine med = medicines.get(i);
-            double medicineValue = medicineControl.calculateRevenueFromMedicine(med.getMedicineID(), med.getStock());
+            long medicineValue = medicineControl.calculateRevenueFromMedicine(med.getMedicineID(), med.getStock());
             totalInventoryValue += medicineValue;
             totalStock += med.getStock();
             
             System.out.println((i + 1) + ". " + med.getName() + " (ID: " + med.getMedicineID() + ")");
             System.out.println("   Category: " + med.getCategory());
             System.out.println("   Current Stock: " + med.getStock() + " units");
-            System.out.println("   Stock Value: RM" + String.format("%.2f", medicineValue));
+            System.out.println("   Stock Value: RM" + Money.format(medicineValue));
             
             // Stock level indicators
             if (med.getStock() < 20) {
@@ -637,7 +716,7 @@ public class PharmacyUI {
         System.out.println("-".repeat(40));
         System.out.println("   Total Medicines: " + medicines.size());
         System.out.println("   Total Stock Units: " + totalStock);
-        System.out.println("   Total Inventory Value: RM" + String.format("%.2f", totalInventoryValue));
+        System.out.println("   Total Inventory Value: RM" + Money.format(totalInventoryValue));
         
         // Category breakdown
         int painkillers = medicines.filter(med -> med.getCategory().equalsIgnoreCase("Painkiller")).size();
@@ -680,7 +759,7 @@ public class PharmacyUI {
         MyArrayList<MedicalTreatment> completedTreatments = new MyArrayList<>();
         for (int i = 0; i < treatments.size(); i++) {
             MedicalTreatment treatment = treatments.get(i);
-            if ("COMPLETED".equals(treatment.getStatus())) {
+            if (treatment.getStatus() == TreatmentStatus.COMPLETED) {
                 completedTreatments.add(treatment);
             }
         }
@@ -707,7 +786,7 @@ public class PharmacyUI {
                 patientInfo,
                 doctorInfo,
                 treatment.getDiagnosis(),
-                String.format("%.2f", treatment.getCost()));
+                Money.format(treatment.getCostCents()));
         }
         System.out.println("|==============================================================================================================|");
         
@@ -722,25 +801,31 @@ public class PharmacyUI {
         MedicalTreatment selectedTreatment = completedTreatments.get(choice - 1);
         String treatmentId = selectedTreatment.getTreatmentId();
         String diagnosis = selectedTreatment.getDiagnosis();
-        double treatmentCost = selectedTreatment.getCost();
+        long treatmentCost = selectedTreatment.getCostCents();
         
         System.out.println("\n=== PAYMENT PROCESSING ===");
         System.out.println("================================================================================================================");
         System.out.printf("| Treatment ID: %-15s | Patient: %-20s |\n", treatmentId, getPatientNameFromId(selectedTreatment.getPatientId()));
-        System.out.printf("| Diagnosis: %-15s | Cost: RM%-10.2f |\n", diagnosis, treatmentCost);
+        System.out.printf("| Diagnosis: %-15s | Cost: RM%-10s |\n", diagnosis, Money.format(treatmentCost));
         System.out.println("|==============================================================================================================|");
         
         // Process medicine dispensing and payment
-        double totalMedicineCost = processMedicineDispensing(diagnosis, treatmentId);
-        double totalPayment = treatmentCost + totalMedicineCost;
+        long totalMedicineCost = processMedicineDispensing(diagnosis, treatmentId);
+        if (totalMedicineCost < 0) {
+            System.out.println("| Payment not processed: restock the medicine and try again.                                               |");
+            System.out.println("================================================================================================================");
+            return;
+        }
+        long totalPayment = treatmentCost + totalMedicineCost;
         
         System.out.println("|==============================================================================================================|");
-        System.out.printf("| Treatment Cost: RM%-10.2f |\n", treatmentCost);
-        System.out.printf("| Medicine Cost: RM%-10.2f |\n", totalMedicineCost);
-        System.out.printf("| TOTAL PAYMENT: RM%-10.2f |\n", totalPayment);
+        System.out.printf("| Treatment Cost: RM%-10s |\n", Money.format(treatmentCost));
+        System.out.printf("| Medicine Cost: RM%-10s |\n", Money.format(totalMedicineCost));
+        System.out.printf("| TOTAL PAYMENT: RM%-10s |\n", Money.format(totalPayment));
         System.out.println("|==============================================================================================================|");
         System.out.println("| COST BREAKDOWN: Treatment + Medicine = Total Payment |");
-        System.out.printf("| RM%-8.2f + RM%-8.2f = RM%-8.2f |\n", treatmentCost, totalMedicineCost, totalPayment);
+        System.out.printf("| RM%-8s + RM%-8s = RM%-8s |\n",
+            Money.format(treatmentCost), Money.format(totalMedicineCost), Money.format(totalPayment));
         System.out.println("|==============================================================================================================|");
         
         System.out.print("Confirm payment processing? (y/n): ");
@@ -748,11 +833,11 @@ public class PharmacyUI {
         
         if (confirm.equalsIgnoreCase("y") || confirm.equalsIgnoreCase("yes")) {
             // Update treatment status to PAID
-            boolean statusUpdated = treatmentControl.updateTreatmentStatus(treatmentId, "PAID");
+            boolean statusUpdated = treatmentControl.updateTreatmentStatus(treatmentId, TreatmentStatus.PAID);
             
             if (statusUpdated) {
                 System.out.println("| Payment processed successfully!                                                                    |");
-                System.out.println("| Revenue recorded: RM" + String.format("%.2f", totalPayment) + "                                                      |");
+                System.out.println("| Revenue recorded: RM" + Money.format(totalPayment) + "                                                      |");
                 System.out.println("| Treatment status updated to PAID                                                                   |");
             } else {
                 System.out.println("| Failed to update treatment status.                                                               |");
@@ -763,7 +848,8 @@ public class PharmacyUI {
         System.out.println("================================================================================================================");
     }
     
-    private double processMedicineDispensing(String diagnosis, String treatmentId) {
+    // Medicine cost of the dispensed prescription, or -1 if it could not be filled in full
+    private long processMedicineDispensing(String diagnosis, String treatmentId) {
         System.out.println("| MEDICINE DISPENSING PROCESS                                                                                 |");
         System.out.println("|==============================================================================================================|");
         
@@ -772,49 +858,50 @@ public class PharmacyUI {
         
         if (medicines.isEmpty()) {
             System.out.println("| No specific medicines found for " + diagnosis + "                                                      |");
-            return 0.0;
+            return 0L;
         }
         
-        double totalMedicineCost = 0.0;
-        MyArrayList<String> deductedMedicines = new MyArrayList<>();
-        
+        // The whole prescription is dispensed at once, or nothing is taken from the shelf
+        MyArrayList<MedicineMaintenance.PrescriptionLine> lines = new MyArrayList<>(medicines.size());
         for (int i = 0; i < medicines.size(); i++) {
             Medicine medicine = medicines.get(i);
-            int quantity = calculateQuantityForMedicine(medicine, diagnosis);
-            
-            // Check if we have enough stock
-            if (medicine.getStock() >= quantity) {
-                // Deduct from inventory
-                boolean success = medicineControl.dispenseMedicine(medicine.getMedicineID(), quantity);
-                
-                if (success) {
-                    double medicineValue = medicineControl.calculateRevenueFromMedicine(medicine.getMedicineID(), quantity);
-                    totalMedicineCost += medicineValue;
-                    deductedMedicines.add(medicine.getName() + " (" + quantity + " units)");
-                    
-                    System.out.printf("| %-20s | %-3d units | Stock: %-3d | RM%-8.2f |\n",
-                        medicine.getName(), quantity, medicine.getStock(), medicineValue);
-                } else {
-                    System.out.printf("| %-20s | FAILED TO DISPENSE |\n", medicine.getName());
-                }
-            } else {
+            lines.add(new MedicineMaintenance.PrescriptionLine(medicine.getMedicineID(), calculateQuantityForMedicine(medicine, diagnosis)));
+        }
+        MedicineMaintenance.DispenseResult result = medicineControl.dispensePrescription(lines);
+        
+        if (!result.success) {
+            if (result.failedLine != null) {
+                Medicine medicine = medicineControl.findById(result.failedLine.medicineId);
                 System.out.printf("| %-20s | INSUFFICIENT STOCK | Required: %-3d | Available: %-3d |\n",
-                    medicine.getName(), quantity, medicine.getStock());
+                    medicine != null ? medicine.getName() : result.failedLine.medicineId,
+                    result.failedLine.quantity, medicine != null ? medicine.getStock() : 0);
             }
+            System.out.println("| " + result.message);
+            System.out.println("| No medicines were dispensed for this prescription.                                                          |");
+            return -1L;
+        }
+        
+        long totalMedicineCost = 0L;
+        for (int i = 0; i < lines.size(); i++) {
+            Medicine medicine = medicines.get(i);
+            int quantity = lines.get(i).quantity;
+            long medicineValue = medicineControl.calculateRevenueFromMedicine(medicine.getMedicineID(), quantity);
+            totalMedicineCost = Money.add(totalMedicineCost, medicineValue);
+            
+            System.out.printf("| %-20s | %-3d units | Stock: %-3d | RM%-8s |\n",
+                medicine.getName(), quantity, medicine.getStock(), Money.format(medicineValue));
         }
         
         System.out.println("|==============================================================================================================|");
-        System.out.printf("| Total medicine cost: RM%-10.2f |\n", totalMedicineCost);
+        System.out.printf("| Total medicine cost: RM%-10s |\n", Money.format(totalMedicineCost));
         
         // Display deducted medicines summary
-        if (!deductedMedicines.isEmpty()) {
-            System.out.println("| MEDICINES DEDUCTED FROM INVENTORY:                                                                        |");
-            System.out.println("|==============================================================================================================|");
-            for (int i = 0; i < deductedMedicines.size(); i++) {
-                System.out.printf("| %-2d. %-60s |\n", (i + 1), deductedMedicines.get(i));
-            }
-            System.out.println("|==============================================================================================================|");
+        System.out.println("| MEDICINES DEDUCTED FROM INVENTORY:                                                                        |");
+        System.out.println("|==============================================================================================================|");
+        for (int i = 0; i < lines.size(); i++) {
+            System.out.printf("| %-2d. %-60s |\n", (i + 1), medicines.get(i).getName() + " (" + lines.get(i).quantity + " units)");
         }
+        System.out.println("|==============================================================================================================|");
         
         return totalMedicineCost;
     }
@@ -838,12 +925,9 @@ public class PharmacyUI {
     // Helper method to get patient name from ID using consultation data
     private String getPatientNameFromId(String patientId) {
         // Try to get patient name from consultation data first
-        ListInterface<Consultation> allConsultations = consultationControl.getAllConsultations();
-        for (int i = 0; i < allConsultations.size(); i++) {
-            Consultation consultation = allConsultations.get(i);
-            if (consultation.getPatientId().equals(patientId)) {
-                return consultation.getPatientName();
-            }
+        ListInterface<Consultation> patientConsultations = consultationControl.getConsultationsByPatient(patientId);
+        if (!patientConsultations.isEmpty()) {
+            return patientConsultations.get(0).getPatientName();
         }
         
         // If not found in consultations, return a generic name
@@ -852,10 +936,6 @@ public class PharmacyUI {
 
     // Helper method to get doctor name from ID
     private String getDoctorNameFromId(String doctorId) {
-        return switch (doctorId) {
-            case "D001" -> "Dr. Smith";
-            case "D002" -> "Dr. Johnson";
-            default -> "Dr. Unknown";
-        };
+        return consultationControl.getDoctorName(doctorId);
     }
 }
\ No newline at end of file
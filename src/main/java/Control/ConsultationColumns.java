@@ -0,0 +1,238 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package Control;
+
+import ADT.CodeDictionary;
+import ADT.IndexInterface;
+import ADT.MapInterface;
+import ADT.MyArrayList;
+import ADT.MyHashMap;
+import ADT.MyIterator;
+import Entity.Consultation;
+import Entity.ConsultationStatus;
+import Entity.QueueType;
+
+/**
+ * Columnar copy of the consultations: one primitive array per field the queue counts read
+ * (appointment date and time, status and queue-type codes, dictionary-encoded doctor), in the
+ * order the consultations were added. Counting walks these dense arrays instead of
+ * dereferencing one object per consultation. The store is a secondary index: the Consultation
+ * objects stay the record the UI reads and edits, and are only used here as keys to find
+ * their row when they change.
+ * Removed rows are blanked and compacted away once they outnumber the live ones.
+ *
+ * @author yapjinkai
+ */
+public class ConsultationColumns implements IndexInterface<Consultation> {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final byte REMOVED = -1;   // Status code of a removed row
+
+    private long[] stamps;         // Consultation.getAppointmentStamp()
+    private byte[] statuses;       // ConsultationStatus code, REMOVED for a removed row
+    private byte[] queueTypes;     // QueueType code
+    private int[] doctors;         // Code of the upper-case doctor ID
+    private int rowCount;          // Rows in use, removed ones included
+    private int liveCount;
+
+    private final MapInterface<Consultation, Integer> rowOf;
+    private final CodeDictionary<String> doctorIds;
+
+    public ConsultationColumns() {
+        this.rowOf = new MyHashMap<>();
+        this.doctorIds = new CodeDictionary<>();
+        allocate(INITIAL_CAPACITY);
+    }
+
+    @Override
+    public void add(Consultation consultation) {
+        if (consultation == null) {
+            throw new IllegalArgumentException("Cannot index null item");
+        }
+        remove(consultation);
+        if (rowCount == statuses.length) {
+            grow();
+        }
+        int row = rowCount++;
+        write(row, consultation);
+        rowOf.put(consultation, row);
+        liveCount++;
+    }
+
+    @Override
+    public boolean remove(Consultation consultation) {
+        Integer row = consultation == null ? null : rowOf.remove(consultation);
+        if (row == null) {
+            return false;
+        }
+        statuses[row] = REMOVED;
+        liveCount--;
+        if (rowCount - liveCount > liveCount && rowCount > INITIAL_CAPACITY) {
+            compact();
+        }
+        return true;
+    }
+
+    @Override
+    public boolean update(Consultation consultation) {
+        Integer row = consultation == null ? null : rowOf.get(consultation);
+        if (row == null) {
+            return false;
+        }
+        write(row, consultation);
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        rowOf.clear();
+        doctorIds.clear();
+        rowCount = 0;
+        liveCount = 0;
+        allocate(INITIAL_CAPACITY);
+    }
+
+    public int size() {
+        return liveCount;
+    }
+
+    public boolean isEmpty() {
+        return liveCount == 0;
+    }
+
+    /**
+     * Counts the consultations of a queue type with a status.
+     *
+     * @param queueType the queue type to match, or null for any
+     * @param status the status to match, or null for any
+     * @return the number of matching consultations (>= 0)
+     */
+    public int count(QueueType queueType, ConsultationStatus status) {
+        if (queueType == null && status == null) {
+            return liveCount;
+        }
+        int count = 0;
+        if (queueType == null) {
+            byte wanted = status.code();
+            for (int row = 0; row < rowCount; row++) {
+                if (statuses[row] == wanted) {
+                    count++;
+                }
+            }
+        } else {
+            byte type = queueType.code();
+            for (int row = 0; row < rowCount; row++) {
+                if (queueTypes[row] == type && statuses[row] != REMOVED
+                        && (status == null || statuses[row] == status.code())) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Counts the waiting consultations of a queue type whose appointment is due by a time.
+     *
+     * @param queueType the queue type to match
+     * @param stamp the date and time, as a Consultation.getAppointmentStamp() value
+     * @return the number of waiting consultations due at or before the time (>= 0)
+     */
+    public int countWaitingDueBy(QueueType queueType, long stamp) {
+        byte type = queueType.code();
+        byte waiting = ConsultationStatus.WAITING.code();
+        int count = 0;
+        for (int row = 0; row < rowCount; row++) {
+            if (statuses[row] == waiting && queueTypes[row] == type && stamps[row] <= stamp) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Counts the consultations of a doctor with a status, e.g. WAITING for the doctor's load.
+     *
+     * @param doctorId the doctor ID, ignoring case
+     * @param status the status to match, or null for any
+     * @return the number of matching consultations (>= 0)
+     */
+    public int countByDoctor(String doctorId, ConsultationStatus status) {
+        int doctor = doctorIds.codeOf(doctorId.toUpperCase());
+        if (doctor < 0) {
+            return 0;
+        }
+        int count = 0;
+        for (int row = 0; row < rowCount; row++) {
+            if (doctors[row] == doctor && statuses[row] != REMOVED
+                    && (status == null || statuses[row] == status.code())) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // Copies the scanned fields of a consultation into its row
+    private void write(int row, Consultation consultation) {
+        stamps[row] = consultation.getAppointmentStamp();
+        statuses[row] = consultation.getStatus().code();
+        queueTypes[row] = consultation.getQueueType().code();
+        doctors[row] = doctorIds.encode(consultation.getDoctorId().toUpperCase());
+    }
+
+    // Slides the live rows down over the removed ones, keeping their order
+    private void compact() {
+        int[] newRow = new int[rowCount];
+        int target = 0;
+        for (int row = 0; row < rowCount; row++) {
+            if (statuses[row] == REMOVED) {
+                continue;
+            }
+            newRow[row] = target;
+            if (target != row) {
+                stamps[target] = stamps[row];
+                statuses[target] = statuses[row];
+                queueTypes[target] = queueTypes[row];
+                doctors[target] = doctors[row];
+            }
+            target++;
+        }
+        rowCount = target;
+
+        // Re-point every consultation at its new row; keys are copied out before the map changes
+        MyArrayList<Consultation> live = new MyArrayList<>(Math.max(1, liveCount));
+        MyIterator<Consultation> keys = rowOf.keys();
+        while (keys.hasNext()) {
+            live.add(keys.next());
+        }
+        for (int i = 0; i < live.size(); i++) {
+            Consultation consultation = live.get(i);
+            rowOf.put(consultation, newRow[rowOf.get(consultation)]);
+        }
+    }
+
+    private void grow() {
+        int capacity = statuses.length * 2;
+        long[] newStamps = new long[capacity];
+        byte[] newStatuses = new byte[capacity];
+        byte[] newQueueTypes = new byte[capacity];
+        int[] newDoctors = new int[capacity];
+        System.arraycopy(stamps, 0, newStamps, 0, rowCount);
+        System.arraycopy(statuses, 0, newStatuses, 0, rowCount);
+        System.arraycopy(queueTypes, 0, newQueueTypes, 0, rowCount);
+        System.arraycopy(doctors, 0, newDoctors, 0, rowCount);
+        stamps = newStamps;
+        statuses = newStatuses;
+        queueTypes = newQueueTypes;
+        doctors = newDoctors;
+    }
+
+    private void allocate(int capacity) {
+        stamps = new long[capacity];
+        statuses = new byte[capacity];
+        queueTypes = new byte[capacity];
+        doctors = new int[capacity];
+    }
+}
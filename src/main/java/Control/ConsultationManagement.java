@@ -5,8 +5,22 @@
 package Control;
 
 import Entity.Consultation;
+import Entity.ConsultationStatus;
+import Entity.QueueType;
+import ADT.InvertedIndex;
+import ADT.HashIndex;
+import ADT.IndexInterface;
 import ADT.ListInterface;
+import ADT.MapInterface;
 import ADT.MyArrayList;
+import ADT.MultiMapIndex;
+import ADT.MyHashMap;
+import ADT.MyPriorityQueue;
+import ADT.PatternMatcher;
+import ADT.PrefixIndex;
+import ADT.PriorityQueueInterface;
+import Utility.LinearSearch;
+import java.time.LocalDate;
 
 /**
  *
@@ -17,8 +31,35 @@ public class ConsultationManagement {
     private final MyArrayList<Consultation> scheduledConsultations; // For SCHEDULED appointments only
     private int nextConsultationId = 1;
     
-    // Symptom to diagnosis mapping
-    private final String[][] symptomDiagnosisMap = {
+    // Waiting patients per queue type; only WAITING consultations are queued
+    private final PriorityQueueInterface<QueueEntry> emergencyQueue; // Arrival order
+    private final PriorityQueueInterface<QueueEntry> walkInQueue;    // Earliest time slot first
+    private final PriorityQueueInterface<QueueEntry> scheduledQueue; // Earliest appointment first
+    private final MapInterface<String, QueueEntry> queueEntries;     // Upper-case consultation ID -> entry
+    private long nextArrival = 0;
+    
+    // Secondary indexes over both lists, kept consistent on every mutation
+    private final MyArrayList<IndexInterface<Consultation>> indexes;
+    private final HashIndex<String, Consultation> idIndex;            // Upper-case consultation ID
+    private final MultiMapIndex<String, Consultation> patientIndex;   // Upper-case patient ID
+    private final MultiMapIndex<String, Consultation> doctorIndex;    // Upper-case doctor ID
+    private final MultiMapIndex<ConsultationStatus, Consultation> statusIndex;
+    private final InvertedIndex<Consultation> searchIndex;
+    private final PrefixIndex<Consultation> prefixIndex;              // Consultation ID, patient ID and patient name
+    private ConsultationColumns columns;                              // Optional columnar copy for scans, null until enabled
+    
+    // Doctor roster with load counters kept up to date on every status transition
+    private static final int MAX_ACTIVE_PER_DOCTOR = 2;
+    private final MapInterface<String, DoctorLoad> doctorLoads;       // Upper-case doctor ID
+    private final MyArrayList<DoctorLoad> roster;                     // Registration order
+    private final PriorityQueueInterface<DoctorLoad> doctorQueue;     // Least-loaded doctor first
+    private long assignClock = 0;
+    
+    // Slots held by consultations, per day and per doctor
+    private TimeSlotSchedule schedule;
+    
+    // Default symptom to diagnosis rules; earlier rules take priority
+    private static final String[][] DEFAULT_SYMPTOM_RULES = {
         {"fever", "Fever"},
         {"cough", "Common Cold"},
         {"headache", "Headache"},
@@ -30,10 +71,64 @@ public class ConsultationManagement {
         {"sore throat", "Sore Throat"},
         {"back pain", "Back Pain"}
     };
+    private final PatternMatcher<String> symptomMatcher;   // All rules matched in one pass over the symptoms
 
     public ConsultationManagement() {
         this.consultationList = new MyArrayList<>();
         this.scheduledConsultations = new MyArrayList<>();
+        this.emergencyQueue = new MyPriorityQueue<>((e1, e2) -> Long.compare(e1.arrival, e2.arrival));
+        this.walkInQueue = new MyPriorityQueue<>(ConsultationManagement::compareByTime);
+        this.scheduledQueue = new MyPriorityQueue<>(ConsultationManagement::compareByTime);
+        this.queueEntries = new MyHashMap<>();
+        this.indexes = new MyArrayList<>();
+        this.idIndex = new HashIndex<>(c -> c.getConsultationId().toUpperCase());
+        this.patientIndex = new MultiMapIndex<>(c -> c.getPatientId().toUpperCase());
+        this.doctorIndex = new MultiMapIndex<>(c -> c.getDoctorId().toUpperCase());
+        this.statusIndex = new MultiMapIndex<>(Consultation::getStatus);
+        this.searchIndex = new InvertedIndex<>();
+        this.prefixIndex = new PrefixIndex<>(Consultation::getConsultationId, Consultation::getPatientId,
+                Consultation::getPatientName);
+        addIndex(idIndex);
+        addIndex(patientIndex);
+        addIndex(doctorIndex);
+        addIndex(statusIndex);
+        addIndex(searchIndex);
+        addIndex(prefixIndex);
+        
+        this.symptomMatcher = new PatternMatcher<>();
+        loadSymptomRules(DEFAULT_SYMPTOM_RULES);
+        
+        this.schedule = new TimeSlotSchedule("09:00", "17:30", 30);
+        this.doctorLoads = new MyHashMap<>();
+        this.roster = new MyArrayList<>();
+        this.doctorQueue = new MyPriorityQueue<>(ConsultationManagement::compareByLoad);
+        addDoctor("D001", "Dr. Smith");
+        addDoctor("D002", "Dr. Johnson");
+        // D001 counts as the last assigned doctor, so the first tie goes to D002
+        markAssigned(roster.get(0));
+    }
+    
+    // Plug in another secondary index; existing consultations are indexed immediately
+    public void addIndex(IndexInterface<Consultation> index) {
+        for (int i = 0; i < scheduledConsultations.size(); i++) {
+            index.add(scheduledConsultations.get(i));
+        }
+        for (int i = 0; i < consultationList.size(); i++) {
+            index.add(consultationList.get(i));
+        }
+        indexes.add(index);
+    }
+
+    // Keep a columnar copy of the consultations so the queue and doctor counts scan primitive arrays
+    public void enableColumnarStore() {
+        if (columns == null) {
+            columns = new ConsultationColumns();
+            addIndex(columns);
+        }
+    }
+
+    public boolean isColumnarStoreEnabled() {
+        return columns != null;
     }
 
     // Auto-generate consultation ID
@@ -41,182 +136,138 @@ public class ConsultationManagement {
         return String.format("C%03d", nextConsultationId++);
     }
 
-    // Categorize symptoms to diagnosis
-    public String categorizeSymptoms(String symptoms) {
-        String lowerSymptoms = symptoms.toLowerCase();
-        for (String[] mapping : symptomDiagnosisMap) {
-            if (lowerSymptoms.contains(mapping[0])) {
-                return mapping[1];
+    // Replace the symptom to diagnosis rules ({symptom, diagnosis} rows); earlier rows take priority
+    public void loadSymptomRules(String[][] rules) {
+        if (rules == null) {
+            throw new IllegalArgumentException("Symptom rules cannot be null");
+        }
+        for (int i = 0; i < rules.length; i++) {
+            String[] rule = rules[i];
+            if (rule == null || rule.length != 2 || rule[0] == null || rule[0].trim().isEmpty() || rule[1] == null) {
+                throw new IllegalArgumentException("Invalid symptom rule at row " + i);
             }
         }
-        return "General Consultation";
+        symptomMatcher.clear();
+        for (String[] rule : rules) {
+            symptomMatcher.add(rule[0].trim().toLowerCase(), rule[1]);
+        }
+    }
+
+    // Categorize symptoms to diagnosis: the highest-priority rule found, where a longer
+    // symptom such as "back pain" wins over a shorter one inside it such as "pain"
+    public String categorizeSymptoms(String symptoms) {
+        ListInterface<String> diagnoses = categorizeAllSymptoms(symptoms);
+        return diagnoses.isEmpty() ? "General Consultation" : diagnoses.get(0);
+    }
+
+    // Every diagnosis whose symptoms appear, highest-priority rule first
+    public ListInterface<String> categorizeAllSymptoms(String symptoms) {
+        ListInterface<String> diagnoses = new MyArrayList<>();
+        if (symptoms == null) {
+            return diagnoses;
+        }
+        ListInterface<PatternMatcher.Match<String>> matches = symptomMatcher.findAll(symptoms.toLowerCase());
+        matches.sort((match1, match2) -> Integer.compare(match1.getPriority(), match2.getPriority()));
+        MapInterface<String, String> seen = new MyHashMap<>();
+        for (int i = 0; i < matches.size(); i++) {
+            String diagnosis = matches.get(i).getValue();
+            if (seen.put(diagnosis, diagnosis) == null) {
+                diagnoses.add(diagnosis);
+            }
+        }
+        return diagnoses;
+    }
+
+    // Add a doctor to the roster used for automatic assignment
+    public void addDoctor(String doctorId, String doctorName) {
+        DoctorLoad doctor = loadFor(doctorId);
+        doctor.doctorName = doctorName;
+        if (doctor.handle < 0) {
+            doctor.lastAssigned = ++assignClock;
+            doctor.handle = doctorQueue.insert(doctor);
+            roster.add(doctor);
+        }
+    }
+    
+    public String getDoctorName(String doctorId) {
+        DoctorLoad doctor = doctorLoads.get(doctorId.toUpperCase());
+        return doctor == null || doctor.doctorName == null ? "Dr. Unknown" : doctor.doctorName;
     }
 
     // Check doctor availability (max 2 consultations per doctor)
     public boolean isDoctorAvailable(String doctorId) {
-        int patientCount = 0;
-        
-        // Check regular consultations (walk-in and emergency)
-        for (int i = 0; i < consultationList.size(); i++) {
-            Consultation consultation = consultationList.get(i);
-            if (consultation.getDoctorId().equals(doctorId) && 
-                !consultation.getStatus().equals("CANCELLED") &&
-                !consultation.getStatus().equals("CONSULTED") &&
-                !consultation.getStatus().equals("COMPLETED")) {
-                patientCount++;
-            }
+        DoctorLoad doctor = doctorLoads.get(doctorId.toUpperCase());
+        return doctor == null || doctor.active() < MAX_ACTIVE_PER_DOCTOR;
+    }
+
+    // Auto-assign the least-loaded doctor; equal loads rotate round-robin
+    // (the doctor assigned least recently goes first)
+    public String assignDoctor() {
+        if (doctorQueue.isEmpty()) {
+            return null;
         }
-        
-        // Check scheduled consultations
-        for (int i = 0; i < scheduledConsultations.size(); i++) {
-            Consultation consultation = scheduledConsultations.get(i);
-            if (consultation.getDoctorId().equals(doctorId) && 
-                !consultation.getStatus().equals("CANCELLED") &&
-                !consultation.getStatus().equals("CONSULTED") &&
-                !consultation.getStatus().equals("COMPLETED")) {
-                patientCount++;
-            }
+        DoctorLoad doctor = doctorQueue.peek();
+        markAssigned(doctor);
+        return doctor.doctorId;
+    }
+    
+    private void markAssigned(DoctorLoad doctor) {
+        doctor.lastAssigned = ++assignClock;
+        doctorQueue.update(doctor.handle);
+    }
+    
+    private DoctorLoad loadFor(String doctorId) {
+        String key = doctorId.toUpperCase();
+        DoctorLoad doctor = doctorLoads.get(key);
+        if (doctor == null) {
+            doctor = new DoctorLoad(doctorId);
+            doctorLoads.put(key, doctor);
+        }
+        return doctor;
+    }
+    
+    // Applies a consultation entering (+1) or leaving (-1) a status to its doctor's counters
+    private void adjustDoctorLoad(Consultation consultation, ConsultationStatus status, int delta) {
+        DoctorLoad doctor = loadFor(consultation.getDoctorId());
+        doctor.statusCounts[status.ordinal()] += delta;
+        if (status == ConsultationStatus.WAITING && doctor.handle >= 0) {
+            doctorQueue.update(doctor.handle);
         }
-        
-        return patientCount < 2;
     }
 
-    // Auto-assign doctor (round-robin between 2 doctors)
-    private int lastAssignedDoctor = 0; // 0 for D001, 1 for D002
-    
-    public String assignDoctor() {
-        int doctor1Count = 0, doctor2Count = 0;
-        
-        // Count regular consultations (walk-in and emergency)
+    // Change opening hours and slot length; existing bookings are re-applied
+    public void setOpeningHours(String openingTime, String closingTime, int slotMinutes) {
+        schedule = new TimeSlotSchedule(openingTime, closingTime, slotMinutes);
         for (int i = 0; i < consultationList.size(); i++) {
-            Consultation consultation = consultationList.get(i);
-            if (!consultation.getStatus().equals("CANCELLED") && 
-                !consultation.getStatus().equals("CONSULTED") &&
-                !consultation.getStatus().equals("COMPLETED")) {
-                if (consultation.getDoctorId().equals("D001")) {
-                    doctor1Count++;
-                } else if (consultation.getDoctorId().equals("D002")) {
-                    doctor2Count++;
-                }
-            }
+            holdSlot(consultationList.get(i));
         }
-        
-        // Count scheduled consultations
         for (int i = 0; i < scheduledConsultations.size(); i++) {
-            Consultation consultation = scheduledConsultations.get(i);
-            if (!consultation.getStatus().equals("CANCELLED") && 
-                !consultation.getStatus().equals("CONSULTED") &&
-                !consultation.getStatus().equals("COMPLETED")) {
-                if (consultation.getDoctorId().equals("D001")) {
-                    doctor1Count++;
-                } else if (consultation.getDoctorId().equals("D002")) {
-                    doctor2Count++;
-                }
-            }
-        }
-        
-        // If both doctors have equal load, use round-robin alternation
-        if (doctor1Count == doctor2Count) {
-            lastAssignedDoctor = (lastAssignedDoctor + 1) % 2; // Alternate between 0 and 1
-            return lastAssignedDoctor == 0 ? "D001" : "D002";
-        }
-        
-        // Otherwise, assign to doctor with fewer patients
-        if (doctor1Count < doctor2Count) {
-            lastAssignedDoctor = 0;
-            return "D001";
-        } else {
-            lastAssignedDoctor = 1;
-            return "D002";
+            holdSlot(scheduledConsultations.get(i));
         }
     }
 
-    // Get available time slots (30-minute increments from 9 AM to 5 PM)
+    // Get today's available time slots (30-minute increments from 9 AM to 5 PM by default)
     public String[] getAvailableTimeSlots() {
-        String[] timeSlots = {
-            "09:00", "09:30", "10:00", "10:30", "11:00", "11:30",
-            "12:00", "12:30", "13:00", "13:30", "14:00", "14:30",
-            "15:00", "15:30", "16:00", "16:30", "17:00"
-        };
-        
-        // Filter out occupied time slots (real-life scheduling simulation)
-        MyArrayList<String> availableSlots = new MyArrayList<>();
-        for (String slot : timeSlots) {
-            boolean slotAvailable = true;
-            
-            for (int i = 0; i < consultationList.size(); i++) {
-                Consultation consultation = consultationList.get(i);
-                
-                // Skip cancelled consultations
-                if (consultation.getStatus().equals("CANCELLED")) {
-                    continue;
-                }
-                
-                // For SCHEDULED appointments: block the exact time slot
-                if (consultation.getQueueType().equals("SCHEDULED") && 
-                    consultation.getAppointmentTime().equals(slot)) {
-                    slotAvailable = false;
-                    break;
-                }
-                
-                // For SCHEDULED appointments: block all time slots before the appointment
-                if (consultation.getQueueType().equals("SCHEDULED") && 
-                    slot.compareTo(consultation.getAppointmentTime()) < 0) {
-                    slotAvailable = false;
-                    break;
-                }
-                
-                // For WALK_IN and EMERGENCY: only block the exact time slot
-                if ((consultation.getQueueType().equals("WALK_IN") || 
-                     consultation.getQueueType().equals("EMERGENCY")) && 
-                    consultation.getAppointmentTime().equals(slot)) {
-                    slotAvailable = false;
-                    break;
-                }
-            }
-            
-            if (slotAvailable) {
-                availableSlots.add(slot);
-            }
-        }
-        
-        String[] result = new String[availableSlots.size()];
-        for (int i = 0; i < availableSlots.size(); i++) {
-            result[i] = availableSlots.get(i);
-        }
-        return result;
+        return schedule.getFreeSlots(today());
     }
 
-    // Check if time slot is available (real-life scheduling simulation)
+    // Check if time slot is available today (real-life scheduling simulation)
+    // Every consultation blocks its exact slot on its day until cancelled
     public boolean isTimeSlotAvailable(String timeSlot) {
-        for (int i = 0; i < consultationList.size(); i++) {
-            Consultation consultation = consultationList.get(i);
-            
-            // Skip cancelled consultations
-            if (consultation.getStatus().equals("CANCELLED")) {
-                continue;
-            }
-            
-            // For SCHEDULED appointments: block the exact time slot
-            if (consultation.getQueueType().equals("SCHEDULED") && 
-                consultation.getAppointmentTime().equals(timeSlot)) {
-                return false;
-            }
-            
-            // For SCHEDULED appointments: block all time slots before the appointment
-            if (consultation.getQueueType().equals("SCHEDULED") && 
-                timeSlot.compareTo(consultation.getAppointmentTime()) < 0) {
-                return false;
-            }
-            
-            // For WALK_IN and EMERGENCY: only block the exact time slot
-            if ((consultation.getQueueType().equals("WALK_IN") || 
-                 consultation.getQueueType().equals("EMERGENCY")) && 
-                consultation.getAppointmentTime().equals(timeSlot)) {
-                return false;
-            }
-        }
-        return true;
+        return schedule.isFree(today(), timeSlot);
+    }
+
+    // Time slots still free for a doctor on a date
+    public String[] getAvailableTimeSlots(String doctorId, LocalDate date) {
+        return schedule.getFreeSlots(doctorId, (int) date.toEpochDay());
+    }
+
+    public boolean isTimeSlotAvailable(String doctorId, LocalDate date, String timeSlot) {
+        return schedule.isFree(doctorId, (int) date.toEpochDay(), timeSlot);
+    }
+
+    private static int today() {
+        return (int) LocalDate.now().toEpochDay();
     }
 
     public void addConsultation(Consultation consultation) {
@@ -229,15 +280,17 @@ public class ConsultationManagement {
         consultation.setEstimatedWaitingMinutes(waitingTime);
         
         // Separate scheduled appointments from walk-in/emergency
-        if (consultation.getQueueType().equals("SCHEDULED")) {
+        if (consultation.getQueueType() == QueueType.SCHEDULED) {
             scheduledConsultations.add(consultation);
+            trackConsultation(consultation, scheduledQueue);
             System.out.println("Scheduled appointment added to priority queue");
-        } else if (consultation.getQueueType().equals("EMERGENCY")) {
+        } else if (consultation.getQueueType() == QueueType.EMERGENCY) {
             // Emergency patients swap with the earliest walk-in patient
             String swappedSlot = swapWithEarliestWalkIn(consultation);
             consultation.setAppointmentTime(swappedSlot);
             
             consultationList.add(consultation);
+            trackConsultation(consultation, emergencyQueue);
             
             System.out.println("| EMERGENCY TIME SLOT ASSIGNMENT                                                                              |");
             System.out.println("|==============================================================================================================|");
@@ -247,30 +300,24 @@ public class ConsultationManagement {
             System.out.println("================================================================================================================");
         } else {
             // Walk-in patients get next available slot
-            String nextSlot = getNextAvailableTimeSlot();
+            String nextSlot = getNextAvailableTimeSlot(consultation.getAppointmentDay());
             consultation.setAppointmentTime(nextSlot);
             consultationList.add(consultation);
+            trackConsultation(consultation, walkInQueue);
             System.out.println("Walk-in patient added at " + nextSlot);
         }
     }
 
     // Calculate waiting time based on queue type
-    private int calculateWaitingTime(String queueType) {
-        switch (queueType.toUpperCase()) {
-            case "EMERGENCY" -> {
+    private int calculateWaitingTime(QueueType queueType) {
+        switch (queueType) {
+            case EMERGENCY -> {
                 return 5; // Emergency patients get priority
             }
-            case "WALK_IN" -> {
-                int walkInCount = 0;
-                for (int i = 0; i < consultationList.size(); i++) {
-                    Consultation c = consultationList.get(i);
-                    if (c.getQueueType().equals("WALK_IN") && c.getStatus().equals("WAITING")) {
-                        walkInCount++;
-                    }
-                }
-                return walkInCount * 15; // 15 minutes per walk-in patient
+            case WALK_IN -> {
+                return walkInQueue.size() * 15; // 15 minutes per walk-in patient
             }
-            case "SCHEDULED" -> {
+            case SCHEDULED -> {
                 // Scheduled appointments have time-based priority, not queue-based
                 return 0; // They wait until their scheduled time
             }
@@ -281,192 +328,169 @@ public class ConsultationManagement {
     }
 
     public boolean removeConsultation(String consultationId) {
-        // Check regular consultations first
-        for (int i = 0; i < consultationList.size(); i++) {
-            Consultation consultation = consultationList.get(i);
-            if (consultation.getConsultationId().equalsIgnoreCase(consultationId)) {
-                return consultationList.remove(consultation);
-            }
+        Consultation consultation = idIndex.get(consultationId.toUpperCase());
+        if (consultation == null) {
+            return false;
         }
         
-        // Check scheduled consultations
-        for (int i = 0; i < scheduledConsultations.size(); i++) {
-            Consultation consultation = scheduledConsultations.get(i);
-            if (consultation.getConsultationId().equalsIgnoreCase(consultationId)) {
-                return scheduledConsultations.remove(consultation);
-            }
+        untrackConsultation(consultation);
+        // Check regular consultations first
+        return consultationList.remove(consultation) || scheduledConsultations.remove(consultation);
+    }
+
+    // Move a consultation to another queue; false if not found or the change is not allowed
+    public boolean changeQueueType(String consultationId, QueueType newType) {
+        Consultation consultation = idIndex.get(consultationId.toUpperCase());
+        if (consultation == null || newType == null || !consultation.getQueueType().canChangeTo(newType)) {
+            return false;
         }
-        
-        return false;
+        if (consultation.getQueueType() != newType) {
+            removeConsultation(consultationId);
+            consultation.setQueueType(newType);
+            addConsultation(consultation);
+        }
+        return true;
     }
 
     //  Filter by Queue Type
-    public ListInterface<Consultation> getConsultationsByQueueType(String queueType) {
+    // (scheduled appointments are only kept in their own list)
+    public ListInterface<Consultation> getConsultationsByQueueType(QueueType queueType) {
+        MyArrayList<Consultation> list = queueType == QueueType.SCHEDULED ? scheduledConsultations : consultationList;
         ListInterface<Consultation> filteredList = new MyArrayList<>();
-        for (int i = 0; i < consultationList.size(); i++) {
-            Consultation consultation = consultationList.get(i);
-            if (consultation.getQueueType().equalsIgnoreCase(queueType)) {
+        for (int i = 0; i < list.size(); i++) {
+            Consultation consultation = list.get(i);
+            if (consultation.getQueueType() == queueType) {
                 filteredList.add(consultation);
             }
         }
         return filteredList;
     }
 
-    //  Get Next Patient by Priority (Emergency > Scheduled > Walk-in)
-    public Consultation getNextPatient() {
-        // First, check for emergency patients (highest priority)
-        for (int i = 0; i < consultationList.size(); i++) {
-            Consultation consultation = consultationList.get(i);
-            if (consultation.getStatus().equals("WAITING") && 
-                consultation.getQueueType().equalsIgnoreCase("EMERGENCY")) {
-                return consultation;
+    // Number of consultations of a queue type with a status (null matches any)
+    public int countConsultationsByQueueType(QueueType queueType, ConsultationStatus status) {
+        if (columns != null) {
+            return columns.count(queueType, status);
+        }
+        if (queueType == null) {
+            return status == null ? consultationList.size() + scheduledConsultations.size() : statusIndex.count(status);
+        }
+        int count = 0;
+        MyArrayList<Consultation> list = queueType == QueueType.SCHEDULED ? scheduledConsultations : consultationList;
+        for (int i = 0; i < list.size(); i++) {
+            Consultation consultation = list.get(i);
+            if (consultation.getQueueType() == queueType && (status == null || consultation.getStatus() == status)) {
+                count++;
             }
         }
-        
-        // Second, check if any scheduled appointments are due
-        Consultation scheduledPatient = getNextScheduledPatient();
-        if (scheduledPatient != null) {
-            return scheduledPatient;
+        return count;
+    }
+
+    // Number of a doctor's consultations with a status (null matches any), e.g. WAITING for the doctor's load
+    public int countConsultationsByDoctor(String doctorId, ConsultationStatus status) {
+        if (columns != null) {
+            return columns.countByDoctor(doctorId, status);
         }
-        
-        // Finally, check walk-in patients (earliest time first)
-        Consultation earliestWalkIn = null;
-        String earliestTime = "17:30"; // Default to after clinic hours
-        
-        for (int i = 0; i < consultationList.size(); i++) {
-            Consultation consultation = consultationList.get(i);
-            if (consultation.getStatus().equals("WAITING") && 
-                consultation.getQueueType().equalsIgnoreCase("WALK_IN") &&
-                consultation.getAppointmentTime().compareTo(earliestTime) < 0) {
-                earliestWalkIn = consultation;
-                earliestTime = consultation.getAppointmentTime();
+        ListInterface<Consultation> doctorConsultations = doctorIndex.get(doctorId.toUpperCase());
+        int count = 0;
+        for (int i = 0; i < doctorConsultations.size(); i++) {
+            if (status == null || doctorConsultations.get(i).getStatus() == status) {
+                count++;
             }
         }
-        
-        return earliestWalkIn;
+        return count;
     }
-    
-    // Check if scheduled appointment is due (previous slot completed)
-    private Consultation getNextScheduledPatient() {
+
+    // Scheduled appointments already due by the current clinic time
+    public int countDueAppointments() {
+        long clinicTime = getCurrentClinicTime();
+        if (columns != null) {
+            return columns.countWaitingDueBy(QueueType.SCHEDULED, clinicTime);
+        }
+        int count = 0;
         for (int i = 0; i < scheduledConsultations.size(); i++) {
-            Consultation scheduled = scheduledConsultations.get(i);
-            
-            if (scheduled.getStatus().equals("WAITING")) {
-                String appointmentTime = scheduled.getAppointmentTime();
-                String previousSlot = getPreviousTimeSlot(appointmentTime);
-                
-                // Check if previous slot is completed AND it's time for the appointment
-                if (isPreviousSlotCompleted(previousSlot, scheduled.getDoctorId()) && 
-                    isTimeForScheduledAppointment(appointmentTime)) {
-                    System.out.println("Scheduled appointment due: " + scheduled.getPatientName() + 
-                                     " at " + appointmentTime + " with Dr. " + scheduled.getDoctorName());
-                    return scheduled;
-                } else {
-                    System.out.println("Scheduled appointment waiting: " + scheduled.getPatientName() + 
-                                     " at " + appointmentTime + " (not yet time for appointment)");
-                }
+            Consultation consultation = scheduledConsultations.get(i);
+            if (consultation.getStatus() == ConsultationStatus.WAITING && consultation.getAppointmentStamp() <= clinicTime) {
+                count++;
             }
         }
-        return null;
+        return count;
     }
-    
-    // Get the previous time slot
-    private String getPreviousTimeSlot(String currentTime) {
-        String[] timeSlots = {
-            "09:00", "09:30", "10:00", "10:30", "11:00", "11:30",
-            "12:00", "12:30", "13:00", "13:30", "14:00", "14:30",
-            "15:00", "15:30", "16:00", "16:30", "17:00"
-        };
+
+    //  Get Next Patient by Priority (Emergency > Scheduled > Walk-in)
+    public Consultation getNextPatient() {
+        // First, check for emergency patients (highest priority, first come first served)
+        if (!emergencyQueue.isEmpty()) {
+            return emergencyQueue.peek().consultation;
+        }
         
-        for (int i = 1; i < timeSlots.length; i++) {
-            if (timeSlots[i].equals(currentTime)) {
-                return timeSlots[i - 1];
-            }
+        // Second, check if any scheduled appointments are due
+        Consultation scheduledPatient = getNextScheduledPatient();
+        if (scheduledPatient != null) {
+            return scheduledPatient;
         }
-        return "09:00"; // Default to first slot
+        
+        // Finally, check walk-in patients (earliest time first)
+        return walkInQueue.isEmpty() ? null : walkInQueue.peek().consultation;
     }
     
-    // Check if previous slot is completed for the same doctor
-    private boolean isPreviousSlotCompleted(String previousSlot, String doctorId) {
-        // Check regular consultations
-        for (int i = 0; i < consultationList.size(); i++) {
-            Consultation consultation = consultationList.get(i);
-            if (consultation.getAppointmentTime().equals(previousSlot) && 
-                consultation.getDoctorId().equals(doctorId) && 
-                consultation.getStatus().equals("COMPLETED")) {
-                return true;
-            }
+    // Check if the earliest scheduled appointment is due
+    private Consultation getNextScheduledPatient() {
+        if (scheduledQueue.isEmpty()) {
+            return null;
         }
         
-        // Check scheduled consultations
-        for (int i = 0; i < scheduledConsultations.size(); i++) {
-            Consultation consultation = scheduledConsultations.get(i);
-            if (consultation.getAppointmentTime().equals(previousSlot) && 
-                consultation.getDoctorId().equals(doctorId) && 
-                consultation.getStatus().equals("COMPLETED")) {
-                return true;
-            }
+        Consultation scheduled = scheduledQueue.peek().consultation;
+        String appointmentTime = scheduled.getAppointmentDate() + " " + scheduled.getAppointmentTime();
+        if (isTimeForScheduledAppointment(scheduled.getAppointmentStamp())) {
+            System.out.println("Scheduled appointment due: " + scheduled.getPatientName() + 
+                             " at " + appointmentTime + " with Dr. " + scheduled.getDoctorName());
+            return scheduled;
         }
         
-        // If no consultation found for previous slot, consider it available
-        return true;
+        System.out.println("Scheduled appointment waiting: " + scheduled.getPatientName() + 
+                         " at " + appointmentTime + " (not yet time for appointment)");
+        return null;
     }
     
     // Check if it's time for a scheduled appointment
-    private boolean isTimeForScheduledAppointment(String appointmentTime) {
+    private boolean isTimeForScheduledAppointment(long appointmentStamp) {
         //  Check if there are no earlier walk-in/emergency patients
         // This ensures scheduled patients only get priority when it's actually their time
         
         // Get the current "clinic time" based on the earliest waiting patient
-        String currentClinicTime = getCurrentClinicTime();
+        long currentClinicTime = getCurrentClinicTime();
         
         // Scheduled appointment should only be prioritized if current time >= appointment time
-        return currentClinicTime.compareTo(appointmentTime) >= 0;
+        return currentClinicTime >= appointmentStamp;
     }
     
-    // Get current clinic time based on the earliest waiting patient
-    private String getCurrentClinicTime() {
-        String earliestTime = "17:30"; // Default to after clinic hours
-        
-        // Check walk-in and emergency patients
-        for (int i = 0; i < consultationList.size(); i++) {
-            Consultation consultation = consultationList.get(i);
-            if (consultation.getStatus().equals("WAITING") && 
-                consultation.getAppointmentTime().compareTo(earliestTime) < 0) {
-                earliestTime = consultation.getAppointmentTime();
-            }
-        }
-        
-        // If no waiting patients, return 09:00 (clinic opening time)
-        if (earliestTime.equals("17:30")) {
-            return "09:00";
-        }
-        
-        return earliestTime;
+    // Get current clinic time based on the earliest waiting walk-in patient
+    // (only consulted once the emergency queue is empty), as a Consultation.getAppointmentStamp() value
+    private long getCurrentClinicTime() {
+        // If no waiting patients, return today's opening time
+        if (walkInQueue.isEmpty()) {
+            return Consultation.stamp(today(), schedule.getOpeningMinute());
+        }
+        return walkInQueue.peek().consultation.getAppointmentStamp();
     }
 
-    //  Search by Patient ID
+    //  Search by Patient ID (scheduled and regular consultations)
     public ListInterface<Consultation> getConsultationsByPatient(String patientId) {
-        ListInterface<Consultation> patientConsultations = new MyArrayList<>();
-        for (int i = 0; i < consultationList.size(); i++) {
-            Consultation consultation = consultationList.get(i);
-            if (consultation.getPatientId().equalsIgnoreCase(patientId)) {
-                patientConsultations.add(consultation);
-            }
-        }
-        return patientConsultations;
+        return patientIndex.get(patientId.toUpperCase());
     }
 
-    // Search by Doctor ID
+    // Search by Doctor ID (scheduled and regular consultations)
     public ListInterface<Consultation> getConsultationsByDoctor(String doctorId) {
-        ListInterface<Consultation> doctorConsultations = new MyArrayList<>();
-        for (int i = 0; i < consultationList.size(); i++) {
-            Consultation consultation = consultationList.get(i);
-            if (consultation.getDoctorId().equalsIgnoreCase(doctorId)) {
-                doctorConsultations.add(consultation);
-            }
-        }
-        return doctorConsultations;
+        return doctorIndex.get(doctorId.toUpperCase());
+    }
+    
+    // Filter by status (scheduled and regular consultations)
+    public ListInterface<Consultation> getConsultationsByStatus(ConsultationStatus status) {
+        return statusIndex.get(status);
+    }
+    
+    public int countConsultationsByStatus(ConsultationStatus status) {
+        return statusIndex.count(status);
     }
 
     //  Search by Symptoms
@@ -481,27 +505,21 @@ public class ConsultationManagement {
         return symptomConsultations;
     }
 
-    // Update consultation status (check both lists)
-    public boolean updateConsultationStatus(String consultationId, String newStatus) {
-        // Check regular consultations first
-        for (int i = 0; i < consultationList.size(); i++) {
-            Consultation consultation = consultationList.get(i);
-            if (consultation.getConsultationId().equalsIgnoreCase(consultationId)) {
-                consultation.setStatus(newStatus);
-                return true;
-            }
-        }
-        
-        // Check scheduled consultations
-        for (int i = 0; i < scheduledConsultations.size(); i++) {
-            Consultation consultation = scheduledConsultations.get(i);
-            if (consultation.getConsultationId().equalsIgnoreCase(consultationId)) {
-                consultation.setStatus(newStatus);
-                return true;
-            }
-        }
-        
-        return false;
+    // Update consultation status (check both lists); false if not found or the change is not allowed
+    public boolean updateConsultationStatus(String consultationId, ConsultationStatus newStatus) {
+        Consultation consultation = idIndex.get(consultationId.toUpperCase());
+        if (consultation == null || newStatus == null || !consultation.getStatus().canChangeTo(newStatus)) {
+            return false;
+        }
+        
+        releaseSlot(consultation);
+        adjustDoctorLoad(consultation, consultation.getStatus(), -1);
+        consultation.setStatus(newStatus);
+        adjustDoctorLoad(consultation, newStatus, 1);
+        holdSlot(consultation);
+        syncQueue(consultation);
+        updateIndexes(consultation);
+        return true;
     }
 
     //  Generate Queue Report
@@ -515,26 +533,10 @@ public class ConsultationManagement {
             return;
         }
 
-        // Count by queue type (regular consultations)
-        int emergency = 0, walkIn = 0;
-        for (int i = 0; i < consultationList.size(); i++) {
-            Consultation consultation = consultationList.get(i);
-            if (consultation.getStatus().equals("WAITING")) {
-                switch (consultation.getQueueType().toUpperCase()) {
-                    case "EMERGENCY" -> emergency++;
-                    case "WALK_IN" -> walkIn++;
-                }
-            }
-        }
-        
-        // Count scheduled consultations
-        int scheduled = 0;
-        for (int i = 0; i < scheduledConsultations.size(); i++) {
-            Consultation consultation = scheduledConsultations.get(i);
-            if (consultation.getStatus().equals("WAITING")) {
-                scheduled++;
-            }
-        }
+        // Waiting patients per queue type
+        int emergency = countConsultationsByQueueType(QueueType.EMERGENCY, ConsultationStatus.WAITING);
+        int walkIn = countConsultationsByQueueType(QueueType.WALK_IN, ConsultationStatus.WAITING);
+        int scheduled = countConsultationsByQueueType(QueueType.SCHEDULED, ConsultationStatus.WAITING);
 
         // Queue Summary
         System.out.println("| QUEUE SUMMARY                                                                                                |");
@@ -542,7 +544,7 @@ public class ConsultationManagement {
         System.out.printf("| Scheduled Queue: %-3d patients (Priority Queue)                                                          |\n", scheduled);
         System.out.printf("| Emergency Queue: %-3d patients                                                                              |\n", emergency);
         System.out.printf("| Walk-in Queue:   %-3d patients                                                                              |\n", walkIn);
-        System.out.printf("| Total:           %-3d consultations                                                                         |\n", (consultationList.size() + scheduledConsultations.size()));
+        System.out.printf("| Total:           %-3d consultations                                                                         |\n", countConsultationsByQueueType(null, null));
         System.out.println("|==============================================================================================================|");
         
         // Waiting Times
@@ -571,7 +573,7 @@ public class ConsultationManagement {
             System.out.println("|==============================================================================================================|");
             for (int i = 0; i < scheduledConsultations.size(); i++) {
                 Consultation consultation = scheduledConsultations.get(i);
-                if (consultation.getStatus().equals("WAITING")) {
+                if (consultation.getStatus() == ConsultationStatus.WAITING) {
                     System.out.printf("| %-20s | %-8s | Dr. %-15s | %-8s |\n",
                         consultation.getPatientName(),
                         consultation.getAppointmentTime(),
@@ -585,39 +587,26 @@ public class ConsultationManagement {
         // Show doctor workload (both lists)
         System.out.println("| DOCTOR WORKLOAD                                                                                             |");
         System.out.println("|==============================================================================================================|");
-        int doctor1Count = 0, doctor2Count = 0;
-        
-        // Count from regular consultations
-        for (int i = 0; i < consultationList.size(); i++) {
-            Consultation consultation = consultationList.get(i);
-            if (!consultation.getStatus().equals("CANCELLED") && 
-                !consultation.getStatus().equals("COMPLETED")) {
-                if (consultation.getDoctorId().equals("D001")) {
-                    doctor1Count++;
-                } else if (consultation.getDoctorId().equals("D002")) {
-                    doctor2Count++;
-                }
-            }
+        // Consulted patients still count towards the workload here; read from the load counters
+        for (int i = 0; i < roster.size(); i++) {
+            DoctorLoad doctor = roster.get(i);
+            int workload = doctor.active() + doctor.consulted();
+            System.out.printf("| %-20s%d/%d patients                                                                          |\n",
+                doctor.doctorName + " (" + doctor.doctorId + "):", workload, MAX_ACTIVE_PER_DOCTOR);
         }
-        
-        // Count from scheduled consultations
-        for (int i = 0; i < scheduledConsultations.size(); i++) {
-            Consultation consultation = scheduledConsultations.get(i);
-            if (!consultation.getStatus().equals("CANCELLED") && 
-                !consultation.getStatus().equals("COMPLETED")) {
-                if (consultation.getDoctorId().equals("D001")) {
-                    doctor1Count++;
-                } else if (consultation.getDoctorId().equals("D002")) {
-                    doctor2Count++;
-                }
-            }
-        }
-        
-        System.out.printf("| Dr. Smith (D001):   %d/2 patients                                                                          |\n", doctor1Count);
-        System.out.printf("| Dr. Johnson (D002): %d/2 patients                                                                          |\n", doctor2Count);
         System.out.println("================================================================================================================");
     }
 
+    // Search all consultations (scheduled and regular) through the search index
+    public MyArrayList<LinearSearch.SearchResult<Consultation>> searchConsultations(String query) {
+        return LinearSearch.search(query, searchIndex);
+    }
+
+    // Autocomplete on consultation ID, patient ID or patient name
+    public MyArrayList<LinearSearch.SearchResult<Consultation>> searchConsultationsStartingWith(String prefix, int limit) {
+        return LinearSearch.searchStartsWith(prefix, prefixIndex, limit);
+    }
+
     // Combine both lists: scheduled consultations first, then regular consultations
     public ListInterface<Consultation> getAllConsultations() {        // Combine both lists: scheduled consultations first, then regular consultations
         ListInterface<Consultation> allConsultations = new MyArrayList<>();
@@ -645,90 +634,38 @@ public class ConsultationManagement {
         return consultationList;
     }
     
-    // Get the earliest available time slot
-    private String getEarliestAvailableTimeSlot() {
-        String[] timeSlots = {
-            "09:00", "09:30", "10:00", "10:30", "11:00", "11:30",
-            "12:00", "12:30", "13:00", "13:30", "14:00", "14:30",
-            "15:00", "15:30", "16:00", "16:30", "17:00"
-        };
-        
-        for (String slot : timeSlots) {
-            if (isTimeSlotAvailable(slot)) {
-                return slot;
-            }
-        }
-        return "17:00"; // Default to last slot if all are taken
+    // Get the earliest available time slot on a day
+    private String getEarliestAvailableTimeSlot(int day) {
+        String slot = schedule.getFirstFreeSlot(day);
+        return slot != null ? slot : schedule.getLastSlot(); // Default to last slot if all are taken
     }
     
-    // Get the next available time slot after a specific time
-    private String getNextAvailableTimeSlotAfter(String afterTime) {
-        String[] timeSlots = {
-            "09:00", "09:30", "10:00", "10:30", "11:00", "11:30",
-            "12:00", "12:30", "13:00", "13:30", "14:00", "14:30",
-            "15:00", "15:30", "16:00", "16:30", "17:00"
-        };
-        
-        // Find the next available slot after the specified time
-        for (String slot : timeSlots) {
-            if (slot.compareTo(afterTime) > 0 && isTimeSlotAvailable(slot)) {
-                return slot;
-            }
-        }
-        
-        return getEarliestAvailableTimeSlot();
+    // Get the next available time slot on a day after a specific time
+    private String getNextAvailableTimeSlotAfter(int day, int afterMinute) {
+        String slot = schedule.getFirstFreeSlotAfter(day, afterMinute);
+        return slot != null ? slot : getEarliestAvailableTimeSlot(day);
     }
     
-    // Get the next available time slot
+    // Get today's next available time slot after the latest walk-in or emergency one
     public String getNextAvailableTimeSlot() {
-        String[] timeSlots = {
-            "09:00", "09:30", "10:00", "10:30", "11:00", "11:30",
-            "12:00", "12:30", "13:00", "13:30", "14:00", "14:30",
-            "15:00", "15:30", "16:00", "16:30", "17:00"
-        };
-        
-        // Find the latest occupied slot
-        String latestOccupied = "08:30";
-        for (int i = 0; i < consultationList.size(); i++) {
-            Consultation consultation = consultationList.get(i);
-            if (consultation.getAppointmentTime().compareTo(latestOccupied) > 0) {
-                latestOccupied = consultation.getAppointmentTime();
-            }
-        }
-        
-        // Find the next available slot after the latest occupied
-        for (String slot : timeSlots) {
-            if (slot.compareTo(latestOccupied) > 0 && isTimeSlotAvailable(slot)) {
-                return slot;
-            }
-        }
-        
-        return getEarliestAvailableTimeSlot();
+        return getNextAvailableTimeSlot(today());
+    }
+    
+    private String getNextAvailableTimeSlot(int day) {
+        String latestOccupied = schedule.getLatestRecordedSlot(day);
+        String slot = latestOccupied == null
+                ? schedule.getFirstFreeSlot(day)
+                : schedule.getFirstFreeSlotAfter(day, latestOccupied);
+        return slot != null ? slot : getEarliestAvailableTimeSlot(day);
     }
     
     // Emergency patients swap with the earliest walk-in patient
     private String swapWithEarliestWalkIn(Consultation emergencyPatient) {
-        String[] timeSlots = {
-            "09:00", "09:30", "10:00", "10:30", "11:00", "11:30",
-            "12:00", "12:30", "13:00", "13:30", "14:00", "14:30",
-            "15:00", "15:30", "16:00", "16:30", "17:00"
-        };
-        
         // Find the earliest walk-in patient
-        Consultation earliestWalkIn = null;
-        String earliestTime = "17:30"; // Default to after clinic hours
-        
-        for (int i = 0; i < consultationList.size(); i++) {
-            Consultation consultation = consultationList.get(i);
-            if (consultation.getQueueType().equals("WALK_IN") && 
-                consultation.getStatus().equals("WAITING") &&
-                consultation.getAppointmentTime().compareTo(earliestTime) < 0) {
-                earliestWalkIn = consultation;
-                earliestTime = consultation.getAppointmentTime();
-            }
-        }
-        
-        if (earliestWalkIn != null) {
+        if (!walkInQueue.isEmpty()) {
+            QueueEntry walkInEntry = walkInQueue.peek();
+            Consultation earliestWalkIn = walkInEntry.consultation;
+            
             // Get the walk-in's time slot
             String walkInTime = earliestWalkIn.getAppointmentTime();
             
@@ -736,8 +673,13 @@ public class ConsultationManagement {
             emergencyPatient.setAppointmentTime(walkInTime);
             
             // Find the next available time slot for the walk-in patient
-            String nextAvailableSlot = getNextAvailableTimeSlotAfter(walkInTime);
+            String nextAvailableSlot = getNextAvailableTimeSlotAfter(earliestWalkIn.getAppointmentDay(),
+                    earliestWalkIn.getAppointmentMinuteOfDay());
+            releaseSlot(earliestWalkIn);
             earliestWalkIn.setAppointmentTime(nextAvailableSlot);
+            holdSlot(earliestWalkIn);
+            walkInQueue.update(walkInEntry.handle);
+            updateIndexes(earliestWalkIn);
             
             System.out.println("| TIME SLOT SWAP DETAILS                                                                                      |");
             System.out.println("|==============================================================================================================|");
@@ -750,9 +692,128 @@ public class ConsultationManagement {
             return walkInTime;
         } else {
             // If no walk-in patients, get the earliest available slot
-            return getEarliestAvailableTimeSlot();
+            return getEarliestAvailableTimeSlot(emergencyPatient.getAppointmentDay());
         }
     }
-} 
-
-
+    
+    // Registers a newly added consultation for search and queues it while it is waiting
+    private void trackConsultation(Consultation consultation, PriorityQueueInterface<QueueEntry> queue) {
+        untrackConsultation(consultation);
+        QueueEntry entry = new QueueEntry(consultation, queue, nextArrival++);
+        queueEntries.put(consultation.getConsultationId().toUpperCase(), entry);
+        adjustDoctorLoad(consultation, consultation.getStatus(), 1);
+        holdSlot(consultation);
+        syncQueue(consultation);
+        for (int i = 0; i < indexes.size(); i++) {
+            indexes.get(i).add(consultation);
+        }
+    }
+    
+    private void untrackConsultation(Consultation consultation) {
+        for (int i = 0; i < indexes.size(); i++) {
+            indexes.get(i).remove(consultation);
+        }
+        QueueEntry entry = queueEntries.remove(consultation.getConsultationId().toUpperCase());
+        if (entry == null) {
+            return;
+        }
+        adjustDoctorLoad(entry.consultation, entry.consultation.getStatus(), -1);
+        releaseSlot(entry.consultation);
+        if (entry.handle >= 0) {
+            entry.queue.remove(entry.handle);
+        }
+    }
+    
+    // Non-cancelled consultations hold their doctor's slot on their day; every walk-in and emergency
+    // consultation counts as occupied for getNextAvailableTimeSlot
+    private void holdSlot(Consultation consultation) {
+        int day = consultation.getAppointmentDay();
+        int minute = consultation.getAppointmentMinuteOfDay();
+        if (consultation.getQueueType() != QueueType.SCHEDULED) {
+            schedule.record(day, minute);
+        }
+        if (consultation.getStatus() != ConsultationStatus.CANCELLED) {
+            schedule.book(consultation.getDoctorId(), day, minute);
+        }
+    }
+    
+    private void releaseSlot(Consultation consultation) {
+        int day = consultation.getAppointmentDay();
+        int minute = consultation.getAppointmentMinuteOfDay();
+        if (consultation.getQueueType() != QueueType.SCHEDULED) {
+            schedule.unrecord(day, minute);
+        }
+        if (consultation.getStatus() != ConsultationStatus.CANCELLED) {
+            schedule.release(consultation.getDoctorId(), day, minute);
+        }
+    }
+    
+    private void updateIndexes(Consultation consultation) {
+        for (int i = 0; i < indexes.size(); i++) {
+            indexes.get(i).update(consultation);
+        }
+    }
+    
+    // Keeps queue membership in line with the status: only WAITING consultations are queued
+    private void syncQueue(Consultation consultation) {
+        QueueEntry entry = queueEntries.get(consultation.getConsultationId().toUpperCase());
+        if (entry == null || entry.queue == null) {
+            return;
+        }
+        boolean waiting = consultation.getStatus() == ConsultationStatus.WAITING;
+        if (waiting && entry.handle < 0) {
+            entry.handle = entry.queue.insert(entry);
+        } else if (!waiting && entry.handle >= 0) {
+            entry.queue.remove(entry.handle);
+            entry.handle = -1;
+        }
+    }
+    
+    // Earliest appointment date and time first (malformed times first within their day), then arrival order
+    private static int compareByTime(QueueEntry e1, QueueEntry e2) {
+        int result = Long.compare(e1.consultation.getAppointmentStamp(), e2.consultation.getAppointmentStamp());
+        return result != 0 ? result : Long.compare(e1.arrival, e2.arrival);
+    }
+    
+    // Least active consultations first, then the doctor assigned least recently
+    private static int compareByLoad(DoctorLoad d1, DoctorLoad d2) {
+        int result = Integer.compare(d1.active(), d2.active());
+        return result != 0 ? result : Long.compare(d1.lastAssigned, d2.lastAssigned);
+    }
+    
+    // Load counters for one doctor
+    private static class DoctorLoad {
+        private final String doctorId;
+        private String doctorName;
+        private final int[] statusCounts = new int[ConsultationStatus.count()];   // Consultations per status ordinal
+        private long lastAssigned;   // Assignment clock value of the latest assignment
+        private int handle = -1;     // Heap handle while on the roster
+        
+        DoctorLoad(String doctorId) {
+            this.doctorId = doctorId;
+        }
+        
+        // Not yet consulted, completed or cancelled
+        int active() {
+            return statusCounts[ConsultationStatus.WAITING.ordinal()];
+        }
+        
+        int consulted() {
+            return statusCounts[ConsultationStatus.CONSULTED.ordinal()];
+        }
+    }
+    
+    // Queue bookkeeping for one consultation
+    private static class QueueEntry {
+        private final Consultation consultation;
+        private final PriorityQueueInterface<QueueEntry> queue; // null if it never queues
+        private final long arrival;                              // Order of addition to its list
+        private int handle = -1;                                 // Heap handle while WAITING
+        
+        QueueEntry(Consultation consultation, PriorityQueueInterface<QueueEntry> queue, long arrival) {
+            this.consultation = consultation;
+            this.queue = queue;
+            this.arrival = arrival;
+        }
+    }
+}
@@ -5,8 +5,16 @@
 package Control;
 
 import Entity.MedicalTreatment;
+import Entity.TreatmentStatus;
+import ADT.Aggregator;
+import ADT.InvertedIndex;
 import ADT.ListInterface;
+import ADT.MultiMapIndex;
 import ADT.MyArrayList;
+import ADT.OffHeapRecordList;
+import ADT.PrefixIndex;
+import Utility.LinearSearch;
+import Utility.Money;
 
 /**
  *
@@ -14,10 +22,54 @@ import ADT.MyArrayList;
  */
 public class MedicalTreatmentManagement {
     private final MyArrayList<MedicalTreatment> treatmentList;
+    private final InvertedIndex<MedicalTreatment> searchIndex;
+    private final MultiMapIndex<String, MedicalTreatment> patientIndex;   // Upper-case patient ID
+    private final PrefixIndex<MedicalTreatment> prefixIndex;              // Treatment ID and patient ID
+    // Running totals kept up to date on every change; the measure is revenue in cents (cost of completed treatments)
+    private final Aggregator<MedicalTreatment> views;
+    private final int[] statusCounts;      // Treatments per status ordinal
+    private final long[] statusCosts;      // Cost of every treatment per status ordinal
+    private final Aggregator.Dimension<MedicalTreatment, String> byDiagnosis;
+    private final Aggregator.Dimension<MedicalTreatment, String> byDoctor;
+    private final Aggregator.Dimension<MedicalTreatment, String> byDay;
+    // Archived treatments in a final status, kept off the heap and read in place;
+    // they are out of the list, indexes and views above
+    private final OffHeapRecordList<MedicalTreatment> history;
+    private final int[] archivedStatusCounts;
+    private final long[] archivedStatusCosts;
+    // Counts of the archived treatments, updated as they are archived so counting never decodes the history;
+    // archived treatments are paid, so never revenue
+    private final Aggregator<MedicalTreatment> archivedViews;
+    private final Aggregator.Dimension<MedicalTreatment, String> archivedByPatient;
+    private final Aggregator.Dimension<MedicalTreatment, String> archivedByDiagnosis;
+    private final Aggregator.Dimension<MedicalTreatment, String> archivedByDoctor;
+    private final Aggregator.Dimension<MedicalTreatment, String> archivedByDay;
+    private final Aggregator.Dimension<MedicalTreatment, String> archivedByConsultation;
     private int nextTreatmentId = 1;
 
     public MedicalTreatmentManagement() {
         this.treatmentList = new MyArrayList<>();
+        this.searchIndex = new InvertedIndex<>();
+        this.patientIndex = new MultiMapIndex<>(treatment -> treatment.getPatientId().toUpperCase());
+        this.prefixIndex = new PrefixIndex<>(MedicalTreatment::getTreatmentId, MedicalTreatment::getPatientId);
+        this.views = new Aggregator<>(
+                treatment -> treatment.getStatus() == TreatmentStatus.COMPLETED ? treatment.getCostCents() : 0L);
+        this.statusCounts = new int[TreatmentStatus.count()];
+        this.statusCosts = new long[TreatmentStatus.count()];
+        this.byDiagnosis = views.groupBy(treatment -> treatment.getDiagnosis().toLowerCase(), null,
+                MedicalTreatment::getDiagnosis);
+        this.byDoctor = views.groupBy(treatment -> treatment.getDoctorId().toUpperCase());
+        this.byDay = views.groupBy(MedicalTreatment::getTreatmentDate);
+        this.history = new OffHeapRecordList<>(new TreatmentRecordCodec());
+        this.archivedStatusCounts = new int[TreatmentStatus.count()];
+        this.archivedStatusCosts = new long[TreatmentStatus.count()];
+        this.archivedViews = new Aggregator<>(treatment -> 0L);
+        this.archivedByPatient = archivedViews.groupBy(treatment -> treatment.getPatientId().toUpperCase());
+        this.archivedByDiagnosis = archivedViews.groupBy(treatment -> treatment.getDiagnosis().toLowerCase(), null,
+                MedicalTreatment::getDiagnosis);
+        this.archivedByDoctor = archivedViews.groupBy(treatment -> treatment.getDoctorId().toUpperCase());
+        this.archivedByDay = archivedViews.groupBy(MedicalTreatment::getTreatmentDate);
+        this.archivedByConsultation = archivedViews.groupBy(MedicalTreatment::getConsultationId);
     }
 
     // Auto-generate treatment ID
@@ -28,6 +80,10 @@ public class MedicalTreatmentManagement {
     // Add new treatment
     public void addTreatment(MedicalTreatment treatment) {
         treatmentList.add(treatment);
+        searchIndex.add(treatment);
+        patientIndex.add(treatment);
+        prefixIndex.add(treatment);
+        addToViews(treatment);
     }
 
     // Remove treatment
@@ -35,24 +91,105 @@ public class MedicalTreatmentManagement {
         for (int i = 0; i < treatmentList.size(); i++) {
             MedicalTreatment treatment = treatmentList.get(i);
             if (treatment.getTreatmentId().equalsIgnoreCase(treatmentId)) {
+                searchIndex.remove(treatment);
+                patientIndex.remove(treatment);
+                prefixIndex.remove(treatment);
+                removeFromViews(treatment);
                 return treatmentList.remove(treatment);
             }
         }
         return false;
     }
 
-    //  Get Treatment History by Patient
-    public ListInterface<MedicalTreatment> getTreatmentHistoryByPatient(String patientId) {
-        ListInterface<MedicalTreatment> patientHistory = new MyArrayList<>();
+    // Search the treatments still in memory through the search index
+    public MyArrayList<LinearSearch.SearchResult<MedicalTreatment>> searchTreatments(String query) {
+        return LinearSearch.search(query, searchIndex);
+    }
+
+    // Autocomplete on treatment ID or patient ID
+    public MyArrayList<LinearSearch.SearchResult<MedicalTreatment>> searchTreatmentsStartingWith(String prefix, int limit) {
+        return LinearSearch.searchStartsWith(prefix, prefixIndex, limit);
+    }
+
+    // Moves treatments in a final status (paid) from memory into the off-heap history
+    public int archiveFinalTreatments() {
+        MyArrayList<MedicalTreatment> open = new MyArrayList<>(Math.max(1, treatmentList.size()));
+        int archived = 0;
         for (int i = 0; i < treatmentList.size(); i++) {
             MedicalTreatment treatment = treatmentList.get(i);
-            if (treatment.getPatientId().equalsIgnoreCase(patientId)) {
-                patientHistory.add(treatment);
+            if (!treatment.getStatus().isFinal()) {
+                open.add(treatment);
+                continue;
+            }
+            searchIndex.remove(treatment);
+            patientIndex.remove(treatment);
+            prefixIndex.remove(treatment);
+            removeFromViews(treatment);
+            history.add(treatment);
+            archivedViews.add(treatment);
+            archivedStatusCounts[treatment.getStatus().ordinal()]++;
+            archivedStatusCosts[treatment.getStatus().ordinal()] =
+                    Money.add(archivedStatusCosts[treatment.getStatus().ordinal()], treatment.getCostCents());
+            archived++;
+        }
+        if (archived > 0) {
+            treatmentList.clear();
+            for (int i = 0; i < open.size(); i++) {
+                treatmentList.add(open.get(i));
             }
         }
+        return archived;
+    }
+
+    public int getArchivedTreatmentCount() {
+        return history.size();
+    }
+
+    // Off-heap bytes held by the archived treatments
+    public long getArchivedByteSize() {
+        return history.byteSize();
+    }
+
+    //  Get Treatment History by Patient (in the order the treatments were recorded, oldest first;
+    //  archived treatments come before the ones still in memory)
+    public ListInterface<MedicalTreatment> getTreatmentHistoryByPatient(String patientId) {
+        ListInterface<MedicalTreatment> live = patientIndex.get(patientId.toUpperCase());
+        if (history.isEmpty()) {
+            return live;
+        }
+        ListInterface<MedicalTreatment> patientHistory =
+                history.select(record -> TreatmentRecordCodec.isPatient(record, patientId));
+        for (int i = 0; i < live.size(); i++) {
+            patientHistory.add(live.get(i));
+        }
         return patientHistory;
     }
 
+    // Number of treatments recorded for a patient
+    public int getTreatmentCountByPatient(String patientId) {
+        String key = patientId.toUpperCase();
+        return patientIndex.count(key) + archivedByPatient.count(key);
+    }
+
+    // Patient IDs that have treatments, in order of their first treatment
+    public ListInterface<String> getPatientsWithTreatments() {
+        if (history.isEmpty()) {
+            return patientIndex.keys();
+        }
+        ListInterface<String> patients = new MyArrayList<>();
+        ListInterface<Aggregator.Group<MedicalTreatment, String>> archived = archivedByPatient.groups();
+        for (int i = 0; i < archived.size(); i++) {
+            patients.add(archived.get(i).getKey());
+        }
+        ListInterface<String> live = patientIndex.keys();
+        for (int i = 0; i < live.size(); i++) {
+            if (archivedByPatient.count(live.get(i)) == 0) {
+                patients.add(live.get(i));
+            }
+        }
+        return patients;
+    }
+
     //  Search by Diagnosis
     public ListInterface<MedicalTreatment> getTreatmentsByDiagnosis(String diagnosis) {
         ListInterface<MedicalTreatment> diagnosisTreatments = new MyArrayList<>();
@@ -78,29 +215,48 @@ public class MedicalTreatmentManagement {
     }
 
     //  Filter by Status
-    public ListInterface<MedicalTreatment> getTreatmentsByStatus(String status) {
+    public ListInterface<MedicalTreatment> getTreatmentsByStatus(TreatmentStatus status) {
         ListInterface<MedicalTreatment> statusTreatments = new MyArrayList<>();
         for (int i = 0; i < treatmentList.size(); i++) {
             MedicalTreatment treatment = treatmentList.get(i);
-            if (treatment.getStatus().equalsIgnoreCase(status)) {
+            if (treatment.getStatus() == status) {
                 statusTreatments.add(treatment);
             }
         }
         return statusTreatments;
     }
 
-    // Update treatment status
-    public boolean updateTreatmentStatus(String treatmentId, String newStatus) {
+    // Update treatment status; false if not found or the change is not allowed
+    public boolean updateTreatmentStatus(String treatmentId, TreatmentStatus newStatus) {
         for (int i = 0; i < treatmentList.size(); i++) {
             MedicalTreatment treatment = treatmentList.get(i);
             if (treatment.getTreatmentId().equalsIgnoreCase(treatmentId)) {
+                if (newStatus == null || !treatment.getStatus().canChangeTo(newStatus)) {
+                    return false;
+                }
+                removeFromViews(treatment);
                 treatment.setStatus(newStatus);
+                addToViews(treatment);
+                searchIndex.update(treatment);
                 return true;
             }
         }
         return false;
     }
 
+    // Update treatment cost (in cents); false if not found or already paid
+    public boolean updateTreatmentCost(String treatmentId, long newCostCents) {
+        MedicalTreatment treatment = getTreatmentById(treatmentId);
+        if (treatment == null || treatment.getStatus().isFinal()) {
+            return false;
+        }
+        removeFromViews(treatment);
+        treatment.setCostCents(newCostCents);
+        addToViews(treatment);
+        searchIndex.update(treatment);
+        return true;
+    }
+
     // Get treatment by ID
     public MedicalTreatment getTreatmentById(String treatmentId) {
         for (int i = 0; i < treatmentList.size(); i++) {
@@ -112,53 +268,79 @@ public class MedicalTreatmentManagement {
         return null;
     }
 
-    // Calculate total revenue
-    public double calculateTotalRevenue() {
-        double totalRevenue = 0.0;
+    // True if a treatment, archived or not, was recorded for the consultation
+    public boolean hasTreatmentForConsultation(String consultationId) {
         for (int i = 0; i < treatmentList.size(); i++) {
-            MedicalTreatment treatment = treatmentList.get(i);
-            if (treatment.getStatus().equals("COMPLETED")) {
-                totalRevenue += treatment.getCost();
+            if (treatmentList.get(i).getConsultationId().equals(consultationId)) {
+                return true;
             }
         }
-        return totalRevenue;
+        return archivedByConsultation.count(consultationId) > 0;
     }
 
-    // Calculate revenue by diagnosis
-    public double calculateRevenueByDiagnosis(String diagnosis) {
-        double revenue = 0.0;
-        for (int i = 0; i < treatmentList.size(); i++) {
-            MedicalTreatment treatment = treatmentList.get(i);
-            if (treatment.getDiagnosis().toLowerCase().contains(diagnosis.toLowerCase()) && 
-                treatment.getStatus().equals("COMPLETED")) {
-                revenue += treatment.getCost();
+    // Calculate total revenue (all amounts below are in cents)
+    public long calculateTotalRevenue() {
+        return views.getTotal();
+    }
+
+    // Calculate revenue by diagnosis (partial match, so the diagnosis groups are scanned rather than the treatments)
+    public long calculateRevenueByDiagnosis(String diagnosis) {
+        long revenue = 0L;
+        ListInterface<Aggregator.Group<MedicalTreatment, String>> diagnoses = byDiagnosis.groups();
+        for (int i = 0; i < diagnoses.size(); i++) {
+            Aggregator.Group<MedicalTreatment, String> group = diagnoses.get(i);
+            if (group.getKey().contains(diagnosis.toLowerCase())) {
+                revenue = Money.add(revenue, group.getTotal());
             }
         }
         return revenue;
     }
 
+    // Number of treatments with a status, archived ones included
+    public int getTreatmentCountByStatus(TreatmentStatus status) {
+        return statusCounts[status.ordinal()] + archivedStatusCounts[status.ordinal()];
+    }
+
+    // Total cost of the treatments with a status, e.g. PAID, archived ones included
+    public long getTotalCostByStatus(TreatmentStatus status) {
+        return Money.add(statusCosts[status.ordinal()], archivedStatusCosts[status.ordinal()]);
+    }
+
+    // Number of treatments and revenue per doctor; archived treatments are paid, so never revenue
+    public int getTreatmentCountByDoctor(String doctorId) {
+        String key = doctorId.toUpperCase();
+        return byDoctor.count(key) + archivedByDoctor.count(key);
+    }
+
+    public long calculateRevenueByDoctor(String doctorId) {
+        return byDoctor.total(doctorId.toUpperCase());
+    }
+
+    // Number of treatments and revenue per treatment date
+    public int getTreatmentCountByDate(String treatmentDate) {
+        return byDay.count(treatmentDate) + archivedByDay.count(treatmentDate);
+    }
+
+    public long calculateRevenueByDate(String treatmentDate) {
+        return byDay.total(treatmentDate);
+    }
+
     //  Generate Treatment Reports
     public void generateTreatmentReport() {
         System.out.println("\n=== Medical Treatment Report ===");
         System.out.println("================================================================================================================");
         
-        if (treatmentList.isEmpty()) {
+        if (treatmentList.isEmpty() && history.isEmpty()) {
             System.out.println("| No treatments found.                                                                                        |");
             System.out.println("================================================================================================================");
             return;
         }
 
-        // Count by status
-        int planned = 0, completed = 0, cancelled = 0, paid = 0;
-        for (int i = 0; i < treatmentList.size(); i++) {
-            MedicalTreatment treatment = treatmentList.get(i);
-            switch (treatment.getStatus().toUpperCase()) {
-                case "PLANNED" -> planned++;
-                case "COMPLETED" -> completed++;
-                case "CANCELLED" -> cancelled++;
-                case "PAID" -> paid++;
-            }
-        }
+        // Counts per status and per diagnosis, revenue from completed treatments
+        int planned = getTreatmentCountByStatus(TreatmentStatus.PLANNED);
+        int completed = getTreatmentCountByStatus(TreatmentStatus.COMPLETED);
+        int cancelled = getTreatmentCountByStatus(TreatmentStatus.CANCELLED);
+        int paid = getTreatmentCountByStatus(TreatmentStatus.PAID);
 
         // Treatment Status Summary
         System.out.println("| TREATMENT STATUS SUMMARY                                                                                      |");
@@ -167,26 +349,36 @@ public class MedicalTreatmentManagement {
         System.out.printf("| Completed:   %-3d treatments                                                                                |\n", completed);
         System.out.printf("| Cancelled:   %-3d treatments                                                                                |\n", cancelled);
         System.out.printf("| Paid:        %-3d treatments                                                                                |\n", paid);
-        System.out.printf("| Total:       %-3d treatments                                                                                |\n", treatmentList.size());
+        System.out.printf("| Total:       %-3d treatments                                                                                |\n", treatmentList.size() + history.size());
+        if (!history.isEmpty()) {
+            System.out.printf("| Archived:    %-3d treatments (%d KB off-heap)                                                                  |\n",
+                history.size(), (history.byteSize() + 1023) / 1024);
+        }
         System.out.println("|==============================================================================================================|");
 
         // Financial summary
         System.out.println("| FINANCIAL SUMMARY                                                                                            |");
         System.out.println("|==============================================================================================================|");
-        System.out.printf("| Total Revenue: RM%-10.2f                                                                                    |\n", calculateTotalRevenue());
+        System.out.printf("| Total Revenue: RM%-10s                                                                                    |\n", Money.format(views.getTotal()));
         System.out.println("|==============================================================================================================|");
         
         // Most common diagnoses
         System.out.println("| DIAGNOSIS ANALYSIS                                                                                          |");
         System.out.println("|==============================================================================================================|");
-        String[] commonDiagnoses = {"Fever", "Common Cold", "Headache", "Gastritis", "Pain Management"};
-        for (String diagnosis : commonDiagnoses) {
-            ListInterface<MedicalTreatment> diagnosisTreatments = getTreatmentsByDiagnosis(diagnosis);
-            if (!diagnosisTreatments.isEmpty()) {
-                System.out.printf("| %-15s | %-3d treatments | Revenue: RM%-10.2f |\n", 
-                    diagnosis, diagnosisTreatments.size(), calculateRevenueByDiagnosis(diagnosis));
+        // Every diagnosis among the open and archived treatments, most common first
+        ListInterface<Aggregator.Group<MedicalTreatment, String>> diagnoses = byDiagnosis.groups();
+        ListInterface<Aggregator.Group<MedicalTreatment, String>> archivedDiagnoses = archivedByDiagnosis.groups();
+        for (int i = 0; i < archivedDiagnoses.size(); i++) {
+            if (byDiagnosis.get(archivedDiagnoses.get(i).getKey()) == null) {
+                diagnoses.add(archivedDiagnoses.get(i));
             }
         }
+        diagnoses.sort((group1, group2) -> Integer.compare(countByDiagnosisKey(group2.getKey()), countByDiagnosisKey(group1.getKey())));
+        for (int i = 0; i < diagnoses.size(); i++) {
+            Aggregator.Group<MedicalTreatment, String> diagnosis = diagnoses.get(i);
+            System.out.printf("| %-15s | %-3d treatments | Revenue: RM%-10s |\n", 
+                diagnosis.getLabel(), countByDiagnosisKey(diagnosis.getKey()), Money.format(byDiagnosis.total(diagnosis.getKey())));
+        }
         System.out.println("================================================================================================================");
     }
 
@@ -194,6 +386,25 @@ public class MedicalTreatmentManagement {
 
    
 
+    // Open and archived treatments with a lower-case diagnosis
+    private int countByDiagnosisKey(String key) {
+        return byDiagnosis.count(key) + archivedByDiagnosis.count(key);
+    }
+
+    // Running totals follow a treatment in and out of every view
+    private void addToViews(MedicalTreatment treatment) {
+        views.add(treatment);
+        statusCounts[treatment.getStatus().ordinal()]++;
+        statusCosts[treatment.getStatus().ordinal()] += treatment.getCostCents();
+    }
+
+    private void removeFromViews(MedicalTreatment treatment) {
+        views.remove(treatment);
+        statusCounts[treatment.getStatus().ordinal()]--;
+        statusCosts[treatment.getStatus().ordinal()] -= treatment.getCostCents();
+    }
+
+    // Treatments still in memory; archived (paid) ones are only in the patient histories and the counts
     public ListInterface<MedicalTreatment> getAllTreatments() {
         return treatmentList;
     }
@@ -4,19 +4,58 @@
  */
 package Control;
 import Entity.Medicine;
+import Entity.MedicineLot;
 import ADT.MyArrayList;
+import ADT.HashIndex;
+import ADT.InvertedIndex;
 import ADT.ListInterface;
+import ADT.MapInterface;
+import ADT.MultiMapIndex;
+import ADT.MyHashMap;
+import ADT.MyIterator;
+import ADT.MyPriorityQueue;
+import ADT.PrefixIndex;
+import ADT.PriorityQueueInterface;
+import ADT.SortedIndex;
+import Utility.LinearSearch;
+import Utility.Money;
+import java.time.LocalDate;
 /**
  *
  * @author yapjinkai
  */
 public class MedicineMaintenance {
     private final MyArrayList<Medicine> medicineList;
-    private final MyArrayList<MyArrayList.KeyValuePair<String, MyArrayList<String>>> diagnosisMedicineMap; 
+    private final MapInterface<String, MyArrayList<String>> diagnosisMedicineMap;
+    private final InvertedIndex<Medicine> searchIndex;
+    private final HashIndex<String, Medicine> idIndex;         // Upper-case medicine ID
+    private final MultiMapIndex<String, Medicine> nameIndex;   // Upper-case name
+    private final PrefixIndex<Medicine> prefixIndex;           // Medicine ID and name
+    private final SortedIndex<Medicine> expiryIndex;           // Expiry epoch day of the first-expiring lot; undated left out
+    private int expiryAlertedThrough = Medicine.NO_EXPIRY_DAY;  // Last expiry day covered by pollNewlyExpiring
+    private final MyArrayList<Medicine> lateExpiryAlerts;      // Added with an expiry day already covered
+    private final MapInterface<String, LotInventory> lotInventories;  // Upper-case medicine ID
 
     public MedicineMaintenance(MyArrayList<Medicine> medicineList) {
         this.medicineList = medicineList;
-        this.diagnosisMedicineMap = new MyArrayList<>();
+        this.diagnosisMedicineMap = new MyHashMap<>();
+        // Stock is left out of the search text so dispensing never has to touch the index
+        this.searchIndex = new InvertedIndex<>(med -> String.format("ID: %s | Name: %s | Category: %s | Expiry: %s",
+                med.getMedicineID(), med.getName(), med.getCategory(), med.getExpiryDate()));
+        this.idIndex = new HashIndex<>(med -> med.getMedicineID().toUpperCase());
+        this.nameIndex = new MultiMapIndex<>(med -> med.getName().toUpperCase());
+        this.prefixIndex = new PrefixIndex<>(Medicine::getMedicineID, Medicine::getName);
+        this.expiryIndex = new SortedIndex<>(med ->
+                expiryDayOf(med) == Medicine.NO_EXPIRY_DAY ? null : expiryDayOf(med));
+        this.lateExpiryAlerts = new MyArrayList<>();
+        this.lotInventories = new MyHashMap<>();
+        for (int i = 0; i < medicineList.size(); i++) {
+            Medicine med = medicineList.get(i);
+            if (findById(med.getMedicineID()) != null) {
+                throw new IllegalArgumentException("Duplicate medicine ID: " + med.getMedicineID());
+            }
+            indexMedicine(med);
+        }
         this.nextMedicineId = 14;
     }
     
@@ -26,36 +65,201 @@ public class MedicineMaintenance {
         return String.format("M%03d", nextMedicineId++);
     }
 
-    public void addMedicine(Medicine med) {
+    // Medicine IDs are unique, ignoring case; false if the ID is already listed
+    public boolean addMedicine(Medicine med) {
+        if (findById(med.getMedicineID()) != null) {
+            return false;
+        }
         medicineList.add(med);
+        indexMedicine(med);
+        synchronized (expiryIndex) {
+            int expiryDay = expiryDayOf(med);
+            if (expiryDay != Medicine.NO_EXPIRY_DAY && expiryDay <= expiryAlertedThrough) {
+                lateExpiryAlerts.add(med);
+            }
+        }
+        return true;
     }
 
     public boolean removeMedicine(String id) {
-        for (int i = 0; i < medicineList.size(); i++) {
-            Medicine med = medicineList.get(i);
-            if (med.getMedicineID().equalsIgnoreCase(id)) {
-                return medicineList.remove(med);
-            }
+        Medicine med = findById(id);
+        if (med == null) {
+            return false;
+        }
+        searchIndex.remove(med);
+        idIndex.remove(med);
+        nameIndex.remove(med);
+        prefixIndex.remove(med);
+        synchronized (expiryIndex) {
+            expiryIndex.remove(med);
+            lateExpiryAlerts.remove(med);
         }
-        return false;
+        lotInventories.remove(med.getMedicineID().toUpperCase());
+        return medicineList.remove(med);
     }
 
+    // Safe to call from several dispensing counters at once, as long as medicines are
+    // not being added or removed at the same time. Lots are used first-expiring-first-out.
     public boolean dispenseMedicine(String id, int quantity) {
-        for (int i = 0; i < medicineList.size(); i++) {
-            Medicine med = medicineList.get(i);
-            if (med.getMedicineID().equalsIgnoreCase(id)) {
-                if (med.getStock() >= quantity) {
-                    med.reduceStock(quantity);
-                    return true;
+        Medicine med = findById(id);
+        if (med == null || !med.tryReduceStock(quantity)) {
+            return false;
+        }
+        consumeLots(med, quantity);
+        return true;
+    }
+    
+    // Record a new delivery of a medicine as its own lot
+    public boolean receiveLot(String medicineId, int quantity, String expiryDate) {
+        Medicine med = findById(medicineId);
+        if (med == null || quantity <= 0) {
+            return false;
+        }
+        LotInventory inventory = lotInventories.get(med.getMedicineID().toUpperCase());
+        boolean headChanged;
+        synchronized (inventory) {
+            inventory.addLot(med.getMedicineID(), quantity, expiryDate);
+            headChanged = inventory.refreshHead();
+        }
+        // Only after the lot is in place, so reserved stock can always be found in the lots
+        med.addStock(quantity);
+        if (headChanged) {
+            reindexExpiry(med);
+        }
+        return true;
+    }
+    
+    // Lots of a medicine in the order they will be dispensed
+    public ListInterface<MedicineLot> getLots(String medicineId) {
+        ListInterface<MedicineLot> lots = new MyArrayList<>();
+        Medicine med = findById(medicineId);
+        if (med == null) {
+            return lots;
+        }
+        LotInventory inventory = lotInventories.get(med.getMedicineID().toUpperCase());
+        synchronized (inventory) {
+            while (!inventory.lots.isEmpty()) {
+                lots.add(inventory.lots.poll());
+            }
+            for (int i = 0; i < lots.size(); i++) {
+                inventory.lots.insert(lots.get(i));
+            }
+        }
+        return lots;
+    }
+    
+    // Expiry date of the lot that will be dispensed next, or null if no stock is left in a lot
+    public String getNextExpiryDate(String medicineId) {
+        Medicine med = findById(medicineId);
+        MedicineLot head = med == null ? null : lotInventories.get(med.getMedicineID().toUpperCase()).head;
+        return head == null ? null : head.getExpiryDate();
+    }
+    
+    // Takes already reserved stock out of the lots, earliest expiry first
+    private void consumeLots(Medicine med, int quantity) {
+        LotInventory inventory = lotInventories.get(med.getMedicineID().toUpperCase());
+        if (inventory == null) {
+            return;
+        }
+        boolean headChanged;
+        synchronized (inventory) {
+            while (quantity > 0 && !inventory.lots.isEmpty()) {
+                MedicineLot lot = inventory.lots.peek();
+                quantity -= lot.take(quantity);
+                if (lot.isEmpty()) {
+                    inventory.lots.poll();
+                }
+            }
+            headChanged = inventory.refreshHead();
+        }
+        if (headChanged) {
+            reindexExpiry(med);
+        }
+    }
+    
+    // Re-files a medicine under the expiry of its new first lot. Dispensing counters get here
+    // only when a lot runs out, so one lock around the expiry state is enough. A new expiry in
+    // the stretch pollNewlyExpiring has already covered is alerted on the next poll.
+    private void reindexExpiry(Medicine med) {
+        synchronized (expiryIndex) {
+            if (findById(med.getMedicineID()) != med) {
+                return;   // Removed in the meantime
+            }
+            expiryIndex.add(med);
+            int expiryDay = expiryDayOf(med);
+            if (expiryDay != Medicine.NO_EXPIRY_DAY && expiryDay <= expiryAlertedThrough && !lateExpiryAlerts.contains(med)) {
+                lateExpiryAlerts.add(med);
+            }
+        }
+    }
+    
+    // Expiry epoch day of the lot dispensed next, or NO_EXPIRY_DAY
+    private int expiryDayOf(Medicine med) {
+        LotInventory inventory = lotInventories.get(med.getMedicineID().toUpperCase());
+        MedicineLot head = inventory == null ? null : inventory.head;
+        return head == null ? Medicine.NO_EXPIRY_DAY : head.getExpiryEpochDay();
+    }
+
+    // Dispenses every line of the prescription or none of them. Each line's stock is reserved
+    // with a compare-and-set and handed back if a later line cannot be filled, so no lock is held
+    // while reserving. Lots are only touched once every line is reserved.
+    public DispenseResult dispensePrescription(ListInterface<PrescriptionLine> lines) {
+        if (lines == null || lines.isEmpty()) {
+            return new DispenseResult(false, 0, null, "Prescription has no lines");
+        }
+        
+        Medicine[] reserved = new Medicine[lines.size()];
+        for (int i = 0; i < lines.size(); i++) {
+            PrescriptionLine line = lines.get(i);
+            String failure = null;
+            if (line == null || line.quantity <= 0) {
+                failure = "Invalid prescription line: " + line;
+            } else {
+                Medicine med = findById(line.medicineId);
+                if (med == null) {
+                    failure = "Medicine not found: " + line.medicineId;
+                } else if (!med.tryReduceStock(line.quantity)) {
+                    failure = String.format("Insufficient stock for %s: required %d, available %d",
+                            med.getName(), line.quantity, med.getStock());
+                } else {
+                    reserved[i] = med;
+                }
+            }
+            
+            if (failure != null) {
+                for (int j = i - 1; j >= 0; j--) {
+                    reserved[j].addStock(lines.get(j).quantity);
                 }
-                return false;
+                return new DispenseResult(false, 0, line, failure);
             }
         }
-        return false;
+        for (int i = 0; i < lines.size(); i++) {
+            consumeLots(reserved[i], lines.get(i).quantity);
+        }
+        return new DispenseResult(true, lines.size(), null, "Dispensed " + lines.size() + " prescription line(s)");
+    }
+
+    // Search medicines through the search index
+    public MyArrayList<LinearSearch.SearchResult<Medicine>> searchMedicines(String query) {
+        return LinearSearch.search(query, searchIndex);
+    }
+
+    // Autocomplete on medicine ID or name
+    public MyArrayList<LinearSearch.SearchResult<Medicine>> searchMedicinesStartingWith(String prefix, int limit) {
+        return LinearSearch.searchStartsWith(prefix, prefixIndex, limit);
     }
 
     public Medicine findByName(String name) {
-        return medicineList.findFirst(med -> med.getName().equalsIgnoreCase(name));
+        if (name == null) {
+            return null;
+        }
+        String key = name.toUpperCase();
+        if (nameIndex.count(key) > 1) {
+            // Several medicines share the name: the first in list order wins
+            return medicineList.findFirst(med -> med.getName().equalsIgnoreCase(name));
+        }
+        MyIterator<Medicine> matches = nameIndex.iterator(key);
+        return matches.hasNext() ? matches.next() : null;
     }
 
     public void sortMedicinesByStock() {
@@ -77,34 +281,66 @@ public class MedicineMaintenance {
         }
     }
 
+    // Medicines expiring after today and before the limit date, soonest first
+    public ListInterface<Medicine> getMedicinesExpiringBefore(LocalDate today, LocalDate limit) {
+        synchronized (expiryIndex) {
+            return expiryIndex.range((int) today.toEpochDay() + 1, (int) limit.toEpochDay() - 1);
+        }
+    }
+    
+    // Expiry alerts for the pharmacy dashboard: medicines that have entered the window
+    // (today, today + days] since the previous call. Only the newly covered stretch of the
+    // expiry index is read.
+    public ListInterface<Medicine> pollNewlyExpiring(LocalDate today, int days) {
+        int todayDay = (int) today.toEpochDay();
+        int horizon = todayDay + days;
+        synchronized (expiryIndex) {
+            ListInterface<Medicine> alerts = expiryIndex.range(Math.max(todayDay, expiryAlertedThrough) + 1, horizon);
+            
+            // Medicines added or re-filed after their expiry day had already been covered
+            for (int i = lateExpiryAlerts.size() - 1; i >= 0; i--) {
+                Medicine med = lateExpiryAlerts.get(i);
+                int expiryDay = expiryDayOf(med);
+                if (expiryDay == Medicine.NO_EXPIRY_DAY || expiryDay <= horizon) {
+                    if (expiryDay > todayDay && !alerts.contains(med)) {
+                        alerts.add(med);
+                    }
+                    lateExpiryAlerts.remove(med);
+                }
+            }
+            expiryAlertedThrough = Math.max(expiryAlertedThrough, horizon);
+            return alerts;
+        }
+    }
+
     public MyArrayList<Medicine> getAllMedicines() {
         return medicineList;
     }
     
-    // Revenue tracking methods
-    public double calculateRevenueFromMedicine(String medicineId, int quantity) {
+    // Revenue tracking methods (in cents)
+    public long calculateRevenueFromMedicine(String medicineId, int quantity) {
         Medicine medicine = findById(medicineId);
         if (medicine != null) {
             // Calculate revenue based on medicine type and quantity
-            double basePrice = getBasePriceForMedicine(medicine);
-            return basePrice * quantity;
+            long basePrice = getBasePriceForMedicine(medicine);
+            return Money.multiply(basePrice, quantity);
         }
-        return 0.0;
+        return 0L;
     }
     
-    private double getBasePriceForMedicine(Medicine medicine) {
-        // Base prices for different medicine categories (in RM)
+    private long getBasePriceForMedicine(Medicine medicine) {
+        // Base prices for different medicine categories (in cents)
         String category = medicine.getCategory();
         return switch (category.toLowerCase()) {
-            case "painkiller" -> 8.50;
-            case "cold medicine" -> 12.00;
-            case "digestive" -> 15.00;
-            case "topical" -> 10.00;
-            case "neurological" -> 25.00;
-            case "vitamin" -> 18.00;
-            case "antibiotic" -> 22.00;
-            case "musculoskeletal" -> 28.00;
-            default -> 12.00; // General medication
+            case "painkiller" -> 850;
+            case "cold medicine" -> 1200;
+            case "digestive" -> 1500;
+            case "topical" -> 1000;
+            case "neurological" -> 2500;
+            case "vitamin" -> 1800;
+            case "antibiotic" -> 2200;
+            case "musculoskeletal" -> 2800;
+            default -> 1200; // General medication
         };
     }
     
@@ -121,13 +357,13 @@ public class MedicineMaintenance {
         }
         
         StringBuilder prescription = new StringBuilder();
-        double totalRevenue = 0.0;
+        long totalRevenue = 0L;
         
         for (int i = 0; i < medicines.size(); i++) {
             Medicine medicine = medicines.get(i);
             int quantity = calculateQuantityForMedicine(medicine, diagnosis);
-            double revenue = calculateRevenueFromMedicine(medicine.getMedicineID(), quantity);
-            totalRevenue += revenue;
+            long revenue = calculateRevenueFromMedicine(medicine.getMedicineID(), quantity);
+            totalRevenue = Money.add(totalRevenue, revenue);
             
             prescription.append(medicine.getName()).append(" - ");
             prescription.append(quantity).append(" units");
@@ -137,7 +373,7 @@ public class MedicineMaintenance {
             }
         }
         
-                    prescription.append(" | Total Revenue: RM").append(String.format("%.2f", totalRevenue));
+        Money.appendTo(prescription.append(" | Total Revenue: RM"), totalRevenue);
         return prescription.toString();
     }
     
@@ -197,7 +433,7 @@ public class MedicineMaintenance {
         addDiagnosisMedicine("Back Pain", "M007");
     }
     
-    // Add medicine to diagnosis relationship using ADT HashMap functionality
+    // Add medicine to diagnosis relationship using the MyHashMap ADT
     private void addDiagnosisMedicine(String diagnosis, String medicineId) {
         MyArrayList<String> medicineIds = diagnosisMedicineMap.get(diagnosis);
         if (medicineIds == null) {
@@ -227,12 +463,44 @@ public class MedicineMaintenance {
     
     // Find medicine by ID
     public Medicine findById(String medicineId) {
-        return medicineList.findFirst(med -> med.getMedicineID().equalsIgnoreCase(medicineId));
+        return medicineId == null ? null : idIndex.get(medicineId.toUpperCase());
+    }
+    
+    private void indexMedicine(Medicine med) {
+        // The stock the medicine arrives with is its first lot; the expiry index reads it
+        LotInventory inventory = new LotInventory();
+        if (med.getStock() > 0) {
+            inventory.addLot(med.getMedicineID(), med.getStock(), med.getExpiryDate());
+            inventory.refreshHead();
+        }
+        lotInventories.put(med.getMedicineID().toUpperCase(), inventory);
+        
+        searchIndex.add(med);
+        idIndex.add(med);
+        nameIndex.add(med);
+        prefixIndex.add(med);
+        synchronized (expiryIndex) {
+            expiryIndex.add(med);
+        }
+    }
+    
+    // Earliest expiry first; lots without a valid date go last
+    private static int compareByExpiry(MedicineLot lot1, MedicineLot lot2) {
+        return Integer.compare(expiryOrder(lot1), expiryOrder(lot2));
+    }
+    
+    private static int expiryOrder(MedicineLot lot) {
+        return lot.getExpiryEpochDay() == Medicine.NO_EXPIRY_DAY ? Integer.MAX_VALUE : lot.getExpiryEpochDay();
     }
     
     // Get all diagnoses that have medicine relationships
     public ListInterface<String> getAllDiagnoses() {
-        return diagnosisMedicineMap.keySet();
+        ListInterface<String> diagnoses = new MyArrayList<>(diagnosisMedicineMap.size());
+        MyIterator<String> keys = diagnosisMedicineMap.keys();
+        while (keys.hasNext()) {
+            diagnoses.add(keys.next());
+        }
+        return diagnoses;
     }
     
     // Add new diagnosis-medicine relationship
@@ -246,7 +514,7 @@ public class MedicineMaintenance {
         if (medicineIds != null) {
             medicineIds.remove(medicineId);
             if (medicineIds.isEmpty()) {
-                diagnosisMedicineMap.removeByKey(diagnosis);
+                diagnosisMedicineMap.remove(diagnosis);
             }
         }
     }
@@ -254,10 +522,10 @@ public class MedicineMaintenance {
     // Get diagnosis-medicine relationship report
     public void generateDiagnosisMedicineReport() {
         System.out.println("=== Diagnosis-Medicine Relationship Report ===");
-        MyArrayList<MyArrayList.KeyValuePair<String, MyArrayList<String>>> entries = diagnosisMedicineMap.entrySet();
+        MyIterator<MapInterface.Entry<String, MyArrayList<String>>> entries = diagnosisMedicineMap.entries();
         
-        for (int i = 0; i < entries.size(); i++) {
-            MyArrayList.KeyValuePair<String, MyArrayList<String>> entry = entries.get(i);
+        while (entries.hasNext()) {
+            MapInterface.Entry<String, MyArrayList<String>> entry = entries.next();
             String diagnosis = entry.getKey();
             MyArrayList<String> medicineIds = entry.getValue();
             
@@ -273,4 +541,61 @@ public class MedicineMaintenance {
             }
         }
     }
+    
+    // Lots of one medicine, first-expiring on top. Each inventory is its own lock, so
+    // counters dispensing different medicines never wait for each other.
+    private static class LotInventory {
+        private final PriorityQueueInterface<MedicineLot> lots = new MyPriorityQueue<>(MedicineMaintenance::compareByExpiry);
+        private volatile MedicineLot head;   // Lot dispensed next, readable without the lock
+        private int nextLotNumber = 1;
+        
+        void addLot(String medicineId, int quantity, String expiryDate) {
+            lots.insert(new MedicineLot(medicineId + "-L" + nextLotNumber++, medicineId, quantity, expiryDate));
+        }
+        
+        // Call with the lock held; true if the expiry of the lot dispensed next has changed
+        boolean refreshHead() {
+            MedicineLot next = lots.isEmpty() ? null : lots.peek();
+            int oldDay = head == null ? Medicine.NO_EXPIRY_DAY : head.getExpiryEpochDay();
+            int newDay = next == null ? Medicine.NO_EXPIRY_DAY : next.getExpiryEpochDay();
+            head = next;
+            return oldDay != newDay;
+        }
+    }
+    
+    // One medicine and quantity on a prescription
+    public static class PrescriptionLine {
+        public final String medicineId;
+        public final int quantity;
+        
+        public PrescriptionLine(String medicineId, int quantity) {
+            this.medicineId = medicineId;
+            this.quantity = quantity;
+        }
+        
+        @Override
+        public String toString() {
+            return medicineId + " x " + quantity;
+        }
+    }
+    
+    // Outcome of dispensePrescription: either every line was dispensed or none was
+    public static class DispenseResult {
+        public final boolean success;
+        public final int linesDispensed;
+        public final PrescriptionLine failedLine;   // Line that could not be filled, null on success
+        public final String message;
+        
+        public DispenseResult(boolean success, int linesDispensed, PrescriptionLine failedLine, String message) {
+            this.success = success;
+            this.linesDispensed = linesDispensed;
+            this.failedLine = failedLine;
+            this.message = message;
+        }
+        
+        @Override
+        public String toString() {
+            return (success ? "SUCCESS: " : "FAILED: ") + message;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,245 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package Control;
+
+import ADT.MapInterface;
+import ADT.MyBitSet;
+import ADT.MyHashMap;
+import Entity.Consultation;
+
+/**
+ * Time-slot occupancy per clinic day.
+ * Slots start at the opening time and repeat every slot length until closing time.
+ * Each day keeps its occupancy per doctor and clinic-wide as per-slot counts mirrored into
+ * bitsets, so free-slot and next-free-slot queries are word-level bit scans. Days are keyed
+ * by epoch day and dropped once their last booking goes, so only booked days take memory.
+ * Times are taken as a minute of day, which skips parsing altogether,
+ * and slot labels are formatted once up front.
+ *
+ * @author yapjinkai
+ */
+public class TimeSlotSchedule {
+    private final int openingMinute;
+    private final int slotMinutes;
+    private final int slotCount;
+    private final String[] slotTimes;                        // "HH:mm" label per slot
+    private final MapInterface<Integer, Day> days;           // Epoch day -> occupancy, booked days only
+    private final Day emptyDay;                              // Read-only stand-in for days with no bookings
+
+    public TimeSlotSchedule(String openingTime, String closingTime, int slotMinutes) {
+        int opening = Consultation.parseMinuteOfDay(openingTime);
+        int closing = Consultation.parseMinuteOfDay(closingTime);
+        if (opening < 0 || closing < 0 || closing <= opening) {
+            throw new IllegalArgumentException("Invalid opening hours: " + openingTime + " - " + closingTime);
+        }
+        if (slotMinutes <= 0) {
+            throw new IllegalArgumentException("Slot length must be positive: " + slotMinutes);
+        }
+        this.openingMinute = opening;
+        this.slotMinutes = slotMinutes;
+        this.slotCount = (closing - opening + slotMinutes - 1) / slotMinutes;
+        this.slotTimes = new String[slotCount];
+        for (int slot = 0; slot < slotCount; slot++) {
+            int minute = opening + slot * slotMinutes;
+            slotTimes[slot] = String.format("%02d:%02d", minute / 60, minute % 60);
+        }
+        this.days = new MyHashMap<>();
+        this.emptyDay = new Day(slotCount);
+    }
+
+    // Hold the slot for an active booking
+    public void book(String doctorId, int day, int minuteOfDay) {
+        int slot = getSlotIndex(minuteOfDay);
+        if (slot >= 0) {
+            Day occupancy = dayForUpdate(day);
+            occupancy.booked.add(slot);
+            occupancy.doctorOccupancy(doctorId, true).add(slot);
+        }
+    }
+
+    // Free the slot when a booking is cancelled or removed
+    public void release(String doctorId, int day, int minuteOfDay) {
+        int slot = getSlotIndex(minuteOfDay);
+        Day occupancy = days.get(day);
+        if (slot >= 0 && occupancy != null) {
+            occupancy.booked.remove(slot);
+            occupancy.doctorOccupancy(doctorId, true).remove(slot);
+            dropIfEmpty(day, occupancy);
+        }
+    }
+
+    // Note a booking at this time regardless of its status
+    public void record(int day, int minuteOfDay) {
+        int slot = getSlotIndex(minuteOfDay);
+        if (slot >= 0) {
+            dayForUpdate(day).recorded.add(slot);
+        }
+    }
+
+    public void unrecord(int day, int minuteOfDay) {
+        int slot = getSlotIndex(minuteOfDay);
+        Day occupancy = days.get(day);
+        if (slot >= 0 && occupancy != null) {
+            occupancy.recorded.remove(slot);
+            dropIfEmpty(day, occupancy);
+        }
+    }
+
+    public boolean isFree(int day, String time) {
+        int slot = getSlotIndex(time);
+        return slot >= 0 && !dayForRead(day).booked.slots.get(slot);
+    }
+
+    public boolean isFree(String doctorId, int day, String time) {
+        int slot = getSlotIndex(time);
+        return slot >= 0 && !dayForRead(day).doctorOccupancy(doctorId, false).slots.get(slot);
+    }
+
+    public String[] getFreeSlots(int day) {
+        return freeSlots(dayForRead(day).booked.slots);
+    }
+
+    public String[] getFreeSlots(String doctorId, int day) {
+        return freeSlots(dayForRead(day).doctorOccupancy(doctorId, false).slots);
+    }
+
+    // Earliest free slot, or null when the day is fully booked
+    public String getFirstFreeSlot(int day) {
+        return slotTimeOrNull(dayForRead(day).booked.slots.nextClearBit(0));
+    }
+
+    // Earliest free slot starting strictly after the given time, or null if none
+    public String getFirstFreeSlotAfter(int day, String time) {
+        return getFirstFreeSlotAfter(day, Consultation.parseMinuteOfDay(time));
+    }
+
+    public String getFirstFreeSlotAfter(int day, int minute) {
+        int from = minute < openingMinute ? 0 : (minute - openingMinute) / slotMinutes + 1;
+        return slotTimeOrNull(dayForRead(day).booked.slots.nextClearBit(from));
+    }
+
+    // Latest slot with any booking recorded, or null if none
+    public String getLatestRecordedSlot(int day) {
+        return slotTimeOrNull(dayForRead(day).recorded.slots.previousSetBit(slotCount - 1));
+    }
+
+    public String getLastSlot() {
+        return getSlotTime(slotCount - 1);
+    }
+
+    public int getSlotCount() {
+        return slotCount;
+    }
+
+    public int getOpeningMinute() {
+        return openingMinute;
+    }
+
+    public String getSlotTime(int slot) {
+        return slotTimes[slot];
+    }
+
+    // Slot index of an "HH:mm" time, or -1 if it is not a slot start within opening hours
+    public int getSlotIndex(String time) {
+        return getSlotIndex(Consultation.parseMinuteOfDay(time));
+    }
+
+    public int getSlotIndex(int minute) {
+        if (minute < openingMinute || (minute - openingMinute) % slotMinutes != 0) {
+            return -1;
+        }
+        int slot = (minute - openingMinute) / slotMinutes;
+        return slot < slotCount ? slot : -1;
+    }
+
+    private String[] freeSlots(MyBitSet occupied) {
+        String[] result = new String[slotCount - occupied.cardinality()];
+        int count = 0;
+        for (int slot = occupied.nextClearBit(0); slot >= 0; slot = occupied.nextClearBit(slot + 1)) {
+            result[count++] = getSlotTime(slot);
+        }
+        return result;
+    }
+
+    private String slotTimeOrNull(int slot) {
+        return slot < 0 ? null : getSlotTime(slot);
+    }
+
+    private Day dayForRead(int day) {
+        Day occupancy = days.get(day);
+        return occupancy != null ? occupancy : emptyDay;
+    }
+
+    private Day dayForUpdate(int day) {
+        Day occupancy = days.get(day);
+        if (occupancy == null) {
+            occupancy = new Day(slotCount);
+            days.put(day, occupancy);
+        }
+        return occupancy;
+    }
+
+    private void dropIfEmpty(int day, Day occupancy) {
+        if (occupancy.booked.total == 0 && occupancy.recorded.total == 0) {
+            days.remove(day);
+        }
+    }
+
+    // One day's occupancy: clinic-wide, per doctor, and every booking recorded
+    private static class Day {
+        private final int slotCount;
+        private final Occupancy booked;                          // Slots held by active bookings
+        private final Occupancy recorded;                        // Slots of every booking, cancelled included
+        private final MapInterface<String, Occupancy> doctorBookings;  // Upper-case doctor ID
+
+        Day(int slotCount) {
+            this.slotCount = slotCount;
+            this.booked = new Occupancy(slotCount);
+            this.recorded = new Occupancy(slotCount);
+            this.doctorBookings = new MyHashMap<>();
+        }
+
+        // Reads of a doctor with no bookings get an empty occupancy that is not kept
+        Occupancy doctorOccupancy(String doctorId, boolean create) {
+            String key = doctorId.toUpperCase();
+            Occupancy occupancy = doctorBookings.get(key);
+            if (occupancy == null) {
+                occupancy = new Occupancy(slotCount);
+                if (create) {
+                    doctorBookings.put(key, occupancy);
+                }
+            }
+            return occupancy;
+        }
+    }
+
+    // Booking count per slot, with a bit set for every slot holding at least one booking
+    private static class Occupancy {
+        private final int[] counts;
+        private final MyBitSet slots;
+        private int total;
+
+        Occupancy(int slotCount) {
+            this.counts = new int[slotCount];
+            this.slots = new MyBitSet(slotCount);
+        }
+
+        void add(int slot) {
+            total++;
+            if (counts[slot]++ == 0) {
+                slots.set(slot);
+            }
+        }
+
+        void remove(int slot) {
+            if (counts[slot] > 0) {
+                total--;
+                if (--counts[slot] == 0) {
+                    slots.clear(slot);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package Control;
+
+import ADT.OffHeapRecordList;
+import Entity.MedicalTreatment;
+import Entity.TreatmentStatus;
+
+/**
+ * Fixed record layout of a treatment in an OffHeapRecordList: the cost in cents, seven
+ * text fields and the status code, 72 bytes a treatment. The static accessors read one
+ * field of a record in place for scans over the treatment history.
+ *
+ * @author yapjinkai
+ */
+public class TreatmentRecordCodec implements OffHeapRecordList.RecordCodec<MedicalTreatment> {
+
+    private static final long COST_CENTS = 0;
+    private static final long TREATMENT_ID = 8;
+    private static final long CONSULTATION_ID = TREATMENT_ID + OffHeapRecordList.TEXT_FIELD_SIZE;
+    private static final long PATIENT_ID = CONSULTATION_ID + OffHeapRecordList.TEXT_FIELD_SIZE;
+    private static final long DOCTOR_ID = PATIENT_ID + OffHeapRecordList.TEXT_FIELD_SIZE;
+    private static final long DIAGNOSIS = DOCTOR_ID + OffHeapRecordList.TEXT_FIELD_SIZE;
+    private static final long PRESCRIPTION = DIAGNOSIS + OffHeapRecordList.TEXT_FIELD_SIZE;
+    private static final long TREATMENT_DATE = PRESCRIPTION + OffHeapRecordList.TEXT_FIELD_SIZE;
+    private static final long STATUS = TREATMENT_DATE + OffHeapRecordList.TEXT_FIELD_SIZE;
+    private static final long RECORD_SIZE = STATUS + Long.BYTES;   // Padded to keep the cost 8-byte aligned
+
+    @Override
+    public long recordSize() {
+        return RECORD_SIZE;
+    }
+
+    @Override
+    public void write(MedicalTreatment treatment, OffHeapRecordList<MedicalTreatment>.RecordView record) {
+        record.putLong(COST_CENTS, treatment.getCostCents());
+        record.putText(TREATMENT_ID, treatment.getTreatmentId());
+        record.putText(CONSULTATION_ID, treatment.getConsultationId());
+        record.putText(PATIENT_ID, treatment.getPatientId());
+        record.putText(DOCTOR_ID, treatment.getDoctorId());
+        record.putText(DIAGNOSIS, treatment.getDiagnosis());
+        record.putText(PRESCRIPTION, treatment.getPrescription());
+        record.putText(TREATMENT_DATE, treatment.getTreatmentDate());
+        record.putByte(STATUS, treatment.getStatus().code());
+    }
+
+    @Override
+    public MedicalTreatment read(OffHeapRecordList<MedicalTreatment>.RecordView record) {
+        return new MedicalTreatment(
+                record.getText(TREATMENT_ID),
+                record.getText(CONSULTATION_ID),
+                record.getText(PATIENT_ID),
+                record.getText(DOCTOR_ID),
+                record.getText(DIAGNOSIS),
+                record.getText(PRESCRIPTION),
+                record.getText(TREATMENT_DATE),
+                record.getLong(COST_CENTS),
+                status(record));
+    }
+
+    public static TreatmentStatus status(OffHeapRecordList<?>.RecordView record) {
+        return TreatmentStatus.fromCode(record.getByte(STATUS));
+    }
+
+    public static long costCents(OffHeapRecordList<?>.RecordView record) {
+        return record.getLong(COST_CENTS);
+    }
+
+    // Patient IDs match ignoring case, like the live index
+    public static boolean isPatient(OffHeapRecordList<?>.RecordView record, String patientId) {
+        return record.textEqualsIgnoreCase(PATIENT_ID, patientId);
+    }
+}
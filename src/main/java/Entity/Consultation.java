@@ -4,35 +4,48 @@
  */
 package Entity;
 
+import java.time.LocalDate;
+
 /**
  *
  * @author yapjinkai
  */
 public class Consultation {
+    public static final int MINUTES_PER_DAY = 24 * 60;
+    
     private String consultationId;
     private String patientId;
     private String patientName;
     private String doctorId;
     private String doctorName;
     private String appointmentTime;
+    private final int appointmentDay;   // Appointment date as days since 1970-01-01
+    private int appointmentMinute;      // Minute of day parsed from appointmentTime, -1 if malformed (sorts first)
     private String symptoms;
     private String diagnosis;
-    private String queueType; // WALK_IN, SCHEDULED, EMERGENCY
-    private String status; // WAITING, CONSULTED, COMPLETED, CANCELLED
+    private QueueType queueType;
+    private ConsultationStatus status;
     private int estimatedWaitingMinutes;
 
+    // An appointment today
+    public Consultation(String consultationId, String patientId, String patientName, String doctorId, String doctorName,
+                       String appointmentTime, String symptoms, QueueType queueType) {
+        this(consultationId, patientId, patientName, doctorId, doctorName, LocalDate.now(), appointmentTime, symptoms, queueType);
+    }
+
     public Consultation(String consultationId, String patientId, String patientName, String doctorId, String doctorName,
-                       String appointmentTime, String symptoms, String queueType) {
+                       LocalDate appointmentDate, String appointmentTime, String symptoms, QueueType queueType) {
         this.consultationId = consultationId;
         this.patientId = patientId;
         this.patientName = patientName;
         this.doctorId = doctorId;
         this.doctorName = doctorName;
-        this.appointmentTime = appointmentTime;
+        this.appointmentDay = (int) appointmentDate.toEpochDay();
+        setAppointmentTime(appointmentTime);
         this.symptoms = symptoms;
         this.diagnosis = "Pending";
         this.queueType = queueType;
-        this.status = "WAITING";
+        this.status = ConsultationStatus.WAITING;
         this.estimatedWaitingMinutes = 0;
     }
 
@@ -43,18 +56,47 @@ public class Consultation {
     public String getDoctorId() { return doctorId; }
     public String getDoctorName() { return doctorName; }
     public String getAppointmentTime() { return appointmentTime; }
+    public LocalDate getAppointmentDate() { return LocalDate.ofEpochDay(appointmentDay); }
+    public int getAppointmentDay() { return appointmentDay; }
+    public int getAppointmentMinuteOfDay() { return appointmentMinute; }
+    // Day and minute packed as day * MINUTES_PER_DAY + minute of day, so later appointments compare greater
+    public long getAppointmentStamp() { return stamp(appointmentDay, appointmentMinute); }
     public String getSymptoms() { return symptoms; }
     public String getDiagnosis() { return diagnosis; }
-    public String getQueueType() { return queueType; }
-    public String getStatus() { return status; }
+    public QueueType getQueueType() { return queueType; }
+    public ConsultationStatus getStatus() { return status; }
     public int getEstimatedWaitingMinutes() { return estimatedWaitingMinutes; }
 
     // Setters
-    public void setStatus(String status) { this.status = status; }
+    public void setStatus(ConsultationStatus status) { this.status = status; }
     public void setDiagnosis(String diagnosis) { this.diagnosis = diagnosis; }
     public void setEstimatedWaitingMinutes(int minutes) { this.estimatedWaitingMinutes = minutes; }
-    public void setQueueType(String queueType) { this.queueType = queueType; }
-    public void setAppointmentTime(String appointmentTime) { this.appointmentTime = appointmentTime; }
+    public void setQueueType(QueueType queueType) { this.queueType = queueType; }
+    
+    // "HH:mm" on the appointment date
+    public void setAppointmentTime(String appointmentTime) {
+        this.appointmentTime = appointmentTime;
+        this.appointmentMinute = parseMinuteOfDay(appointmentTime);
+    }
+    
+    public static long stamp(int day, int minuteOfDay) {
+        return (long) day * MINUTES_PER_DAY + minuteOfDay;
+    }
+    
+    // Parses "HH:mm" into minute of day, or -1 if malformed
+    public static int parseMinuteOfDay(String time) {
+        if (time == null || time.length() != 5 || time.charAt(2) != ':'
+                || !Character.isDigit(time.charAt(0)) || !Character.isDigit(time.charAt(1))
+                || !Character.isDigit(time.charAt(3)) || !Character.isDigit(time.charAt(4))) {
+            return -1;
+        }
+        int hours = (time.charAt(0) - '0') * 10 + (time.charAt(1) - '0');
+        int minutes = (time.charAt(3) - '0') * 10 + (time.charAt(4) - '0');
+        if (hours > 23 || minutes > 59) {
+            return -1;
+        }
+        return hours * 60 + minutes;
+    }
 
     @Override
     public String toString() {
@@ -70,6 +112,11 @@ public class Consultation {
         return this.consultationId.equalsIgnoreCase(other.consultationId);
     }
 
+    @Override
+    public int hashCode() {
+        return consultationId.toUpperCase().hashCode();
+    }
+
   
 }
 
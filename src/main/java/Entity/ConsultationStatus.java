@@ -0,0 +1,36 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package Entity;
+
+/**
+ * Consultation status. A consultation waits in the queue, is seen by the doctor and is
+ * completed once its treatment is recorded; a cancelled consultation can be put back in the queue.
+ *
+ * @author yapjinkai
+ */
+public enum ConsultationStatus {
+    WAITING, CONSULTED, COMPLETED, CANCELLED;
+
+    private static final int COUNT = values().length;
+
+    // Staying in the same status is always allowed
+    public boolean canChangeTo(ConsultationStatus next) {
+        return next == this || switch (this) {
+            case WAITING -> true;
+            case CONSULTED -> next == COMPLETED || next == CANCELLED;
+            case COMPLETED -> false;
+            case CANCELLED -> next == WAITING;
+        };
+    }
+
+    // Compact code for array-backed storage
+    public byte code() {
+        return (byte) ordinal();
+    }
+
+    public static int count() {
+        return COUNT;
+    }
+}
@@ -16,11 +16,11 @@ public class MedicalTreatment {
     private String diagnosis;
     private String prescription; // Medicine names, dosage, instructions
     private String treatmentDate;
-    private String status; // PLANNED, IN_PROGRESS, COMPLETED, CANCELLED
-    private double cost;
+    private TreatmentStatus status;
+    private long costCents; // Whole cents, so sums of costs are exact
 
     public MedicalTreatment(String treatmentId, String consultationId, String patientId, String doctorId,
-                           String diagnosis, String prescription, String treatmentDate, double cost) {
+                           String diagnosis, String prescription, String treatmentDate, long costCents) {
         this.treatmentId = treatmentId;
         this.consultationId = consultationId;
         this.patientId = patientId;
@@ -28,8 +28,16 @@ public class MedicalTreatment {
         this.diagnosis = diagnosis;
         this.prescription = prescription;
         this.treatmentDate = treatmentDate;
-        this.status = "PLANNED";
-        this.cost = cost;
+        this.status = TreatmentStatus.PLANNED;
+        this.costCents = costCents;
+    }
+
+    // A treatment recorded earlier, e.g. read back from the archive, with the status it had
+    public MedicalTreatment(String treatmentId, String consultationId, String patientId, String doctorId,
+                           String diagnosis, String prescription, String treatmentDate, long costCents,
+                           TreatmentStatus status) {
+        this(treatmentId, consultationId, patientId, doctorId, diagnosis, prescription, treatmentDate, costCents);
+        this.status = status;
     }
 
     // Getters
@@ -40,19 +48,20 @@ public class MedicalTreatment {
     public String getDiagnosis() { return diagnosis; }
     public String getPrescription() { return prescription; }
     public String getTreatmentDate() { return treatmentDate; }
-    public String getStatus() { return status; }
-    public double getCost() { return cost; }
+    public TreatmentStatus getStatus() { return status; }
+    public long getCostCents() { return costCents; }
 
-    // Setters
-    public void setStatus(String status) { this.status = status; }
-    public void setDiagnosis(String diagnosis) { this.diagnosis = diagnosis; }
-    public void setPrescription(String prescription) { this.prescription = prescription; }
-    public void setCost(double cost) { this.cost = cost; }
+    // Setters: for MedicalTreatmentManagement only, which moves the treatment out of its running
+    // totals first and back in afterwards. Use updateTreatmentStatus and updateTreatmentCost there.
+    public void setStatus(TreatmentStatus status) { this.status = status; }
+    public void setCostCents(long costCents) { this.costCents = costCents; }
 
     @Override
     public String toString() {
-        return String.format("ID: %s | Consultation: %s | Patient: %s | Doctor: %s | Diagnosis: %s | Status: %s | Cost: RM%.2f",    
-                treatmentId, consultationId, patientId, doctorId, diagnosis, status, cost);
+        // Split before taking the sign off, so -150 cents prints as RM-1.50
+        return String.format("ID: %s | Consultation: %s | Patient: %s | Doctor: %s | Diagnosis: %s | Status: %s | Cost: RM%s%d.%02d",
+                treatmentId, consultationId, patientId, doctorId, diagnosis, status,
+                costCents < 0 ? "-" : "", Math.abs(costCents / 100), Math.abs(costCents % 100));
     }
 
     @Override
@@ -62,4 +71,9 @@ public class MedicalTreatment {
         MedicalTreatment other = (MedicalTreatment) obj;
         return this.treatmentId.equalsIgnoreCase(other.treatmentId);
     }
+
+    @Override
+    public int hashCode() {
+        return treatmentId.toUpperCase().hashCode();
+    }
 }
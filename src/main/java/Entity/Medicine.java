@@ -4,23 +4,44 @@
  */
 package Entity;
 
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  *
  * @author yapjinkai
  */
 public class Medicine {
+    public static final int NO_EXPIRY_DAY = Integer.MIN_VALUE; // Expiry date missing or not YYYY-MM-DD
+    
     private String medicineID;
     private String name;
     private String category;
-    private int stock;
+    private final AtomicInteger stock; // Updated by compare-and-set so concurrent dispensing never oversells
     private String expiryDate; // 
+    private final int expiryEpochDay; // expiryDate parsed once, as days since 1970-01-01
 
     public Medicine(String medicineID, String name, String category, int stock, String expiryDate) {
         this.medicineID = medicineID;
         this.name = name;
         this.category = category;
-        this.stock = stock;
+        this.stock = new AtomicInteger(stock);
         this.expiryDate = expiryDate;
+        this.expiryEpochDay = parseEpochDay(expiryDate);
+    }
+    
+    // Days since 1970-01-01 of a YYYY-MM-DD date, or NO_EXPIRY_DAY
+    static int parseEpochDay(String date) {
+        if (date == null) {
+            return NO_EXPIRY_DAY;
+        }
+        try {
+            long day = LocalDate.parse(date).toEpochDay();
+            return day > Integer.MIN_VALUE && day <= Integer.MAX_VALUE ? (int) day : NO_EXPIRY_DAY;
+        } catch (DateTimeParseException e) {
+            return NO_EXPIRY_DAY;
+        }
     }
 
     // Getters
@@ -37,28 +58,39 @@ public class Medicine {
     }
 
     public int getStock() {
-        return stock;
+        return stock.get();
     }
 
     public String getExpiryDate() {
         return expiryDate;
     }
 
-    // Setters
-    public void setStock(int stock) {
-        this.stock = stock;
+    public int getExpiryEpochDay() {
+        return expiryEpochDay;
     }
 
-    public void reduceStock(int quantity) {
-        if (quantity <= stock) {
-            stock -= quantity;
+    // Stock is only changed by MedicineMaintenance, which keeps the lots in step
+    public void addStock(int quantity) {
+        stock.addAndGet(quantity);
+    }
+
+    // Takes quantity off the stock unless there is not enough; safe to call from several threads
+    public boolean tryReduceStock(int quantity) {
+        while (true) {
+            int current = stock.get();
+            if (quantity > current) {
+                return false;
+            }
+            if (stock.compareAndSet(current, current - quantity)) {
+                return true;
+            }
         }
     }
 
     @Override
     public String toString() {
         return String.format("ID: %s | Name: %s | Category: %s | Stock: %d | Expiry: %s",
-                medicineID, name, category, stock, expiryDate);
+                medicineID, name, category, stock.get(), expiryDate);
     }
 
     @Override
@@ -68,4 +100,9 @@ public class Medicine {
         Medicine other = (Medicine) obj;
         return this.medicineID.equalsIgnoreCase(other.medicineID);
     }
+
+    @Override
+    public int hashCode() {
+        return medicineID.toUpperCase().hashCode();
+    }
 }
\ No newline at end of file
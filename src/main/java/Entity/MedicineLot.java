@@ -0,0 +1,64 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package Entity;
+
+/**
+ * One delivery of a medicine, with its own expiry date and remaining quantity.
+ *
+ * @author yapjinkai
+ */
+public class MedicineLot {
+    private String lotId;
+    private String medicineID;
+    private String expiryDate;
+    private final int expiryEpochDay; // Medicine.NO_EXPIRY_DAY if the date is not YYYY-MM-DD
+    private int quantity;
+
+    public MedicineLot(String lotId, String medicineID, int quantity, String expiryDate) {
+        this.lotId = lotId;
+        this.medicineID = medicineID;
+        this.quantity = quantity;
+        this.expiryDate = expiryDate;
+        this.expiryEpochDay = Medicine.parseEpochDay(expiryDate);
+    }
+
+    // Getters
+    public String getLotId() {
+        return lotId;
+    }
+
+    public String getMedicineID() {
+        return medicineID;
+    }
+
+    public String getExpiryDate() {
+        return expiryDate;
+    }
+
+    public int getExpiryEpochDay() {
+        return expiryEpochDay;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public boolean isEmpty() {
+        return quantity <= 0;
+    }
+
+    // Takes up to the requested quantity from this lot and returns how much was taken
+    public int take(int requested) {
+        int taken = Math.min(requested, quantity);
+        quantity -= taken;
+        return taken;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Lot: %s | Medicine: %s | Quantity: %d | Expiry: %s",
+                lotId, medicineID, quantity, expiryDate);
+    }
+}
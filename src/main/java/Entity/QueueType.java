@@ -0,0 +1,26 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package Entity;
+
+/**
+ * Consultation queue type, from the lowest priority to the highest. Walk-in and scheduled
+ * consultations can switch between each other, and an emergency can be stepped down to
+ * either; nothing is promoted to an emergency after it has been queued.
+ *
+ * @author yapjinkai
+ */
+public enum QueueType {
+    WALK_IN, SCHEDULED, EMERGENCY;
+
+    // Keeping the same type is always allowed
+    public boolean canChangeTo(QueueType next) {
+        return next == this || next != EMERGENCY;
+    }
+
+    // Compact code for array-backed storage
+    public byte code() {
+        return (byte) ordinal();
+    }
+}
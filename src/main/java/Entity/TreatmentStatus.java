@@ -0,0 +1,45 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package Entity;
+
+/**
+ * Treatment status. A planned treatment is completed and then paid for; anything short
+ * of payment can be cancelled or re-planned, and a paid treatment is final.
+ *
+ * @author yapjinkai
+ */
+public enum TreatmentStatus {
+    PLANNED, COMPLETED, CANCELLED, PAID;
+
+    private static final TreatmentStatus[] VALUES = values();
+
+    // Staying in the same status is always allowed
+    public boolean canChangeTo(TreatmentStatus next) {
+        return next == this || switch (this) {
+            case PLANNED -> next == COMPLETED || next == CANCELLED;
+            case COMPLETED -> true;
+            case CANCELLED -> next == PLANNED;
+            case PAID -> false;
+        };
+    }
+
+    // True if no other status can follow
+    public boolean isFinal() {
+        return this == PAID;
+    }
+
+    // Compact code for array-backed storage
+    public byte code() {
+        return (byte) ordinal();
+    }
+
+    public static TreatmentStatus fromCode(byte code) {
+        return VALUES[code];
+    }
+
+    public static int count() {
+        return VALUES.length;
+    }
+}
@@ -1,8 +1,10 @@
 package Utility;
 
+import ADT.InvertedIndex;
 import ADT.ListInterface;
 import ADT.MyArrayList;
 import ADT.MyIterator;
+import ADT.PrefixIndex;
 
 /**
  * Linear Search Utility for Universal Search
@@ -100,6 +102,28 @@ public class LinearSearch {
         return results;
     }
     
+    /**
+     * Indexed search for matches, using the same rule as search(query, items)
+     * without lower-casing every item per query
+     * @param query search query
+     * @param index inverted index over the items to search
+     * @return list of search results in indexing order (index holds the record id)
+     */
+    public static <T> MyArrayList<SearchResult<T>> search(String query, InvertedIndex<T> index) {
+        MyArrayList<SearchResult<T>> results = new MyArrayList<>();
+        
+        if (query == null || query.trim().isEmpty() || index == null || index.isEmpty()) {
+            return results;
+        }
+        
+        int[] recordIds = index.search(query.toLowerCase().trim());
+        for (int recordId : recordIds) {
+            results.add(new SearchResult<>(index.getRecord(recordId), recordId, "toString"));
+        }
+        
+        return results;
+    }
+    
     /**
      * Linear search for partial matches (starts with)
      * @param query search query
@@ -133,6 +157,29 @@ public class LinearSearch {
         return results;
     }
     
+    /**
+     * Indexed search for keys that start with the query (e.g. IDs and names), for autocompletion;
+     * only the matching branch of the index is read, and reading stops at the limit
+     * @param query search query
+     * @param index prefix index over the items to search
+     * @param limit maximum number of results
+     * @return list of search results in key order (index holds the rank of the match)
+     */
+    public static <T> MyArrayList<SearchResult<T>> searchStartsWith(String query, PrefixIndex<T> index, int limit) {
+        MyArrayList<SearchResult<T>> results = new MyArrayList<>();
+        
+        if (query == null || query.trim().isEmpty() || index == null || index.isEmpty()) {
+            return results;
+        }
+        
+        ListInterface<T> matches = index.startsWith(query.toLowerCase().trim(), limit);
+        for (int i = 0; i < matches.size(); i++) {
+            results.add(new SearchResult<>(matches.get(i), i, "startsWith"));
+        }
+        
+        return results;
+    }
+    
     /**
      * Linear search for exact matches only
      * @param query search query
@@ -0,0 +1,87 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package Utility;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Money as a whole number of cents in a long.
+ * Sums of cents are exact however many amounts are added, and adding or multiplying
+ * allocates nothing. Formatting writes the digits directly instead of going through
+ * String.format.
+ *
+ * @author yapjinkai
+ */
+public class Money {
+
+    public static final int CENTS_PER_RINGGIT = 100;
+
+    /**
+     * Parses an amount such as "12", "12.5" or "12.50", rounding half up to the nearest cent.
+     *
+     * @param text the amount in ringgit
+     * @return the amount in cents
+     * @throws NumberFormatException if the text is not a number or is out of range
+     */
+    public static long parse(String text) {
+        if (text == null) {
+            throw new NumberFormatException("Amount cannot be null");
+        }
+        try {
+            return new BigDecimal(text.trim()).setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+        } catch (ArithmeticException e) {
+            throw new NumberFormatException("Amount out of range: " + text);
+        }
+    }
+
+    public static long add(long cents1, long cents2) {
+        return Math.addExact(cents1, cents2);
+    }
+
+    public static long subtract(long cents1, long cents2) {
+        return Math.subtractExact(cents1, cents2);
+    }
+
+    /**
+     * @param cents the unit amount
+     * @param quantity the number of units
+     * @return the amount for the whole quantity
+     */
+    public static long multiply(long cents, long quantity) {
+        return Math.multiplyExact(cents, quantity);
+    }
+
+    /**
+     * @param cents the amount
+     * @return the amount with two decimal places, e.g. "1234.05" (no currency symbol)
+     */
+    public static String format(long cents) {
+        return appendTo(new StringBuilder(24), cents).toString();
+    }
+
+    /**
+     * Appends the amount with two decimal places, for building a line without a temporary string.
+     *
+     * @param builder the builder to append to
+     * @param cents the amount
+     * @return the builder
+     */
+    public static StringBuilder appendTo(StringBuilder builder, long cents) {
+        // Split before taking the sign off, so Long.MIN_VALUE does not overflow
+        long ringgit = cents / CENTS_PER_RINGGIT;
+        int fraction = (int) (cents % CENTS_PER_RINGGIT);
+        if (cents < 0) {
+            builder.append('-');
+            ringgit = -ringgit;
+            fraction = -fraction;
+        }
+        builder.append(ringgit).append('.');
+        if (fraction < 10) {
+            builder.append('0');
+        }
+        return builder.append(fraction);
+    }
+}
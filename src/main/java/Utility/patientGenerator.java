@@ -22,6 +22,12 @@ public class patientGenerator {
     private static int patientCount = 1;
     private static Random rand = new Random();
 
+    // Restart IDs from P001 and make the generated names repeatable
+    public static void reset(long seed) {
+        patientCount = 1;
+        rand = new Random(seed);
+    }
+
     public static Patient generatePatient() {
         String first = FIRST_NAMES[rand.nextInt(FIRST_NAMES.length)];
         String last = LAST_NAMES[rand.nextInt(LAST_NAMES.length)];
@@ -20,11 +20,12 @@ public class ClinicManagementSystem {
     // Shared control instances that persist across modules
     private static final ConsultationManagement sharedConsultationControl = new ConsultationManagement();
     private static final MedicalTreatmentManagement sharedTreatmentControl = new MedicalTreatmentManagement();
-    private static final MedicineMaintenance sharedMedicineControl = new MedicineMaintenance(new MyArrayList<>());
+    private static final MedicineMaintenance sharedMedicineControl = new MedicineMaintenance(MyArrayList.withStatistics()); // Pharmacy analytics reads getMostFrequent()
     
     // Initialize medicines immediately so they're available to all modules
     static {
         initializeMedicines();
+        sharedConsultationControl.enableColumnarStore();   // Queue report counts scan the columnar copy
     }
     
     private static void initializeMedicines() {